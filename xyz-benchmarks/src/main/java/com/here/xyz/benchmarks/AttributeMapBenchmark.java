@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks;
+
+import com.here.xyz.hub.auth.AttributeMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the matching of the access attributes of a token against the attributes of a resource, as done for every authorized request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeMapBenchmark {
+
+  private List<AttributeMap> accessAttributes;
+  private Map<String, Object> resourceAttributes;
+
+  @Setup
+  public void setup() {
+    accessAttributes = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      accessAttributes.add(new AttributeMap()
+          .withValue("owner", "user-" + i)
+          .withValue("space", "space-" + i + "*"));
+    }
+    accessAttributes.add(new AttributeMap()
+        .withValue("owner", "benchmark-user")
+        .withValue("packages", Arrays.asList("pkg-a", "pkg-b")));
+
+    resourceAttributes = new HashMap<>();
+    resourceAttributes.put("owner", "benchmark-user");
+    resourceAttributes.put("space", "space-benchmark");
+    resourceAttributes.put("cid", "benchmark-client");
+    resourceAttributes.put("packages", Arrays.asList("pkg-c", "pkg-b", "pkg-a"));
+  }
+
+  /**
+   * Matches a list of access attributes, of which only the last one matches.
+   */
+  @Benchmark
+  public boolean matches() {
+    for (AttributeMap attributeMap : accessAttributes) {
+      if (attributeMap.matches(resourceAttributes)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
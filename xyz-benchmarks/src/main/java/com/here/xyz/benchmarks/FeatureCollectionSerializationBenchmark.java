@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks;
+
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the (de)serialization of feature collections with {@link XyzSerializable}, including the lazy raw deserialization of the
+ * features array by {@link com.here.xyz.LazyParsable}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FeatureCollectionSerializationBenchmark {
+
+  @Param({"100", "10000"})
+  public int featureCount;
+
+  private FeatureCollection featureCollection;
+  private String json;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() throws Exception {
+    featureCollection = Fixtures.featureCollection(featureCount);
+    json = featureCollection.serialize();
+    bytes = json.getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return featureCollection.serialize();
+  }
+
+  /**
+   * Deserializes a feature collection from a string, which keeps the features array as raw string.
+   */
+  @Benchmark
+  public FeatureCollection deserializeLazy() throws Exception {
+    return XyzSerializable.deserialize(json);
+  }
+
+  /**
+   * Deserializes a feature collection from a string and parses the lazily kept features array afterwards.
+   */
+  @Benchmark
+  public List<Feature> deserializeLazyAndGetFeatures() throws Exception {
+    return XyzSerializable.<FeatureCollection>deserialize(json).getFeatures();
+  }
+
+  /**
+   * Deserializes a feature collection from an input stream, where the raw features array can't be extracted from the source, so that
+   * the features are parsed eagerly.
+   */
+  @Benchmark
+  public List<Feature> deserializeEager() throws Exception {
+    return XyzSerializable.DEFAULT_MAPPER.get().readValue(new ByteArrayInputStream(bytes), FeatureCollection.class).getFeatures();
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks;
+
+import com.here.xyz.models.geojson.coordinates.BBox;
+import com.here.xyz.models.geojson.coordinates.LineStringCoordinates;
+import com.here.xyz.models.geojson.coordinates.LinearRingCoordinates;
+import com.here.xyz.models.geojson.coordinates.PointCoordinates;
+import com.here.xyz.models.geojson.coordinates.PolygonCoordinates;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.models.geojson.implementation.Geometry;
+import com.here.xyz.models.geojson.implementation.LineString;
+import com.here.xyz.models.geojson.implementation.Point;
+import com.here.xyz.models.geojson.implementation.Polygon;
+import com.here.xyz.models.geojson.implementation.Properties;
+import com.here.xyz.models.geojson.implementation.XyzNamespace;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+/**
+ * Generates deterministic, realistic looking features for the benchmarks.
+ * The features are a mix of points, line strings and polygons with a typical set of properties and a filled XYZ namespace.
+ */
+public class Fixtures {
+
+  /**
+   * The bounding box of the tile 12/2200/1343 (Berlin).
+   */
+  public static final BBox BERLIN = new BBox(13.359375, 52.482780, 13.447265, 52.536273);
+
+  private static final long SEED = 42L;
+  private static final String[] CATEGORIES = {"restaurant", "cafe", "bar", "shop", "school", "park", "parking", "hotel"};
+  private static final String[] STREETS = {"Invalidenstraße", "Friedrichstraße", "Unter den Linden", "Torstraße", "Chausseestraße"};
+
+  private final Random random;
+  private final BBox bbox;
+
+  public Fixtures(BBox bbox) {
+    this.random = new Random(SEED);
+    this.bbox = bbox;
+  }
+
+  /**
+   * @param count The amount of features to generate
+   * @return A feature collection with a mix of points (50%), line strings (30%) and polygons (20%)
+   */
+  public static FeatureCollection featureCollection(int count) {
+    return new FeatureCollection().withFeatures(new Fixtures(BERLIN).features(count));
+  }
+
+  public List<Feature> features(int count) {
+    final List<Feature> features = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      features.add(feature("feature-" + i));
+    }
+    return features;
+  }
+
+  public Feature feature(String id) {
+    return new Feature()
+        .withId(id)
+        .withGeometry(geometry())
+        .withProperties(properties());
+  }
+
+  private Geometry geometry() {
+    final int type = random.nextInt(10);
+    if (type < 5) {
+      return new Point().withCoordinates(new PointCoordinates(lon(), lat()));
+    }
+    if (type < 8) {
+      return new LineString().withCoordinates(lineString(10 + random.nextInt(90)));
+    }
+    final PolygonCoordinates polygon = new PolygonCoordinates();
+    polygon.add(ring(20 + random.nextInt(180)));
+    return new Polygon().withCoordinates(polygon);
+  }
+
+  private LineStringCoordinates lineString(int vertices) {
+    final LineStringCoordinates coordinates = new LineStringCoordinates(vertices);
+    double lon = lon();
+    double lat = lat();
+    for (int i = 0; i < vertices; i++) {
+      coordinates.addPosition(lon, lat);
+      lon = clip(lon + (random.nextDouble() - 0.5) * 0.002, bbox.minLon(), bbox.maxLon());
+      lat = clip(lat + (random.nextDouble() - 0.5) * 0.002, bbox.minLat(), bbox.maxLat());
+    }
+    return coordinates;
+  }
+
+  private LinearRingCoordinates ring(int vertices) {
+    final LinearRingCoordinates coordinates = new LinearRingCoordinates(vertices + 1);
+    final double centerLon = lon();
+    final double centerLat = lat();
+    final double radius = 0.0005 + random.nextDouble() * 0.002;
+    for (int i = 0; i < vertices; i++) {
+      final double angle = 2 * Math.PI * i / vertices;
+      final double r = radius * (0.8 + random.nextDouble() * 0.4);
+      coordinates.addPosition(centerLon + Math.cos(angle) * r, centerLat + Math.sin(angle) * r);
+    }
+    coordinates.addPosition(coordinates.getLongitude(0), coordinates.getLatitude(0));
+    return coordinates;
+  }
+
+  private Properties properties() {
+    final String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+    final Map<String, Object> address = new LinkedHashMap<>();
+    address.put("street", STREETS[random.nextInt(STREETS.length)]);
+    address.put("houseNumber", String.valueOf(1 + random.nextInt(200)));
+    address.put("postalCode", "10" + (100 + random.nextInt(900)));
+    address.put("city", "Berlin");
+
+    final long createdAt = 1_600_000_000_000L + random.nextInt(Integer.MAX_VALUE);
+    return new Properties()
+        .with("name", category + " " + Integer.toHexString(random.nextInt()))
+        .with("category", category)
+        .with("rating", Math.round(random.nextDouble() * 50) / 10d)
+        .with("open", random.nextBoolean())
+        .with("capacity", random.nextInt(500))
+        .with("labels", Arrays.asList(category, random.nextBoolean() ? "indoor" : "outdoor"))
+        .with("address", address)
+        .withXyzNamespace(new XyzNamespace()
+            .withSpace("benchmark-space")
+            .withCreatedAt(createdAt)
+            .withUpdatedAt(createdAt + random.nextInt(1_000_000))
+            .withVersion(random.nextInt(10))
+            .withTags(new ArrayList<>(Arrays.asList("benchmark", category))));
+  }
+
+  private double lon() {
+    return bbox.minLon() + random.nextDouble() * (bbox.maxLon() - bbox.minLon());
+  }
+
+  private double lat() {
+    return bbox.minLat() + random.nextDouble() * (bbox.maxLat() - bbox.minLat());
+  }
+
+  private static double clip(double value, double min, double max) {
+    return Math.min(Math.max(value, min), max);
+  }
+
+  /**
+   * Creates a deep copy of the given map, which only contains maps, lists and immutable values, like the map representation of a
+   * feature.
+   */
+  @SuppressWarnings("unchecked")
+  public static Map<String, Object> deepCopy(Map<String, Object> map) {
+    final Map<String, Object> copy = new HashMap<>(map.size() * 2);
+    for (Entry<String, Object> entry : map.entrySet()) {
+      copy.put(entry.getKey(), deepCopyValue(entry.getValue()));
+    }
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object deepCopyValue(Object value) {
+    if (value instanceof Map) {
+      return deepCopy((Map<String, Object>) value);
+    }
+    if (value instanceof List) {
+      final List<Object> list = (List<Object>) value;
+      final List<Object> copy = new ArrayList<>(list.size());
+      for (Object element : list) {
+        copy.add(deepCopyValue(element));
+      }
+      return copy;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks;
+
+import com.here.xyz.hub.util.geo.GeoTools;
+import com.here.xyz.hub.util.geo.MapBoxVectorTileBuilder;
+import com.here.xyz.hub.util.geo.MapBoxVectorTileFlattenedBuilder;
+import com.here.xyz.hub.util.geo.WebMercatorProjector;
+import com.here.xyz.models.geojson.WebMercatorTile;
+import com.here.xyz.models.geojson.coordinates.JTSHelper;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.PrecisionModel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geotools.geometry.jts.JTS;
+import org.opengis.referencing.operation.MathTransform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the creation of MapBox vector tiles and compares the closed form web mercator projection of the tile builder with the
+ * projection by a GeoTools transformation, which was used before.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MvtTileBuilderBenchmark {
+
+  private static final WebMercatorTile TILE = WebMercatorTile.forWeb(12, 2200, 1343);
+
+  @Param({"100", "5000"})
+  public int featureCount;
+
+  private List<Feature> features;
+  private GeometryFactory geometryFactory;
+  private WebMercatorProjector projector;
+  private MathTransform mathTransform;
+
+  @Setup
+  public void setup() throws Exception {
+    features = new Fixtures(TILE.getBBox(false)).features(featureCount);
+    geometryFactory = new GeometryFactory(new PrecisionModel());
+    projector = new WebMercatorProjector(geometryFactory);
+    mathTransform = GeoTools.mathTransform(GeoTools.WGS84_EPSG, GeoTools.WEB_MERCATOR_EPSG);
+  }
+
+  @Benchmark
+  public byte[] build() throws Exception {
+    return new MapBoxVectorTileBuilder().build(TILE, 0, "benchmark", features);
+  }
+
+  @Benchmark
+  public byte[] buildFlattened() throws Exception {
+    return new MapBoxVectorTileFlattenedBuilder().build(TILE, 0, "benchmark", features);
+  }
+
+  @Benchmark
+  public void projectClosedForm(Blackhole blackhole) {
+    for (Feature feature : features) {
+      blackhole.consume(projector.project(feature.getGeometry()));
+    }
+  }
+
+  @Benchmark
+  public void projectGeoTools(Blackhole blackhole) throws Exception {
+    for (Feature feature : features) {
+      final Geometry geometry = JTSHelper.toGeometry(feature.getGeometry());
+      blackhole.consume(JTS.transform(geometry, mathTransform));
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks;
+
+import com.here.xyz.hub.util.diff.Difference;
+import com.here.xyz.hub.util.diff.Patcher;
+import com.here.xyz.models.geojson.implementation.Feature;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the calculation and the application of the difference between two states of a feature, as done for conditional and partial
+ * updates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatcherBenchmark {
+
+  private Map<String, Object> source;
+  private Map<String, Object> target;
+  private Difference difference;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    final Fixtures fixtures = new Fixtures(Fixtures.BERLIN);
+    final Feature sourceFeature = fixtures.feature("feature");
+    final Feature targetFeature = sourceFeature.copy();
+    targetFeature.getProperties()
+        .with("rating", 1.5d)
+        .with("open", !(Boolean) sourceFeature.getProperties().get("open"))
+        .with("phone", "+49 30 123456");
+    ((Map<String, Object>) targetFeature.getProperties().get("address")).put("houseNumber", "7a");
+    targetFeature.setGeometry(fixtures.feature("other").getGeometry());
+
+    source = sourceFeature.asMap();
+    target = targetFeature.asMap();
+    difference = Patcher.getDifference(source, target);
+  }
+
+  @Benchmark
+  public Difference getDifference() {
+    return Patcher.getDifference(source, target);
+  }
+
+  /**
+   * Patches a copy of the source state, as the patch is applied in place. See {@link #copy()} for the share of the copying.
+   */
+  @Benchmark
+  public Map<String, Object> patch() {
+    final Map<String, Object> state = Fixtures.deepCopy(source);
+    Patcher.patch(state, difference);
+    return state;
+  }
+
+  /**
+   * The baseline for {@link #patch()}.
+   */
+  @Benchmark
+  public Map<String, Object> copy() {
+    return Fixtures.deepCopy(source);
+  }
+}
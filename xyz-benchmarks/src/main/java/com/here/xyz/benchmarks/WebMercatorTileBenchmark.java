@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.benchmarks;
+
+import com.here.xyz.models.geojson.WebMercatorTile;
+import com.here.xyz.models.geojson.coordinates.BBox;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the conversions between coordinates, pixels, tiles and quadkeys, which are done for every tile request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebMercatorTileBenchmark {
+
+  private static final int SIZE = 1024;
+  private static final int LEVEL = 14;
+
+  private final double[] longitudes = new double[SIZE];
+  private final double[] latitudes = new double[SIZE];
+  private final String[] quadKeys = new String[SIZE];
+  private int index;
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42L);
+    for (int i = 0; i < SIZE; i++) {
+      longitudes[i] = random.nextDouble() * 360d - 180d;
+      latitudes[i] = random.nextDouble() * 170d - 85d;
+      quadKeys[i] = WebMercatorTile.getTileFromLatLonLev(latitudes[i], longitudes[i], LEVEL).asQuadkey();
+    }
+  }
+
+  private int next() {
+    return index = (index + 1) & (SIZE - 1);
+  }
+
+  @Benchmark
+  public long lonLatToPixel() {
+    final int i = next();
+    return WebMercatorTile.lonLatToPixel(longitudes[i], latitudes[i], LEVEL);
+  }
+
+  @Benchmark
+  public WebMercatorTile lonLatToTile() {
+    final int i = next();
+    return WebMercatorTile.getTileFromLatLonLev(latitudes[i], longitudes[i], LEVEL);
+  }
+
+  @Benchmark
+  public WebMercatorTile forQuadkey() {
+    return WebMercatorTile.forQuadkey(quadKeys[next()]);
+  }
+
+  @Benchmark
+  public void tileToBBoxAndQuadkey(Blackhole blackhole) {
+    final int i = next();
+    final WebMercatorTile tile = WebMercatorTile.getTileFromLatLonLev(latitudes[i], longitudes[i], LEVEL);
+    final BBox bbox = tile.getBBox(true);
+    blackhole.consume(bbox);
+    blackhole.consume(tile.asQuadkey());
+  }
+}
@@ -30,9 +30,13 @@ import com.here.xyz.Typed;
 import com.here.xyz.XyzSerializable;
 import com.here.xyz.connectors.decryptors.EventDecryptor;
 import com.here.xyz.connectors.decryptors.EventDecryptor.Decryptors;
+import com.here.xyz.events.BatchEvent;
 import com.here.xyz.events.Event;
 import com.here.xyz.events.HealthCheckEvent;
 import com.here.xyz.events.RelocatedEvent;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.responses.BatchResponse;
+import com.here.xyz.responses.BinaryFeatureCollection;
 import com.here.xyz.responses.BinaryResponse;
 import com.here.xyz.responses.ErrorResponse;
 import com.here.xyz.responses.HealthStatus;
@@ -46,6 +50,11 @@ import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -101,6 +110,26 @@ public abstract class AbstractConnectorHandler implements RequestStreamHandler {
    */
   public static final String MAX_UNCOMPRESSED_RESPONSE_SIZE = "MAX_UNCOMPRESSED_RESPONSE_SIZE";
 
+  /**
+   * Environment variable for setting the maximal number of batched events which are processed concurrently.
+   */
+  public static final String BATCH_EVENT_PARALLELISM = "BATCH_EVENT_PARALLELISM";
+
+  /**
+   * The default number of batched events which are processed concurrently. Batched events are mostly waiting for the storage, so
+   * the parallelism is not bound to the number of available processors.
+   */
+  private static final int DEFAULT_BATCH_EVENT_PARALLELISM = 8;
+
+  /**
+   * The executor which processes the events of a {@link BatchEvent} concurrently.
+   */
+  private static final ExecutorService batchEventExecutor = Executors.newFixedThreadPool(getBatchEventParallelism(), runnable -> {
+    Thread thread = new Thread(runnable, "batch-event-worker");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   /**
    * The maximal response size in bytes that can be sent back without relocating the response.
    */
@@ -221,8 +250,14 @@ public abstract class AbstractConnectorHandler implements RequestStreamHandler {
           handleRequest(Payload.prepareInputStream(relocationClient.processRelocatedEvent((RelocatedEvent) event)), output, context);
           return;
         }
-        initialize(event);
-        dataOut = processEvent(event);
+        if (event instanceof BatchEvent)
+          dataOut = processBatchEvent((BatchEvent) event);
+        else {
+          initialize(event);
+          dataOut = processEvent(event);
+        }
+        if (dataOut instanceof FeatureCollection && Boolean.TRUE.equals(event.getAcceptBinaryFeatureCollection()))
+          dataOut = BinaryFeatureCollection.encode((FeatureCollection) dataOut);
       }
       catch (ErrorResponseException e) {
         if (e.getErrorResponse().getStreamId() == null)
@@ -341,6 +376,101 @@ public abstract class AbstractConnectorHandler implements RequestStreamHandler {
     }
   }
 
+  /**
+   * Processes the events of a batch concurrently and collects their responses in the same order.
+   * Each event is processed by a new instance of this handler, so that the per-event state of the handlers is not shared.
+   * If no such instance can be created, the events are processed one after another by this handler.
+   * A failing event does not fail the whole batch, instead an according {@link ErrorResponse} is added for it.
+   *
+   * @param batchEvent the batch of events
+   * @return the response containing the responses for all events of the batch
+   */
+  BatchResponse processBatchEvent(BatchEvent batchEvent) {
+    final List<XyzResponse> responses = new ArrayList<>();
+    if (batchEvent.getEvents() == null)
+      return new BatchResponse().withResponses(responses);
+
+    final List<Future<XyzResponse>> pending = new ArrayList<>();
+    for (Event event : batchEvent.getEvents()) {
+      final AbstractConnectorHandler handler = newBatchedEventHandler();
+      if (handler == null)
+        pending.add(CompletableFuture.completedFuture(processBatchedEvent(event)));
+      else
+        pending.add(batchEventExecutor.submit(() -> handler.processBatchedEvent(event)));
+    }
+
+    for (Future<XyzResponse> future : pending) {
+      try {
+        responses.add(future.get());
+      }
+      catch (InterruptedException | ExecutionException e) {
+        logger.error("{} Unexpected exception occurred while waiting for a batched event:", traceItem, e);
+        responses.add(new ErrorResponse()
+            .withStreamId(streamId)
+            .withError(XyzError.EXCEPTION)
+            .withErrorMessage("Unexpected exception occurred."));
+      }
+    }
+    return new BatchResponse().withResponses(responses);
+  }
+
+  /**
+   * Creates a new instance of this handler which shares the request related state of this handler.
+   *
+   * @return the new handler or null, if this handler can not be instantiated using its no-arg constructor
+   */
+  private AbstractConnectorHandler newBatchedEventHandler() {
+    try {
+      final AbstractConnectorHandler handler = getClass().getDeclaredConstructor().newInstance();
+      handler.context = context;
+      handler.streamId = streamId;
+      handler.traceItem = traceItem;
+      handler.start = start;
+      handler.embedded = embedded;
+      handler.maxUncompressedResponseSize = maxUncompressedResponseSize;
+      return handler;
+    }
+    catch (ReflectiveOperationException | RuntimeException e) {
+      logger.debug("{} Unable to create a handler for a batched event, processing the batch sequentially.", traceItem, e);
+      return null;
+    }
+  }
+
+  /**
+   * Processes a single event of a batch.
+   *
+   * @param event the batched event
+   * @return the response for the event or an according {@link ErrorResponse} if the processing failed
+   */
+  @SuppressWarnings("rawtypes")
+  private XyzResponse processBatchedEvent(Event event) {
+    try {
+      initialize(event);
+      Typed result = processEvent(event);
+      if (!(result instanceof XyzResponse))
+        throw new ErrorResponseException(streamId, XyzError.EXCEPTION, "Unexpected response type for a batched event.");
+      XyzResponse response = (XyzResponse) result;
+      if (!(response instanceof BinaryResponse)) {
+        String etag = XyzResponse.calculateEtagFor(response.toByteArray());
+        response = XyzResponse.etagMatches(event.getIfNoneMatch(), etag) ? new NotModifiedResponse().withEtag(etag)
+            : response.withEtag(etag);
+      }
+      return response;
+    }
+    catch (ErrorResponseException e) {
+      if (e.getErrorResponse().getStreamId() == null)
+        e.getErrorResponse().setStreamId(streamId);
+      return e.getErrorResponse();
+    }
+    catch (Exception e) {
+      logger.error("{} Unexpected exception occurred while processing a batched event:", traceItem, e);
+      return new ErrorResponse()
+          .withStreamId(streamId)
+          .withError(XyzError.EXCEPTION)
+          .withErrorMessage("Unexpected exception occurred.");
+    }
+  }
+
   /**
    * The event processor.
    *
@@ -429,6 +559,16 @@ public abstract class AbstractConnectorHandler implements RequestStreamHandler {
     }
   }
 
+  private static int getBatchEventParallelism() {
+    try {
+      int parallelism = Integer.parseInt(System.getenv(BATCH_EVENT_PARALLELISM));
+      return parallelism > 0 ? parallelism : 1;
+    }
+    catch (NumberFormatException e) {
+      return DEFAULT_BATCH_EVENT_PARALLELISM;
+    }
+  }
+
   private long getMaxUncompressedResponseSize(Event event) {
     String size = System.getenv(MAX_UNCOMPRESSED_RESPONSE_SIZE);
 
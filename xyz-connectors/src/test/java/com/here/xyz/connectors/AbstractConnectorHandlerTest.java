@@ -23,7 +23,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.here.xyz.Payload;
 import com.here.xyz.Typed;
 import com.here.xyz.XyzSerializable;
+import com.here.xyz.events.BatchEvent;
 import com.here.xyz.events.Event;
+import com.here.xyz.events.GetFeaturesByIdEvent;
 import com.here.xyz.events.HealthCheckEvent;
 import com.here.xyz.events.RelocatedEvent;
 import com.here.xyz.models.geojson.coordinates.PointCoordinates;
@@ -31,6 +33,10 @@ import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
 import com.here.xyz.models.geojson.implementation.Point;
 import com.here.xyz.models.geojson.implementation.Properties;
+import com.here.xyz.responses.BatchResponse;
+import com.here.xyz.responses.ErrorResponse;
+import com.here.xyz.responses.NotModifiedResponse;
+import com.here.xyz.responses.XyzError;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -38,8 +44,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.RandomStringUtils;
@@ -129,6 +138,46 @@ public class AbstractConnectorHandlerTest {
     assertNotNull(result);
   }
 
+  @Test
+  public void processBatchEvent() {
+    TestStorageConnector testStorageConnector = new TestStorageConnector() {
+      @Override
+      public Typed processEvent(Event event) throws Exception {
+        if (event instanceof GetFeaturesByIdEvent)
+          return new FeatureCollection().withFeatures(new ArrayList<>());
+        throw new ErrorResponseException(event.getStreamId(), XyzError.NOT_IMPLEMENTED, "Not implemented");
+      }
+    };
+    BatchEvent batchEvent = new BatchEvent().withEvents(Arrays.asList(new GetFeaturesByIdEvent(), new HealthCheckEvent(),
+        new GetFeaturesByIdEvent()));
+
+    BatchResponse response = testStorageConnector.processBatchEvent(batchEvent);
+    assertEquals(3, response.getResponses().size());
+    assertTrue(response.getResponses().get(0) instanceof FeatureCollection);
+    assertNotNull(response.getResponses().get(0).getEtag());
+    assertTrue(response.getResponses().get(1) instanceof ErrorResponse);
+    assertEquals(XyzError.NOT_IMPLEMENTED, ((ErrorResponse) response.getResponses().get(1)).getError());
+
+    String etag = response.getResponses().get(0).getEtag();
+    batchEvent.getEvents().get(2).setIfNoneMatch(etag);
+    response = testStorageConnector.processBatchEvent(batchEvent);
+    assertTrue(response.getResponses().get(2) instanceof NotModifiedResponse);
+  }
+
+  @Test
+  public void processBatchEventConcurrently() {
+    LatchedStorageConnector.latch = new CountDownLatch(3);
+    BatchEvent batchEvent = new BatchEvent().withEvents(Arrays.asList(new GetFeaturesByIdEvent(), new HealthCheckEvent(),
+        new GetFeaturesByIdEvent()));
+
+    BatchResponse response = new LatchedStorageConnector().processBatchEvent(batchEvent);
+    assertEquals(3, response.getResponses().size());
+    assertTrue(response.getResponses().get(0) instanceof FeatureCollection);
+    assertTrue(response.getResponses().get(1) instanceof ErrorResponse);
+    assertEquals(XyzError.NOT_IMPLEMENTED, ((ErrorResponse) response.getResponses().get(1)).getError());
+    assertTrue(response.getResponses().get(2) instanceof FeatureCollection);
+  }
+
   //This is a test for the relocation client. To run it, an S3 bucket and valid credentials are required.
   //@Test
   public void testRelocatedEvent() throws Exception {
@@ -146,7 +195,7 @@ public class AbstractConnectorHandlerTest {
   static class TestStorageConnector extends AbstractConnectorHandler {
 
     @Override
-    public Typed processEvent(Event event) {
+    public Typed processEvent(Event event) throws Exception {
       return null;
     }
 
@@ -154,4 +203,22 @@ public class AbstractConnectorHandlerTest {
     protected void initialize(Event event) {
     }
   }
+
+  /**
+   * Only returns a response once all events of the batch are being processed at the same time.
+   */
+  public static class LatchedStorageConnector extends TestStorageConnector {
+
+    static CountDownLatch latch;
+
+    @Override
+    public Typed processEvent(Event event) throws Exception {
+      latch.countDown();
+      if (!latch.await(5, TimeUnit.SECONDS))
+        throw new ErrorResponseException(event.getStreamId(), XyzError.TIMEOUT, "Events were not processed concurrently");
+      if (event instanceof GetFeaturesByIdEvent)
+        return new FeatureCollection().withFeatures(new ArrayList<>());
+      throw new ErrorResponseException(event.getStreamId(), XyzError.NOT_IMPLEMENTED, "Not implemented");
+    }
+  }
 }
@@ -23,21 +23,31 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.here.xyz.hub.auth.Authorization;
 import com.here.xyz.hub.cache.CacheClient;
+import com.here.xyz.hub.cache.MultiLevelCacheClient;
 import com.here.xyz.hub.config.ConnectorConfigClient;
 import com.here.xyz.hub.config.TagConfigClient;
 import com.here.xyz.hub.config.SpaceConfigClient;
 import com.here.xyz.hub.config.SubscriptionConfigClient;
 import com.here.xyz.hub.connectors.BurstAndUpdateThread;
+import com.here.xyz.hub.connectors.RemoteFunctionClient;
+import com.here.xyz.hub.connectors.RpcClient;
 import com.here.xyz.hub.connectors.WarmupRemoteFunctionThread;
 import com.here.xyz.hub.rest.admin.MessageBroker;
 import com.here.xyz.hub.rest.admin.Node;
 import com.here.xyz.hub.rest.admin.messages.RelayedMessage;
+import com.here.xyz.hub.task.FeatureTaskHandler;
 import com.here.xyz.hub.util.ARN;
+import com.here.xyz.hub.util.metrics.CoalescedRequestCount;
 import com.here.xyz.hub.util.metrics.GcDurationMetric;
 import com.here.xyz.hub.util.metrics.GlobalInflightRequestMemory;
 import com.here.xyz.hub.util.metrics.GlobalUsedRfcConnections;
 import com.here.xyz.hub.util.metrics.MajorGcCountMetric;
 import com.here.xyz.hub.util.metrics.MemoryMetric;
+import com.here.xyz.hub.util.metrics.ResponseParsingQueueDepth;
+import com.here.xyz.hub.util.metrics.RfcConcurrencyLimit;
+import com.here.xyz.hub.util.metrics.RfcQueueSize;
+import com.here.xyz.hub.util.metrics.base.CWAggregatedValuesPublisher;
+import com.here.xyz.hub.util.metrics.base.CWAttributedMetricCollectionPublisher;
 import com.here.xyz.hub.util.metrics.base.CWBareValueMetricPublisher;
 import com.here.xyz.hub.util.metrics.base.MetricPublisher;
 import com.here.xyz.hub.util.metrics.net.ConnectionMetrics;
@@ -132,7 +142,7 @@ public class Service extends Core {
   /**
    * The cache client for the service.
    */
-  public static CacheClient cacheClient;
+  public static MultiLevelCacheClient cacheClient;
 
   /**
    * The node's MessageBroker which is used to send AdminMessages.
@@ -172,6 +182,15 @@ public class Service extends Core {
     configuration.defaultStorageIds = Stream.of(configuration.DEFAULT_STORAGE_ID.split(","))
         .map(String::trim).collect(Collectors.toList());
 
+    try {
+      RemoteFunctionClient.configureFairQueuing(configuration.REMOTE_FUNCTION_FAIR_QUEUING_KEY,
+          configuration.REMOTE_FUNCTION_FAIR_QUEUING_WEIGHTS);
+    }
+    catch (IllegalArgumentException e) {
+      logger.error("Invalid configuration of the fair queuing. Service can't be started.", e);
+      return;
+    }
+
     cacheClient = CacheClient.getInstance();
     MessageBroker.getInstance().onSuccess(mb -> {
       messageBroker = mb;
@@ -325,7 +344,13 @@ public class Service extends Core {
       metricPublishers.add(new CWBareValueMetricPublisher(new MajorGcCountMetric("MajorGcCount")));
       metricPublishers.add(new CWBareValueMetricPublisher(new GcDurationMetric("GcDuration")));
       metricPublishers.add(new CWBareValueMetricPublisher(new GlobalUsedRfcConnections("GlobalUsedRfcConnections")));
+      metricPublishers.add(new CWAttributedMetricCollectionPublisher(new RfcConcurrencyLimit("RfcConcurrencyLimit")));
+      metricPublishers.add(new CWAttributedMetricCollectionPublisher(new RfcQueueSize("RfcQueueSize")));
       metricPublishers.add(new CWBareValueMetricPublisher(new GlobalInflightRequestMemory("GlobalInflightRequestMemory")));
+      metricPublishers.add(new CWBareValueMetricPublisher(new CoalescedRequestCount("CoalescedRequestCount")));
+      metricPublishers.add(new CWAggregatedValuesPublisher(FeatureTaskHandler.getMvtEncodingTimeMetric()));
+      metricPublishers.add(new CWBareValueMetricPublisher(new ResponseParsingQueueDepth("ResponseParsingQueueDepth")));
+      metricPublishers.add(new CWAggregatedValuesPublisher(RpcClient.getResponseParsingTimeMetric()));
       metricPublishers.addAll(ConnectionMetrics.startConnectionMetricPublishers());
     }
   }
@@ -622,6 +647,37 @@ public class Service extends Core {
      */
     public float REMOTE_FUNCTION_CONNECTION_HIGH_UTILIZATION_THRESHOLD;
 
+    /**
+     * Whether the number of concurrent invocations of each remote function should adapt itself to the latency of the remote function.
+     * The maximum connections of the connector still apply as upper bound. Deactivated by default, the concurrency is then only limited by
+     * the maximum connections.
+     */
+    public boolean REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY;
+
+    /**
+     * The key among which the capacity of each remote function is shared fairly, if calls have to be queued.
+     * Possible values are:
+     * <ul>
+     *   <li>NONE: All calls share one queue</li>
+     *   <li>SPACE: The calls are queued per space</li>
+     *   <li>TENANT: The calls are queued per app ID (aid) of the requesting token</li>
+     * </ul>
+     */
+    public String REMOTE_FUNCTION_FAIR_QUEUING_KEY = "NONE";
+
+    /**
+     * List of weights of fairness keys, separated by comma, in the form key:weight. Keys without weight get the weight 1.
+     * The weights must be integers >= 1, otherwise the service does not start.
+     * The queued calls of a key with the weight 2 get twice as many turns as the ones of a key with the weight 1.
+     */
+    public List<String> REMOTE_FUNCTION_FAIR_QUEUING_WEIGHTS = Collections.emptyList();
+
+    /**
+     * The maximum number of concurrent calls to a remote function per fairness key. 0 means no limit.
+     * Calls without a fairness key (e.g. all calls, if the fairness key is NONE) are not limited.
+     */
+    public int REMOTE_FUNCTION_FAIR_QUEUING_MAX_INFLIGHT;
+
     /**
      * A value between 0 and 1 defining a threshold as percentage of utilized service memory for in-flight request after which to start
      * prioritizing more important connectors over less important ones.
@@ -726,6 +782,90 @@ public class Service extends Core {
      */
     public int MAX_HTTP_RESPONSE_SIZE;
 
+    /**
+     * The size in bytes of the slices in which larger feature collection responses are written to the client.
+     * Responses which are bigger than that size are written slice by slice while respecting the write queue of the client connection.
+     * They keep their Content-Length header, the slices are not sent with the chunked transfer encoding.
+     * The response is still fully serialized in memory before it gets written, so this does not limit the memory used per response.
+     * Setting it to 0 disables the sliced writing of responses.
+     */
+    public int RESPONSE_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Whether concurrent cacheable requests with the same cache key should be coalesced on this service node.
+     * If active, only one of these requests is reading the cache / invoking the storage while the others are waiting for its response.
+     */
+    public boolean CACHE_REQUEST_COALESCING = true;
+
+    /**
+     * The time in milliseconds after which a coalesced request stops waiting for the in-flight request with the same cache key and
+     * performs the request on its own.
+     */
+    public long CACHE_REQUEST_COALESCING_TIMEOUT = 10_000;
+
+    /**
+     * The time in seconds for which a cache entry may still be served after its TTL has elapsed, while it gets refreshed in the background.
+     * Setting it to 0 disables serving stale cache entries.
+     */
+    public long CACHE_STALE_TTL = 60;
+
+    /**
+     * The factor to scale the probability of refreshing a cache entry in the background, before its TTL has elapsed.
+     * Values > 1 favor earlier refreshes. Setting it to 0 disables early refreshes.
+     */
+    public double CACHE_EARLY_REFRESH_BETA = 1.0;
+
+    /**
+     * Whether the cache keys of read requests to spaces with versioning should include the latest content version of the space as it is
+     * known by the service node. The service nodes are exchanging the content versions they have written, so that a modification of the
+     * space implicitly invalidates the cached responses of all service nodes.
+     */
+    public boolean VERSION_AWARE_CACHE_KEYS;
+
+    /**
+     * The size in bytes above which connector responses are decompressed and parsed on the response parsing pool rather than on the
+     * event loop. A negative value disables the offloading.
+     */
+    public int RESPONSE_PARSING_OFFLOAD_THRESHOLD = 1024 * 1024;
+
+    /**
+     * The number of threads of the response parsing pool.
+     */
+    public int RESPONSE_PARSING_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The maximum number of responses which may wait for being parsed on the response parsing pool. Further responses are parsed on the
+     * event loop.
+     */
+    public int RESPONSE_PARSING_QUEUE_SIZE = 256;
+
+    /**
+     * The time in milliseconds for which read events (e.g. tile requests) are collected to be sent to a storage connector, which supports
+     * batching, within one invocation. 0 (default) deactivates the batching.
+     */
+    public int RPC_BATCHING_WINDOW;
+
+    /**
+     * The maximum number of events which are sent to a storage connector within one batch. A batch which reached this size is sent
+     * immediately.
+     */
+    public int RPC_BATCHING_MAX_SIZE = 32;
+
+    /**
+     * The time in milliseconds for which the latest write to a space is tracked by a service node. Within that time, the time which has
+     * passed since the write is sent to the storage connectors, so that they can route reads to a replica only if it has caught up.
+     * It should be larger than the maximum replication lag (including safety margins) at which a storage connector uses its replicas.
+     */
+    public long LATEST_WRITE_TRACKING_TIME = 30_000;
+
+    /**
+     * Whether simple conditional writes (replace or create) are sent to storage connectors, which support conditional writes, within
+     * one request without loading the existing features first. The storage connector checks the existence of the features instead.
+     * NOTE: As the existing features are not compared with the new ones, replacing a feature with an unchanged one writes a new state of it
+     * (with a new version and updatedAt), while the default mode skips the write of unchanged features.
+     */
+    public boolean SINGLE_ROUND_TRIP_WRITES;
+
     /**
      * Whether to activate pipelining for the HTTP client of the service.
      */
@@ -81,6 +81,11 @@ public class FeatureAuthorization extends Authorization {
     JWTPayload jwt = Api.Context.getJWT(task.context);
 
     final ActionMatrix tokenRights = jwt.getXyzHubMatrix();
+    if (task.singleRoundTrip) {
+      evaluateRights(getSingleRoundTripRights(task), tokenRights, task, callback);
+      return;
+    }
+
     final XyzHubActionMatrix requestRights = new XyzHubActionMatrix();
 
     //READ
@@ -98,4 +103,24 @@ public class FeatureAuthorization extends Authorization {
 
     evaluateRights(requestRights, tokenRights, task, callback);
   }
+
+  /**
+   * Checks whether the token has the rights for all operations which could be performed by a conditional operation in the single
+   * round-trip mode.
+   */
+  public static boolean isAuthorizedForSingleRoundTrip(ConditionalOperation task) {
+    final ActionMatrix tokenRights = Api.Context.getJWT(task.context).getXyzHubMatrix();
+    return tokenRights != null && tokenRights.matches(getSingleRoundTripRights(task));
+  }
+
+  /**
+   * As the existing features are not known upfront in the single round-trip mode, features which should be replaced or created could be
+   * updated as well as created.
+   */
+  private static XyzHubActionMatrix getSingleRoundTripRights(ConditionalOperation task) {
+    final XyzHubActionMatrix requestRights = new XyzHubActionMatrix();
+    requestRights.createFeatures(XyzHubAttributeMap.forValues(task.space.getOwner(), task.space.getId(), task.space.getPackages()));
+    requestRights.updateFeatures(XyzHubAttributeMap.forValues(task.space.getOwner(), task.space.getId(), task.space.getPackages()));
+    return requestRights;
+  }
 }
@@ -35,7 +35,7 @@ public interface CacheClient {
 
 	void remove(String key);
 
-	static CacheClient getInstance() {
+	static MultiLevelCacheClient getInstance() {
 		return new MultiLevelCacheClient(OHCacheClient.getInstance(), RedisCacheClient.getInstance());
 	}
 
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import com.here.xyz.hub.Core;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A cache value together with the metadata which is needed to decide whether the value is still fresh, may still be served while
+ * being refreshed (stale-while-revalidate) or should be refreshed early.
+ *
+ * An entry has a logical TTL after which it is stale and an additional stale TTL during which it may still be served while it gets
+ * refreshed. After both have elapsed, the entry is expired and must not be served anymore.
+ */
+public class CacheEntry {
+
+  private static final byte MAGIC = 'X';
+  private static final byte FORMAT_VERSION = 1;
+  private static final int HEADER_SIZE = 2 + 5 * Long.BYTES;
+
+  private final byte[] value;
+  private final long writeTime;
+  private final long ttl;
+  private final long staleTtl;
+  private final long computeTime;
+  private final long contentVersion;
+
+  /**
+   * @param value The actual value
+   * @param ttl The logical live time of the value in seconds
+   * @param staleTtl The time in seconds for which the value may still be served after the logical TTL has elapsed
+   * @param computeTime The time in milliseconds it took to compute the value
+   * @param contentVersion The version of the content from which the value was computed or 0 if unknown
+   */
+  public CacheEntry(byte[] value, long ttl, long staleTtl, long computeTime, long contentVersion) {
+    this(value, Core.currentTimeMillis(), ttl, staleTtl, computeTime, contentVersion);
+  }
+
+  CacheEntry(byte[] value, long writeTime, long ttl, long staleTtl, long computeTime, long contentVersion) {
+    this.value = value;
+    this.writeTime = writeTime;
+    this.ttl = ttl;
+    this.staleTtl = staleTtl;
+    this.computeTime = computeTime;
+    this.contentVersion = contentVersion;
+  }
+
+  public byte[] getValue() {
+    return value;
+  }
+
+  public long getContentVersion() {
+    return contentVersion;
+  }
+
+  /**
+   * @return Whether the logical TTL of this entry has not elapsed yet.
+   */
+  public boolean isFresh(long now) {
+    return now < getStaleTime();
+  }
+
+  /**
+   * @return Whether the logical TTL and the stale TTL of this entry have elapsed, so the entry must not be served anymore.
+   */
+  public boolean isExpired(long now) {
+    return now >= getExpiryTime();
+  }
+
+  /**
+   * Decides probabilistically whether a fresh entry should be refreshed already, before its logical TTL elapses.
+   * The probability increases the closer the entry gets to its stale time and the longer it took to compute the value
+   * (see "Optimal Probabilistic Cache Stampede Prevention", XFetch).
+   *
+   * @param now The current time in milliseconds
+   * @param beta The factor to scale the probability of an early refresh. Values > 1 favor earlier refreshes, 0 disables early refreshes.
+   * @return Whether the entry should be refreshed
+   */
+  public boolean shouldRefreshEarly(long now, double beta) {
+    return shouldRefreshEarly(now, beta, ThreadLocalRandom.current().nextDouble());
+  }
+
+  /**
+   * @param random A uniformly distributed random value in the range [0, 1)
+   */
+  boolean shouldRefreshEarly(long now, double beta, double random) {
+    if (beta <= 0 || computeTime <= 0)
+      return false;
+    return now - computeTime * beta * Math.log(random) >= getStaleTime();
+  }
+
+  /**
+   * @return The remaining time in seconds for which this entry may still be held in a cache
+   */
+  public long getRemainingTtl(long now) {
+    return Math.max((getExpiryTime() - now + 999) / 1000, 0);
+  }
+
+  private long getStaleTime() {
+    return writeTime + ttl * 1000;
+  }
+
+  private long getExpiryTime() {
+    return getStaleTime() + staleTtl * 1000;
+  }
+
+  public byte[] toByteArray() {
+    return ByteBuffer.allocate(HEADER_SIZE + value.length)
+        .put(MAGIC)
+        .put(FORMAT_VERSION)
+        .putLong(writeTime)
+        .putLong(ttl)
+        .putLong(staleTtl)
+        .putLong(computeTime)
+        .putLong(contentVersion)
+        .put(value)
+        .array();
+  }
+
+  /**
+   * @param bytes The serialized entry
+   * @return The entry or <code>null</code> if the bytes are not representing a cache entry (e.g. written by an older service version)
+   */
+  public static CacheEntry fromByteArray(byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != MAGIC || bytes[1] != FORMAT_VERSION)
+      return null;
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, bytes.length - 2);
+    long writeTime = buffer.getLong();
+    long ttl = buffer.getLong();
+    long staleTtl = buffer.getLong();
+    long computeTime = buffer.getLong();
+    long contentVersion = buffer.getLong();
+    byte[] value = new byte[buffer.remaining()];
+    buffer.get(value);
+    return new CacheEntry(value, writeTime, ttl, staleTtl, computeTime, contentVersion);
+  }
+}
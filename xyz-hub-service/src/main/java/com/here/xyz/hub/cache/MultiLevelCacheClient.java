@@ -19,10 +19,16 @@
 
 package com.here.xyz.hub.cache;
 
+import com.here.xyz.hub.Core;
 import io.vertx.core.Future;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * A cache client which reads from multiple cache levels one after another and writes to all of them.
+ * All values are stored as {@link CacheEntry} so that the expiry of an entry is known on every level. That way a value which was found
+ * on a lower level is written back to the upper levels only for its remaining live time.
+ */
 public class MultiLevelCacheClient implements CacheClient {
 
   final List<CacheClient> clients;
@@ -31,31 +37,60 @@ public class MultiLevelCacheClient implements CacheClient {
     this.clients = Arrays.asList(clients);
   }
 
+  /**
+   * Returns the value for the specified key, if it is fresh.
+   *
+   * @see #getEntry(String)
+   */
   @Override
   public Future<byte[]> get(String key) {
-    return get(0, key);
+    return getEntry(key).map(entry -> entry != null && entry.isFresh(Core.currentTimeMillis()) ? entry.getValue() : null);
+  }
+
+  /**
+   * Returns the entry for the specified key including its metadata. The entry might be stale already, but it's never expired.
+   *
+   * @param key The key of the entry
+   * @return The entry or <code>null</code> if there is no (non-expired) entry for the key
+   */
+  public Future<CacheEntry> getEntry(String key) {
+    return getEntry(0, key);
   }
 
-  private Future<byte[]> get(final int i, final String key) {
+  private Future<CacheEntry> getEntry(final int i, final String key) {
     return clients.get(i).get(key).compose(result -> {
-      if (result == null) {
+      CacheEntry entry = CacheEntry.fromByteArray(result);
+      final long now = Core.currentTimeMillis();
+      if (entry == null || entry.isExpired(now)) {
         if (clients.size() > i + 1)
-          return get(i + 1, key);
+          return getEntry(i + 1, key);
         else
           return Future.succeededFuture(null);
       }
       else {
         int j = i;
         while (--j >= 0) {
-          clients.get(j).set(key, result, Integer.MAX_VALUE);
+          clients.get(j).set(key, result, entry.getRemainingTtl(now));
         }
-        return Future.succeededFuture(result);
+        return Future.succeededFuture(entry);
       }
     });
   }
 
   @Override
   public void set(String key, byte[] value, long ttl) {
+    setEntry(key, new CacheEntry(value, ttl, 0, 0, 0));
+  }
+
+  /**
+   * Writes the entry to all cache levels. The entry will be held until its logical TTL and its stale TTL have elapsed.
+   *
+   * @param key The key of the entry
+   * @param entry The entry to write
+   */
+  public void setEntry(String key, CacheEntry entry) {
+    final byte[] value = entry.toByteArray();
+    final long ttl = entry.getRemainingTtl(Core.currentTimeMillis());
     clients.forEach(c -> c.set(key, value, ttl));
   }
 
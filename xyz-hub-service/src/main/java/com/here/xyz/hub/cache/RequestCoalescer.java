@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent requests with the same key, so that only one of them (the leader) performs the actual request while the others
+ * (the followers) wait for its result.
+ *
+ * The leader has to {@link #complete(String, Promise, Object) complete} its request in any case, also if it fails or gets cancelled,
+ * so that the key gets released. Followers stop waiting after a timeout and perform the request on their own then.
+ *
+ * @param <V> the type of the shared result
+ */
+public class RequestCoalescer<V> {
+
+  private final ConcurrentHashMap<String, Promise<V>> inflightRequests = new ConcurrentHashMap<>();
+  private final Vertx vertx;
+  private final long timeout;
+
+  /**
+   * @param vertx The vertx instance used for the timers of the followers
+   * @param timeout The time in milliseconds after which a follower stops waiting for the leader
+   */
+  public RequestCoalescer(Vertx vertx, long timeout) {
+    this.vertx = vertx;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Tries to become the leader for the given key.
+   *
+   * @return The promise of the new in-flight request, if there was no request in-flight for the key yet, or <code>null</code> otherwise
+   */
+  public Promise<V> tryLead(String key) {
+    final Promise<V> request = Promise.promise();
+    return inflightRequests.putIfAbsent(key, request) == null ? request : null;
+  }
+
+  /**
+   * Waits for the in-flight request of the given key.
+   *
+   * @return A future which completes with the result of the leader or with <code>null</code> if the leader could not share a result,
+   *  did not finish within the timeout or if there is no request in-flight (anymore)
+   */
+  public Future<V> follow(String key) {
+    final Promise<V> request = inflightRequests.get(key);
+    if (request == null)
+      return Future.succeededFuture();
+
+    final Promise<V> result = Promise.promise();
+    final long timerId = vertx.setTimer(timeout, t -> result.tryComplete());
+    request.future().onComplete(ar -> {
+      vertx.cancelTimer(timerId);
+      result.tryComplete(ar.succeeded() ? ar.result() : null);
+    });
+    return result.future();
+  }
+
+  /**
+   * Completes the in-flight request of the leader and releases its key. Calling this method more than once has no effect.
+   *
+   * @param key The key of the request
+   * @param request The promise which was returned by {@link #tryLead(String)}
+   * @param value The result to share or <code>null</code> if the followers have to perform the request on their own
+   */
+  public void complete(String key, Promise<V> request, V value) {
+    inflightRequests.remove(key, request);
+    request.tryComplete(value);
+  }
+
+  /**
+   * @return The number of requests which are in-flight currently
+   */
+  public int size() {
+    return inflightRequests.size();
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+/**
+ * A concurrency limit which adapts itself to the latency of the calls being made, similar to a gradient based (TCP Vegas like)
+ * congestion control.
+ *
+ * The limit keeps track of a short-term and a long-term (baseline) average of the observed latencies. As long as the short-term latency
+ * stays close to the baseline, the limit is raised step by step. If the short-term latency rises above the tolerated ratio, which
+ * indicates that calls are queueing up at the remote side, the limit shrinks in proportion to the ratio.
+ *
+ * A rising latency always shrinks the limit, but the limit is only raised if there is a demand for more concurrency, as the latency of
+ * calls says nothing about a higher concurrency which was never actually used.
+ */
+class AdaptiveConcurrencyLimit {
+
+  /**
+   * The number of samples the short-term and the long-term latency averages are roughly covering.
+   */
+  private static final double SHORT_RTT_WINDOW = 10;
+  private static final double LONG_RTT_WINDOW = 600;
+
+  /**
+   * The ratio between the short-term latency and the baseline latency, which is tolerated before the limit gets decreased.
+   */
+  private static final double RTT_TOLERANCE = 1.5;
+
+  /**
+   * The relevance of a new limit value in relation to the current one.
+   */
+  private static final double SMOOTHING = 0.2;
+
+  private double estimatedLimit;
+  private double shortRtt;
+  private double longRtt;
+  private volatile int limit;
+
+  AdaptiveConcurrencyLimit(int initialLimit) {
+    estimatedLimit = limit = initialLimit;
+  }
+
+  /**
+   * Takes the latency of a completed call into account and adjusts the limit.
+   *
+   * @param rtt The time it took to execute the call in nanoseconds
+   * @param inflight The number of calls which were in flight when the call completed
+   * @param demand Whether there is a demand for more concurrency (e.g. calls are waiting or arriving faster than they're being served)
+   * @param minLimit The lower bound of the limit
+   * @param maxLimit The upper bound of the limit
+   */
+  synchronized void onSample(long rtt, int inflight, boolean demand, int minLimit, int maxLimit) {
+    if (longRtt == 0) {
+      shortRtt = longRtt = rtt;
+    }
+    else {
+      shortRtt += (rtt - shortRtt) / SHORT_RTT_WINDOW;
+      longRtt += (shortRtt - longRtt) / LONG_RTT_WINDOW;
+      //If the latency recovered significantly, the baseline needs to follow faster
+      if (longRtt / shortRtt > 2)
+        longRtt *= 0.95;
+    }
+
+    final double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+    double newLimit = estimatedLimit * gradient;
+    //Only probe for a higher limit if the current one is actually being used
+    if (demand || inflight >= estimatedLimit / 2)
+      newLimit += Math.sqrt(estimatedLimit);
+    newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    limit = (int) estimatedLimit;
+  }
+
+  int getLimit() {
+    return limit;
+  }
+}
@@ -19,6 +19,7 @@
 
 package com.here.xyz.hub.connectors;
 
+import static io.netty.handler.codec.http.HttpResponseStatus.GATEWAY_TIMEOUT;
 import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
 
 import com.google.common.io.ByteStreams;
@@ -29,7 +30,7 @@ import com.here.xyz.hub.connectors.models.Connector;
 import com.here.xyz.hub.rest.HttpException;
 import com.here.xyz.hub.util.LimitedOffHeapQueue;
 import com.here.xyz.hub.util.LimitedOffHeapQueue.OffHeapBuffer;
-import com.here.xyz.hub.util.LimitedQueue;
+import com.here.xyz.hub.util.FairQueue;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -37,9 +38,15 @@ import io.vertx.core.Handler;
 import io.vertx.core.impl.ConcurrentHashSet;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
@@ -71,6 +78,14 @@ public abstract class RemoteFunctionClient {
   private static Set<RemoteFunctionClient> clientInstances = new ConcurrentHashSet<>();
   private static LongAdder globalMinConnectionSum = new LongAdder();
   private static LongAdder globalMaxConnectionSum = new LongAdder();
+  private static final AtomicLong callSequence = new AtomicLong();
+  private static final List<String> FAIR_QUEUING_KEYS = Arrays.asList("NONE", "SPACE", "TENANT");
+  private static volatile Map<String, Integer> fairQueuingWeights = Collections.emptyMap();
+  /**
+   * Orders calls by their deadline shifted by the slack of their class. Calls with the same scheduling time are kept in submission order.
+   */
+  private static final Comparator<FunctionCall> SCHEDULING_ORDER = Comparator.<FunctionCall>comparingLong(fc -> fc.schedulingTime)
+      .thenComparingLong(fc -> fc.sequenceNumber);
 //  private static AtomicLong lastSizeAdjustment;
 
   protected Connector connectorConfig;
@@ -80,8 +95,11 @@ public abstract class RemoteFunctionClient {
 
   private final LongAdder responsesSinceLastThroughputMeasurement = new LongAdder();
   private final AtomicLong lastThroughputMeasurement = new AtomicLong(Core.currentTimeMillis());
-  private final LimitedQueue<FunctionCall> queue = new LimitedOffHeapQueue<>(0, 0);
+  private final FairQueue<FunctionCall> queue = new FairQueue<>(fc -> fc.fairnessKey,
+      () -> new LimitedOffHeapQueue<>(Long.MAX_VALUE, Long.MAX_VALUE, SCHEDULING_ORDER), RemoteFunctionClient::getFairQueuingWeight,
+      Service.configuration.REMOTE_FUNCTION_FAIR_QUEUING_MAX_INFLIGHT);
   private final AtomicInteger usedConnections = new AtomicInteger(0);
+  private final AdaptiveConcurrencyLimit concurrencyLimit;
 
 //  /**
 //   * Sliding average request execution time in seconds.
@@ -108,6 +126,7 @@ public abstract class RemoteFunctionClient {
       throw new NullPointerException();
     }
     setConnectorConfig(connectorConfig);
+    concurrencyLimit = new AdaptiveConcurrencyLimit(getMaxConnections());
 
 //    recalculateRateOfService();
 
@@ -145,11 +164,31 @@ public abstract class RemoteFunctionClient {
     }
   }
 
-  protected FunctionCall submit(final Marker marker, byte[] bytes, boolean fireAndForget, boolean hasPriority, final Handler<AsyncResult<byte[]>> callback) {
+  /**
+   * Submits a call to the remote function, which is invoked directly if there is a free connection or enqueued otherwise.
+   *
+   * @param callClass The class of the call which is used to schedule it in the queue
+   * @param fairnessKey The key (e.g. space or tenant) among which the capacity of the remote function is shared fairly
+   */
+  protected FunctionCall submit(final Marker marker, byte[] bytes, boolean fireAndForget, boolean hasPriority, CallClass callClass,
+      String fairnessKey, final Handler<AsyncResult<byte[]>> callback) {
+    return submit(marker, bytes, fireAndForget, hasPriority, callClass, fairnessKey, Core.currentTimeMillis() + getRequestTimeout(),
+        callback);
+  }
+
+  /**
+   * Submits a call to the remote function, which is invoked directly if there is a free connection or enqueued otherwise.
+   *
+   * @param callClass The class of the call which is used to schedule it in the queue
+   * @param fairnessKey The key (e.g. space or tenant) among which the capacity of the remote function is shared fairly
+   * @param deadline The point in time (epoch millis) after which nobody is waiting for the response of the call anymore
+   */
+  protected FunctionCall submit(final Marker marker, byte[] bytes, boolean fireAndForget, boolean hasPriority, CallClass callClass,
+      String fairnessKey, long deadline, final Handler<AsyncResult<byte[]>> callback) {
     //This is the point where new requests arrive so measure the arrival time
     invokeStarted();
 
-    FunctionCall fc = new FunctionCall(marker, bytes, fireAndForget, hasPriority, r -> {
+    FunctionCall fc = new FunctionCall(marker, bytes, fireAndForget, hasPriority, callClass, fairnessKey, deadline, r -> {
       //This is the point where the request's response came back so measure the throughput
       invokeCompleted();
 
@@ -161,7 +200,14 @@ public abstract class RemoteFunctionClient {
     });
 
     if (!hasPriority){
-      if (!compareAndIncrementUpTo(getWeightedMaxConnections(), usedConnections)) {
+      if (!fc.acquireSlot()) {
+        enqueue(fc);
+        //The inflight calls of the key may have completed in the meantime
+        drainQueue();
+        return fc;
+      }
+      if (!compareAndIncrementUpTo(getConcurrencyLimit(), usedConnections)) {
+        fc.releaseSlot();
         enqueue(fc);
         return fc;
       }
@@ -342,13 +388,16 @@ public abstract class RemoteFunctionClient {
   }
 
   private void _invoke(final FunctionCall fc) {
-    //long start = System.nanoTime();
+    final long start = System.nanoTime();
     invoke(fc, r -> {
-      //long end = System.nanoTime();
+      fc.releaseSlot();
+      if (!fc.cancelled)
+        concurrencyLimit.onSample(System.nanoTime() - start, usedConnections.intValue(), hasConcurrencyDemand(),
+            Math.min(MIN_CONNECTIONS_PER_NODE, getMaxConnections()), getMaxConnections());
       //TODO: Activate performance calculation once it's implemented completely
       //recalculatePerformance(end - start, TimeUnit.NANOSECONDS);
-      //Look into queue if there is something further to do
-      FunctionCall nextFc = queue.remove();
+      //Look into queue if there is something further to do, unless the concurrency limit was decreased below the used connections
+      FunctionCall nextFc = !fc.hasPriority && usedConnections.intValue() > getConcurrencyLimit() ? null : dequeue();
       if (nextFc == null && !fc.hasPriority) {
         if(usedConnections.intValue() > 0) {
           usedConnections.getAndDecrement(); //Free the connection only in case it's not needed for the next invocation
@@ -406,6 +455,37 @@ public abstract class RemoteFunctionClient {
     }
   }
 
+  /**
+   * @return The time in milliseconds which a call to the remote function may take, after which the caller stops waiting for its response
+   */
+  public long getRequestTimeout() {
+    try {
+      return connectorConfig.getRemoteFunction().getTimeout();
+    }
+    catch (RuntimeException e) {
+      //No remote function is defined for this environment
+      return MAX_REQUEST_TIMEOUT;
+    }
+  }
+
+  /**
+   * @return The maximum number of concurrent invocations of the remote function. If the adaptive concurrency limit is activated, this is
+   *  the limit which was determined based on the latency of the remote function, bounded by {@link #getWeightedMaxConnections()}.
+   * @see Service.Config#REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY
+   */
+  public int getConcurrencyLimit() {
+    final int maxConnections = getWeightedMaxConnections();
+    return Service.configuration.REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY ? Math.min(concurrencyLimit.getLimit(), maxConnections)
+        : maxConnections;
+  }
+
+  /**
+   * @return Whether calls are waiting or arriving faster than they're being served, so a higher concurrency would be used
+   */
+  private boolean hasConcurrencyDemand() {
+    return getQueueSize() > 0 || getArrivalRate() > getThroughput();
+  }
+
   public int getUsedConnections() {
     return usedConnections.intValue();
   }
@@ -440,6 +520,98 @@ public abstract class RemoteFunctionClient {
 //    queue.setMaxSize(maxFeasibleElements);
 //  }
 
+  /**
+   * Removes the next call from the queue. Calls which have been cancelled or whose deadline has passed already are dropped, as nobody would
+   * receive their response anymore.
+   *
+   * @return The next call to be invoked or null if there is none
+   */
+  private FunctionCall dequeue() {
+    FunctionCall fc;
+    while ((fc = queue.remove()) != null) {
+      //The call took an inflight slot of its fairness key when it was removed from the queue
+      fc.holdsSlot.set(true);
+      if (!fc.cancelled && !fc.isExpired(Core.currentTimeMillis()))
+        return fc;
+
+      fc.releaseSlot();
+      if (fc.cancelled)
+        continue;
+      logger.warn(fc.marker, "Dropping call to remote function {}, as its deadline passed while it was waiting in the queue.",
+          connectorConfig.id);
+      try {
+        fc.callback.handle(Future.failedFuture(new HttpException(GATEWAY_TIMEOUT, "Remote function is busy or cannot be invoked.")));
+      }
+      catch (Exception e) {
+        logger.error(fc.marker, "Error while calling response handler", e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Invokes queued calls as long as there are free connections. This is necessary, if there are queued calls which could not be invoked
+   * when the last invocation completed, as their keys had reached their inflight limit at that time.
+   */
+  private void drainQueue() {
+    while (queue.getSize() > 0 && compareAndIncrementUpTo(getConcurrencyLimit(), usedConnections)) {
+      FunctionCall nextFc = dequeue();
+      if (nextFc == null) {
+        usedConnections.getAndDecrement();
+        return;
+      }
+      _invoke(nextFc);
+    }
+  }
+
+  /**
+   * @return The number of queued calls by fairness key
+   */
+  public Map<String, Long> getQueueSizesByKey() {
+    return queue.getSizesByKey();
+  }
+
+  private static int getFairQueuingWeight(String fairnessKey) {
+    return fairQueuingWeights.getOrDefault(fairnessKey, 1);
+  }
+
+  /**
+   * Validates the configuration of the fair queuing and applies the weights of the fairness keys. Must be called at startup.
+   *
+   * @param fairQueuingKey The key among which the capacity is shared
+   * @param weights The weights of the fairness keys in the form key:weight
+   * @throws IllegalArgumentException if the configuration is invalid
+   * @see Service.Config#REMOTE_FUNCTION_FAIR_QUEUING_KEY
+   * @see Service.Config#REMOTE_FUNCTION_FAIR_QUEUING_WEIGHTS
+   */
+  public static void configureFairQueuing(String fairQueuingKey, List<String> weights) {
+    if (!FAIR_QUEUING_KEYS.contains(fairQueuingKey))
+      throw new IllegalArgumentException("Invalid fair queuing key \"" + fairQueuingKey + "\", must be one of " + FAIR_QUEUING_KEYS);
+    fairQueuingWeights = parseFairQueuingWeights(weights);
+  }
+
+  static Map<String, Integer> parseFairQueuingWeights(List<String> weights) {
+    if (weights == null)
+      return Collections.emptyMap();
+
+    Map<String, Integer> parsedWeights = new HashMap<>();
+    for (String weight : weights) {
+      int separator = weight.lastIndexOf(':');
+      if (separator <= 0)
+        throw new IllegalArgumentException("Invalid fair queuing weight \"" + weight + "\", must be in the form key:weight");
+      try {
+        int value = Integer.parseInt(weight.substring(separator + 1).trim());
+        if (value < 1)
+          throw new IllegalArgumentException("Invalid fair queuing weight \"" + weight + "\", the weight must be at least 1");
+        parsedWeights.put(weight.substring(0, separator).trim(), value);
+      }
+      catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid fair queuing weight \"" + weight + "\", the weight must be an integer", e);
+      }
+    }
+    return Collections.unmodifiableMap(parsedWeights);
+  }
+
   private void enqueue(final FunctionCall fc) {
     /*if (Core.currentTimeMillis() > lastSizeAdjustment.get() + SIZE_ADJUSTMENT_INTERVAL
         && fc.getByteSize() + queue.getByteSize() > queue.getMaxByteSize()) {
@@ -455,23 +627,82 @@ public abstract class RemoteFunctionClient {
                 .handle(Future.failedFuture(new HttpException(TOO_MANY_REQUESTS, "Remote function is busy or cannot be invoked."))));
   }
 
+  /**
+   * The classes of calls, which are taken into account when scheduling the queued calls of a remote function.
+   * Queued calls are ordered by their deadline, but the deadline of less urgent classes is shifted by a slack, so that interactive calls
+   * are preferred, while calls of the other classes still get their turn once they have waited for their slack.
+   */
+  public enum CallClass {
+    /**
+     * Reads which are waited for by a user (e.g. tile requests)
+     */
+    INTERACTIVE(0),
+    /**
+     * Writes and other modifications
+     */
+    WRITE(MAX_REQUEST_TIMEOUT / 4),
+    /**
+     * Bulk reads (e.g. iterations) and background calls
+     */
+    BULK(MAX_REQUEST_TIMEOUT / 2);
+
+    private final long slack;
+
+    CallClass(long slack) {
+      this.slack = slack;
+    }
+  }
+
   public class FunctionCall extends OffHeapBuffer {
 
     final Marker marker;
     final boolean fireAndForget;
     final boolean hasPriority;
+    final CallClass callClass;
+    final String fairnessKey;
     final Context context = Service.vertx.getOrCreateContext();
+    /**
+     * The point in time after which nobody is waiting for the response of this call anymore.
+     */
+    final long deadline;
+    private final long schedulingTime;
+    private final long sequenceNumber = callSequence.getAndIncrement();
 
     private final Handler<AsyncResult<byte[]>> callback;
     private Runnable cancelHandler;
     private volatile boolean cancelled;
+    private final AtomicBoolean holdsSlot = new AtomicBoolean();
 
-    public FunctionCall(Marker marker, byte[] bytes, boolean fireAndForget, boolean hasPriority, Handler<AsyncResult<byte[]>> callback) {
+    public FunctionCall(Marker marker, byte[] bytes, boolean fireAndForget, boolean hasPriority, CallClass callClass, String fairnessKey,
+        long deadline, Handler<AsyncResult<byte[]>> callback) {
       super(bytes);
+      this.deadline = deadline;
       this.marker = marker;
       this.callback = callback;
       this.fireAndForget = fireAndForget;
       this.hasPriority = hasPriority;
+      this.callClass = callClass;
+      this.fairnessKey = fairnessKey == null ? "" : fairnessKey;
+      schedulingTime = deadline + callClass.slack;
+    }
+
+    /**
+     * Tries to take one of the inflight slots of the fairness key of this call.
+     */
+    private boolean acquireSlot() {
+      if (!queue.tryAcquire(this))
+        return false;
+      holdsSlot.set(true);
+      return true;
+    }
+
+    private void releaseSlot() {
+      if (holdsSlot.compareAndSet(true, false))
+        queue.release(this);
+    }
+
+    boolean isExpired(long now) {
+      return now >= deadline;
     }
 
     public void setCancelHandler(Runnable cancelHandler) {
@@ -491,6 +722,7 @@ public abstract class RemoteFunctionClient {
         logger.error(marker, "Error cancelling call to Remote Function.");
       }
       finally {
+        releaseSlot();
         if(!hasPriority && usedConnections.intValue() > 0) {
           usedConnections.getAndDecrement(); //Free the connection
         }
@@ -21,6 +21,7 @@ package com.here.xyz.hub.connectors;
 
 import static com.here.xyz.events.GetFeaturesByTileEvent.ResponseType.MVT;
 import static com.here.xyz.events.GetFeaturesByTileEvent.ResponseType.MVT_FLATTENED;
+import static com.here.xyz.hub.util.metrics.base.Metric.MetricUnit.MILLISECONDS;
 import static io.netty.handler.codec.http.HttpHeaderValues.APPLICATION_JSON;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_GATEWAY;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
@@ -40,10 +41,25 @@ import com.here.xyz.Payload;
 import com.here.xyz.Typed;
 import com.here.xyz.XyzSerializable;
 import com.here.xyz.connectors.RelocationClient;
+import com.here.xyz.events.BatchEvent;
+import com.here.xyz.events.DeleteChangesetsEvent;
 import com.here.xyz.events.Event;
+import com.here.xyz.events.GetFeaturesByBBoxEvent;
+import com.here.xyz.events.GetFeaturesByIdEvent;
 import com.here.xyz.events.GetFeaturesByTileEvent;
+import com.here.xyz.events.IterateChangesetsEvent;
+import com.here.xyz.events.IterateFeaturesEvent;
+import com.here.xyz.events.IterateHistoryEvent;
+import com.here.xyz.events.LoadFeaturesEvent;
+import com.here.xyz.events.ModifyFeaturesEvent;
+import com.here.xyz.events.ModifySpaceEvent;
+import com.here.xyz.events.ModifySubscriptionEvent;
+import com.here.xyz.events.OneTimeActionEvent;
 import com.here.xyz.events.RelocatedEvent;
+import com.here.xyz.events.SearchForFeaturesEvent;
+import com.here.xyz.hub.Core;
 import com.here.xyz.hub.Service;
+import com.here.xyz.hub.connectors.RemoteFunctionClient.CallClass;
 import com.here.xyz.hub.connectors.RemoteFunctionClient.FunctionCall;
 import com.here.xyz.hub.connectors.models.Connector;
 import com.here.xyz.hub.connectors.models.Connector.RemoteFunctionConfig;
@@ -51,7 +67,10 @@ import com.here.xyz.hub.connectors.models.Connector.RemoteFunctionConfig.Http;
 import com.here.xyz.hub.connectors.models.Space;
 import com.here.xyz.hub.rest.Api;
 import com.here.xyz.hub.rest.HttpException;
+import com.here.xyz.hub.util.metrics.base.AggregatingMetric;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.responses.BatchResponse;
+import com.here.xyz.responses.BinaryFeatureCollection;
 import com.here.xyz.responses.BinaryResponse;
 import com.here.xyz.responses.ErrorResponse;
 import com.here.xyz.responses.HealthStatus;
@@ -59,15 +78,25 @@ import com.here.xyz.responses.HistoryStatisticsResponse;
 import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.responses.XyzResponse;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonObject;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -80,8 +109,21 @@ public class RpcClient {
   private static final ConcurrentHashMap<String, RpcClient> connectorIdToClient = new ConcurrentHashMap<>();
   private static final RelocationClient relocationClient = new RelocationClient(Service.configuration.XYZ_HUB_S3_BUCKET);
 
+  /**
+   * The bounded pool on which large responses are decompressed and parsed and the time it took to parse each of these responses.
+   */
+  private static final ThreadPoolExecutor responseParsingExecutor = new ThreadPoolExecutor(Service.configuration.RESPONSE_PARSING_THREADS,
+      Service.configuration.RESPONSE_PARSING_THREADS, 0, TimeUnit.MILLISECONDS,
+      new LinkedBlockingQueue<>(Service.configuration.RESPONSE_PARSING_QUEUE_SIZE), Core.newThreadFactory("response-parsing"));
+  private static final AggregatingMetric responseParsingTime = new AggregatingMetric("ResponseParsingTime", MILLISECONDS);
+
   private RemoteFunctionClient functionClient;
 
+  /**
+   * The batches of events which are waiting to be sent to the connector, by fairness key.
+   */
+  private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+
   /**
    * Creates a new connector client.
    *
@@ -175,8 +217,11 @@ public class RpcClient {
     return functionClient;
   }
 
-  private void invokeWithRelocation(final Marker marker, RpcContext context, byte[] bytes, boolean fireAndForget, boolean hasPriority, final Handler<AsyncResult<byte[]>> callback) {
+  private void invokeWithRelocation(final Marker marker, RpcContext context, byte[] bytes, boolean fireAndForget, boolean hasPriority,
+      CallClass callClass, String fairnessKey, final Handler<AsyncResult<byte[]>> callback) {
     try {
+      //The time needed for the relocation counts towards the time which the caller waits for the response
+      final long deadline = Core.currentTimeMillis() + functionClient.getRequestTimeout();
       final Connector connector = getConnector();
       if (bytes.length > connector.capabilities.maxPayloadSize) { // If the payload is too large to send directly to the connector
         if (!connector.capabilities.relocationSupport) {
@@ -192,11 +237,13 @@ public class RpcClient {
             callback.handle(Future.failedFuture(ar.cause()));
             return;
           }
-          context.functionCall = functionClient.submit(marker, ar.result(), fireAndForget, hasPriority, callback);
+          context.functionCall = functionClient.submit(marker, ar.result(), fireAndForget, hasPriority, callClass, fairnessKey, deadline,
+              callback);
         });
       }
       else {
-        context.functionCall = functionClient.submit(marker, bytes, fireAndForget, hasPriority, callback);
+        context.functionCall = functionClient.submit(marker, bytes, fireAndForget, hasPriority, callClass, fairnessKey, deadline,
+            callback);
       }
     }
     catch (Exception e) {
@@ -232,12 +279,51 @@ public class RpcClient {
    * @return Whether to expect a binary response from the storage connector
    */
   private boolean expectBinaryResponse(Event event) {
+    if (Boolean.TRUE.equals(event.getAcceptBinaryFeatureCollection()))
+      return true;
     return event instanceof GetFeaturesByTileEvent
         && (((GetFeaturesByTileEvent) event).getResponseType() == MVT || ((GetFeaturesByTileEvent) event).getResponseType() == MVT_FLATTENED)
         && getConnector().capabilities.mvtSupport
         && Payload.compareVersions(getConnector().getRemoteFunction().protocolVersion, BinaryResponse.BINARY_SUPPORT_VERSION) >= 0;
   }
 
+  /**
+   * @return Whether the (successful) response of the event is a FeatureCollection, which the connector could send as binary feature
+   *  collection
+   */
+  @SuppressWarnings("rawtypes")
+  private static boolean respondsWithFeatureCollection(Event event) {
+    if (event instanceof IterateChangesetsEvent || event instanceof IterateHistoryEvent)
+      return false;
+    return event instanceof SearchForFeaturesEvent || event instanceof GetFeaturesByIdEvent || event instanceof LoadFeaturesEvent
+        || event instanceof ModifyFeaturesEvent;
+  }
+
+  /**
+   * @return The class of the call which is used to schedule the event if it has to wait for the remote function
+   */
+  private static CallClass getCallClass(Event event) {
+    if (event instanceof ModifyFeaturesEvent || event instanceof ModifySpaceEvent || event instanceof ModifySubscriptionEvent
+        || event instanceof LoadFeaturesEvent || event instanceof DeleteChangesetsEvent)
+      return CallClass.WRITE;
+    if (event instanceof IterateFeaturesEvent || event instanceof IterateHistoryEvent || event instanceof IterateChangesetsEvent
+        || event instanceof OneTimeActionEvent)
+      return CallClass.BULK;
+    return CallClass.INTERACTIVE;
+  }
+
+  /**
+   * @return The key among which the capacity of the remote function is shared fairly
+   * @see Service.Config#REMOTE_FUNCTION_FAIR_QUEUING_KEY
+   */
+  private static String getFairnessKey(Event event) {
+    if ("SPACE".equals(Service.configuration.REMOTE_FUNCTION_FAIR_QUEUING_KEY))
+      return event.getSpace();
+    if ("TENANT".equals(Service.configuration.REMOTE_FUNCTION_FAIR_QUEUING_KEY))
+      return event.getAid();
+    return null;
+  }
+
   /**
    * The following is only a temporary implementation to forward the versionsToKeep space property as param for all space-based events.
    * @param event The event on which to set the versionsToKeep property as param
@@ -263,16 +349,26 @@ public class RpcClient {
   @SuppressWarnings("rawtypes")
   public RpcContext execute(final Marker marker, final Event event, final boolean hasPriority, final Handler<AsyncResult<XyzResponse>> callback, Space tmpSpace) {
     tmpFillVersionsToKeepParam(event, tmpSpace);
+    event.setConnectorParams(getConnector().params);
+    if (isBatchable(event, hasPriority))
+      return addToBatch(marker, event, callback);
+    return invoke(marker, event, hasPriority, new RpcContext(), callback);
+  }
+
+  @SuppressWarnings("rawtypes")
+  private RpcContext invoke(final Marker marker, final Event event, final boolean hasPriority, final RpcContext context,
+      final Handler<AsyncResult<XyzResponse>> callback) {
     final Connector connector = getConnector();
-    event.setConnectorParams(connector.params);
+    if (connector.capabilities.binaryFeatureCollectionSupport && respondsWithFeatureCollection(event))
+      event.setAcceptBinaryFeatureCollection(true);
     final boolean expectBinaryResponse = expectBinaryResponse(event);
     final String eventJson = event.serialize();
     final byte[] eventBytes = eventJson.getBytes();
-    final RpcContext context = new RpcContext().withRequestSize(eventBytes.length);
+    context.setRequestSize(eventBytes.length);
     logger.info(marker, "Invoking remote function \"{}\". Total uncompressed event size: {}, Event: {}", connector.id, eventBytes.length,
             preview(eventJson, 4092));
 
-    invokeWithRelocation(marker, context, eventBytes, false, hasPriority, bytesResult -> {
+    invokeWithRelocation(marker, context, eventBytes, false, hasPriority, getCallClass(event), getFairnessKey(event), bytesResult -> {
       if (functionClient == null) {
         logger.warn("RpcClient for connector with ID {} was destroyed in the meantime, cancelling handling of response.",
             connector.id);
@@ -287,7 +383,7 @@ public class RpcClient {
 
       // this is the original event size sent by the connector, it can be different from the payload size, in case of relocation.
       context.setResponseSize(bytesResult.result().length);
-      parseResponse(marker, bytesResult.result(), expectBinaryResponse, r -> {
+      parseResponseAsync(marker, bytesResult.result(), expectBinaryResponse, r -> {
         if (r.failed()) {
           logger.warn(marker, "Error while handling the response from connector \"{}\".", connector.id, r.cause());
           callback.handle(Future.failedFuture(r.cause()));
@@ -299,6 +395,103 @@ public class RpcClient {
     return context;
   }
 
+  /**
+   * @return Whether the event may be sent to the connector together with other events within one {@link BatchEvent}
+   * @see Service.Config#RPC_BATCHING_WINDOW
+   */
+  @SuppressWarnings("rawtypes")
+  private boolean isBatchable(Event event, boolean hasPriority) {
+    if (hasPriority || Service.configuration.RPC_BATCHING_WINDOW <= 0 || !getConnector().capabilities.batchEventSupport)
+      return false;
+    if (event instanceof GetFeaturesByTileEvent)
+      return ((GetFeaturesByTileEvent) event).getResponseType() != MVT
+          && ((GetFeaturesByTileEvent) event).getResponseType() != MVT_FLATTENED;
+    return event instanceof GetFeaturesByBBoxEvent || event instanceof GetFeaturesByIdEvent;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private RpcContext addToBatch(final Marker marker, final Event event, final Handler<AsyncResult<XyzResponse>> callback) {
+    final RpcContext context = new RpcContext();
+    final String key = getFairnessKey(event) != null ? getFairnessKey(event) : "";
+    final PendingBatch batch;
+    final boolean full;
+    synchronized (pendingBatches) {
+      batch = pendingBatches.computeIfAbsent(key, k -> new PendingBatch(k, marker));
+      batch.calls.add(new BatchedCall(marker, event, context, callback));
+      full = batch.calls.size() >= Service.configuration.RPC_BATCHING_MAX_SIZE;
+      if (batch.calls.size() == 1 && !full)
+        batch.timerId = Service.vertx.setTimer(Service.configuration.RPC_BATCHING_WINDOW, timerId -> flushBatch(batch));
+    }
+    if (full)
+      flushBatch(batch);
+    return context;
+  }
+
+  /**
+   * Sends all events of the batch to the connector within one {@link BatchEvent} and dispatches the contained responses to the callers.
+   * A batch which contains only one event is sent as a usual event.
+   */
+  @SuppressWarnings("rawtypes")
+  private void flushBatch(PendingBatch batch) {
+    synchronized (pendingBatches) {
+      if (!pendingBatches.remove(batch.key, batch))
+        return;
+    }
+    if (batch.timerId >= 0)
+      Service.vertx.cancelTimer(batch.timerId);
+
+    if (batch.calls.size() == 1) {
+      final BatchedCall call = batch.calls.get(0);
+      invoke(call.marker, call.event, false, call.context, call::complete);
+      return;
+    }
+
+    final Connector connector = getConnector();
+    final List<Event> events = new ArrayList<>();
+    batch.calls.forEach(call -> events.add(call.event));
+    final byte[] eventBytes = new BatchEvent()
+        .withEvents(events)
+        .withStreamId(batch.marker.getName())
+        .withConnectorParams(connector.params)
+        .toByteArray();
+    batch.calls.forEach(call -> call.context.setRequestSize(eventBytes.length / batch.calls.size()));
+    logger.info(batch.marker, "Invoking remote function \"{}\" with a batch of {} events. Total uncompressed event size: {}", connector.id,
+        events.size(), eventBytes.length);
+
+    invokeWithRelocation(batch.marker, new RpcContext(), eventBytes, false, false, CallClass.INTERACTIVE, batch.key, bytesResult -> {
+      if (bytesResult.failed()) {
+        batch.calls.forEach(call -> call.fail(bytesResult.cause()));
+        return;
+      }
+      batch.calls.forEach(call -> call.context.setResponseSize(bytesResult.result().length / batch.calls.size()));
+      parseResponseAsync(batch.marker, bytesResult.result(), false, r -> {
+        if (r.failed()) {
+          logger.warn(batch.marker, "Error while handling the batch response from connector \"{}\".", connector.id, r.cause());
+          batch.calls.forEach(call -> call.fail(r.cause()));
+          return;
+        }
+        final List<XyzResponse> responses = r.result() instanceof BatchResponse ? ((BatchResponse) r.result()).getResponses() : null;
+        if (responses == null || responses.size() != batch.calls.size()) {
+          logger.warn(batch.marker, "The connector \"{}\" responded with an invalid batch response.", connector.id);
+          batch.calls.forEach(call -> call.fail(new HttpException(BAD_GATEWAY, "Invalid content provided by the connector.")));
+          return;
+        }
+        for (int i = 0; i < responses.size(); i++) {
+          final BatchedCall call = batch.calls.get(i);
+          final XyzResponse response = responses.get(i);
+          try {
+            validateResponsePayload(call.marker, response);
+            postProcessResponsePayload(call.marker, response);
+            call.succeed(response);
+          }
+          catch (Exception e) {
+            call.fail(e);
+          }
+        }
+      });
+    });
+  }
+
   public RpcContext execute(final Marker marker, final Event event, final boolean hasPriority, final Handler<AsyncResult<XyzResponse>> callback) {
     return execute(marker, event, hasPriority, callback, null);
   }
@@ -342,7 +535,7 @@ public class RpcClient {
     event.setConnectorParams(connector.params);
     final byte[] eventBytes = event.toByteArray();
     RpcContext context = new RpcContext().withRequestSize(eventBytes.length);
-    invokeWithRelocation(marker, context, eventBytes, true, false, r -> {
+    invokeWithRelocation(marker, context, eventBytes, true, false, CallClass.BULK, getFairnessKey(event), r -> {
       if (r.failed()) {
         if (r.cause() instanceof HttpException
             && ((HttpException) r.cause()).status.code() >= 400 && ((HttpException) r.cause()).status.code() <= 499) {
@@ -396,8 +589,78 @@ public class RpcClient {
     return response.containsKey("status") && !response.containsKey("type");
   }
 
+  /**
+   * Parses the response. Responses which are larger than {@link Service.Config#RESPONSE_PARSING_OFFLOAD_THRESHOLD} are decompressed and
+   * parsed on the response parsing pool, so that they're not blocking the event loop for other requests. The callback is called on the
+   * context of the caller in any case.
+   * If the queue of the pool is full, the response is parsed on the calling thread.
+   */
+  void parseResponseAsync(final Marker marker, byte[] bytes, boolean expectBinaryResponse,
+      final Handler<AsyncResult<XyzResponse>> callback) {
+    parseResponseAsync(Vertx.currentContext(), marker, bytes, expectBinaryResponse, callback);
+  }
+
+  /**
+   * @param context The Vert.x context of the caller or null, if the caller is not running on a Vert.x thread
+   */
+  private void parseResponseAsync(final Context context, final Marker marker, byte[] bytes, boolean expectBinaryResponse,
+      final Handler<AsyncResult<XyzResponse>> callback) {
+    final int threshold = Service.configuration.RESPONSE_PARSING_OFFLOAD_THRESHOLD;
+    if (context == null || threshold < 0 || bytes == null || bytes.length <= threshold) {
+      parseResponse(context, marker, bytes, expectBinaryResponse, callback);
+      return;
+    }
+
+    try {
+      responseParsingExecutor.execute(() -> {
+        final long parsingStart = Core.currentTimeMillis();
+        try {
+          parseResponse(context, marker, bytes, expectBinaryResponse, r -> context.runOnContext(v -> callback.handle(r)));
+        }
+        finally {
+          responseParsingTime.addValue(Core.currentTimeMillis() - parsingStart);
+        }
+      });
+    }
+    catch (RejectedExecutionException e) {
+      logger.warn(marker, "The response parsing queue is full. Parsing the response of connector \"{}\" ({} bytes) on the calling thread.",
+          getConnector().id, bytes.length);
+      parseResponse(context, marker, bytes, expectBinaryResponse, callback);
+    }
+  }
+
+  /**
+   * @return The pool on which large responses are parsed
+   */
+  static ThreadPoolExecutor getResponseParsingExecutor() {
+    return responseParsingExecutor;
+  }
+
+  /**
+   * @return The amount of responses which are currently waiting to be parsed on the response parsing pool
+   */
+  public static int getResponseParsingQueueDepth() {
+    return responseParsingExecutor.getQueue().size();
+  }
+
+  public static AggregatingMetric getResponseParsingTimeMetric() {
+    return responseParsingTime;
+  }
+
+  private void parseResponse(final Context context, final Marker marker, byte[] bytes, boolean expectBinaryResponse,
+      final Handler<AsyncResult<XyzResponse>> callback) {
+    parseResponse(context, marker, bytes, expectBinaryResponse, expectBinaryResponse, callback);
+  }
+
+  /**
+   * @param context The Vert.x context of the caller, on which a relocated response is downloaded and parsed afterwards
+   * @param decodeBinary Whether to try decoding the bytes as binary response
+   * @param expectBinaryResponse Whether a binary response is expected in general, which is also the case for the content of a
+   *  RelocatedEvent which was returned as JSON
+   */
   @SuppressWarnings({"rawtypes", "UnusedAssignment"})
-  private void parseResponse(final Marker marker, byte[] bytes, boolean expectBinaryResponse, final Handler<AsyncResult<XyzResponse>> callback) {
+  private void parseResponse(final Context context, final Marker marker, byte[] bytes, boolean decodeBinary,
+      boolean expectBinaryResponse, final Handler<AsyncResult<XyzResponse>> callback) {
     String stringResponse = null;
 
     try {
@@ -407,8 +670,8 @@ public class RpcClient {
         bytes = Payload.decompress(bytes);
       checkUncompressedResponseSize(marker, bytes);
 
-      if (expectBinaryResponse) {
-        tryDecodeBinaryResponse(marker, bytes, callback);
+      if (decodeBinary) {
+        tryDecodeBinaryResponse(context, marker, bytes, callback);
         return;
       }
 
@@ -430,13 +693,14 @@ public class RpcClient {
       }
 
       if (payload instanceof RelocatedEvent) {
-        //Unwrap the RelocatedEvent and download the actual content, afterwards call this method again with the unwrapped result
-        processRelocatedEventAsync((RelocatedEvent) payload, ar -> {
+        //Unwrap the RelocatedEvent and download the actual content, afterwards call this method again with the unwrapped result.
+        //The content is parsed on behalf of the caller's context, also if this method is running on the response parsing pool.
+        processRelocatedEventAsync(context, (RelocatedEvent) payload, ar -> {
           if (ar.failed()) {
             callback.handle(Future.failedFuture(ar.cause()));
             return;
           }
-          parseResponse(marker, ar.result(), expectBinaryResponse, callback);
+          parseResponseAsync(context, marker, ar.result(), expectBinaryResponse, callback);
         });
       }
       else {
@@ -476,7 +740,7 @@ public class RpcClient {
    * @param bytes
    * @param callback
    */
-  private void tryDecodeBinaryResponse(Marker marker, byte[] bytes, Handler<AsyncResult<XyzResponse>> callback) {
+  private void tryDecodeBinaryResponse(Context context, Marker marker, byte[] bytes, Handler<AsyncResult<XyzResponse>> callback) {
     BinaryResponse binaryResponse;
     try {
       binaryResponse = BinaryResponse.fromByteArray(bytes);
@@ -489,40 +753,58 @@ public class RpcClient {
        - Relocated responses
        - ...
       */
-      logger.info(marker, "Expected a binary response, but did not get one. Falling back to JSON decoding.");
-      parseResponse(marker, bytes, false, callback);
+      logger.debug(marker, "Expected a binary response, but did not get one. Falling back to JSON decoding.");
+      parseResponse(context, marker, bytes, false, true, callback);
       return;
     }
 
     if (APPLICATION_JSON.equals(binaryResponse.getMimeType())) {
       //In case we got a JSON string encoded within a BinaryResponse, it needs to be un-packed and continued with the JSON-decoding
-      parseResponse(marker, binaryResponse.getBytes(), false, callback);
+      parseResponse(context, marker, binaryResponse.getBytes(), false, callback);
+    }
+    else if (BinaryFeatureCollection.MIME_TYPE.equals(binaryResponse.getMimeType())) {
+      //The features are kept as raw JSON, so they only get parsed if they're actually needed
+      try {
+        FeatureCollection payload = BinaryFeatureCollection.decode(binaryResponse);
+        validateResponsePayload(marker, payload);
+        postProcessResponsePayload(marker, payload);
+        callback.handle(Future.succeededFuture(payload));
+      }
+      catch (HttpException e) {
+        logger.warn(marker, "Error from connector.", e);
+        callback.handle(Future.failedFuture(e));
+      }
+      catch (Exception e) {
+        logger.warn(marker, "Unable to decode the binary feature collection from connector \"{}\".", getConnector().id, e);
+        callback.handle(Future.failedFuture(new HttpException(BAD_GATEWAY, "Invalid content provided by the connector.")));
+      }
     }
     else
       callback.handle(Future.succeededFuture(binaryResponse));
   }
 
-  private void processRelocatedEventAsync(RelocatedEvent relocatedEvent, Handler<AsyncResult<byte[]>> callback) {
-    Service.vertx.executeBlocking(
-        future -> {
-          try {
-            InputStream input = relocationClient.processRelocatedEvent(relocatedEvent, getConnector().getRemoteFunction().getRegion());
-            future.complete(ByteStreams.toByteArray(input));
-          }
-          catch (Exception e) {
-            logger.error("An error occurred when processing a relocated response.", e);
-            future.fail(new HttpException(BAD_GATEWAY, "Unable to load the relocated event.", e));
-          }
-        },
-        ar -> {
-          if (ar.failed()) {
-            callback.handle(Future.failedFuture(ar.cause()));
-          }
-          else {
-            callback.handle(Future.succeededFuture((byte[]) ar.result()));
-          }
-        }
-    );
+  /**
+   * Downloads the content of the relocated event on a worker thread.
+   *
+   * @param context The context on which the callback is called or null, if it may be called on any context
+   */
+  private void processRelocatedEventAsync(Context context, RelocatedEvent relocatedEvent, Handler<AsyncResult<byte[]>> callback) {
+    final Handler<Promise<byte[]>> download = future -> {
+      try {
+        InputStream input = relocationClient.processRelocatedEvent(relocatedEvent, getConnector().getRemoteFunction().getRegion());
+        future.complete(ByteStreams.toByteArray(input));
+      }
+      catch (Exception e) {
+        logger.error("An error occurred when processing a relocated response.", e);
+        future.fail(new HttpException(BAD_GATEWAY, "Unable to load the relocated event.", e));
+      }
+    };
+
+    //The context is used explicitly, as this method may be called from the response parsing pool, which has no context of its own
+    if (context != null)
+      context.executeBlocking(download, callback);
+    else
+      Service.vertx.executeBlocking(download, callback);
   }
 
   /**
@@ -610,6 +892,54 @@ public class RpcClient {
     }
   }
 
+  private static class PendingBatch {
+    private final String key;
+    private final Marker marker;
+    private final List<BatchedCall> calls = new ArrayList<>();
+    private long timerId = -1;
+
+    private PendingBatch(String key, Marker marker) {
+      this.key = key;
+      this.marker = marker;
+    }
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static class BatchedCall {
+    private final Marker marker;
+    private final Event event;
+    private final RpcContext context;
+    private final Handler<AsyncResult<XyzResponse>> callback;
+    private final Context vertxContext = Vertx.currentContext();
+
+    private BatchedCall(Marker marker, Event event, RpcContext context, Handler<AsyncResult<XyzResponse>> callback) {
+      this.marker = marker;
+      this.event = event;
+      this.context = context;
+      this.callback = callback;
+    }
+
+    private void succeed(XyzResponse response) {
+      complete(Future.succeededFuture(response));
+    }
+
+    private void fail(Throwable cause) {
+      complete(Future.failedFuture(cause));
+    }
+
+    /**
+     * Calls the callback on the context of the caller, as the batch could have been sent from another one.
+     */
+    private void complete(AsyncResult<XyzResponse> result) {
+      if (context.cancelled)
+        return;
+      if (vertxContext == null || vertxContext == Vertx.currentContext())
+        callback.handle(result);
+      else
+        vertxContext.runOnContext(v -> callback.handle(result));
+    }
+  }
+
   public static class RpcContext {
     private int requestSize = -1;
     private int responseSize = -1;
@@ -618,7 +948,9 @@ public class RpcClient {
 
     public void cancelRequest() {
       cancelled = true;
-      functionCall.cancel();
+      //Calls which are part of a batch are not cancelled individually
+      if (functionCall != null)
+        functionCall.cancel();
     }
 
     public int getRequestSize() {
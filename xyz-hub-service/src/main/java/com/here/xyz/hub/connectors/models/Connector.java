@@ -250,6 +250,23 @@ public class Connector {
      */
     public boolean extensionSupport;
 
+    /**
+     * Whether the storage connector can respond with feature collections in binary form. See: {@link
+     * com.here.xyz.responses.BinaryFeatureCollection}
+     */
+    public boolean binaryFeatureCollectionSupport;
+
+    /**
+     * Whether the storage connector can process multiple read events within one invocation. See: {@link com.here.xyz.events.BatchEvent}
+     */
+    public boolean batchEventSupport;
+
+    /**
+     * Whether the storage connector checks the existence of upserted features itself, so that simple conditional writes can be sent to it
+     * without loading the existing features first.
+     */
+    public boolean conditionalWriteSupport;
+
     @Override
     public boolean equals(Object o) {
       if (this == o) return true;
@@ -265,7 +282,10 @@ public class Connector {
           && Objects.equals(clusteringTypes, that.clusteringTypes)
           && storageUtilizationReporting == that.storageUtilizationReporting
           && mvtSupport == that.mvtSupport
-          && extensionSupport == that.extensionSupport;
+          && extensionSupport == that.extensionSupport
+          && binaryFeatureCollectionSupport == that.binaryFeatureCollectionSupport
+          && batchEventSupport == that.batchEventSupport
+          && conditionalWriteSupport == that.conditionalWriteSupport;
     }
   }
 
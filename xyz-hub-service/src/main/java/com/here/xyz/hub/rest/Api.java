@@ -32,6 +32,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.vertx.core.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -59,6 +60,9 @@ import com.here.xyz.responses.XyzError;
 import com.here.xyz.responses.XyzResponse;
 import com.here.xyz.responses.changesets.ChangesetCollection;
 import com.here.xyz.responses.changesets.CompactChangeset;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.compression.ZlibWrapper;
 import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpResponseStatus;
@@ -71,6 +75,7 @@ import io.vertx.core.json.Json;
 import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.ext.web.RoutingContext;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
@@ -158,7 +163,7 @@ public abstract class Api {
     }
     //If the ETag didn't change, or we got a NotModifiedResponse from upstream, return "Not Modified"
     if (task.etagMatches() || task instanceof FeatureTask && ((FeatureTask<?, ?>) task).getResponse() instanceof NotModifiedResponse) {
-      sendResponse(task, NOT_MODIFIED, null, null);
+      sendResponse(task, NOT_MODIFIED, null, (Buffer) null);
       return true;
     }
     return false;
@@ -200,9 +205,9 @@ public abstract class Api {
           }
 
           if (response instanceof FeatureCollection) {
-            // Warning: We need to use "toString()" here and NOT Json.encode, because in fact the feature collection may be an
-            // LazyParsedFeatureCollection and in that case only toString will work as intended!
-            sendGeoJsonResponse(task, response.serialize());
+            // Warning: We need to use the XyzSerializable serialization here and NOT Json.encode, because in fact the feature collection
+            // may be an LazyParsedFeatureCollection and in that case only the XyzSerializable serialization will work as intended!
+            sendFeatureCollectionResponse(task, (FeatureCollection) response);
             return;
           }
           break;
@@ -470,6 +475,29 @@ public abstract class Api {
     sendResponse(task, OK, APPLICATION_GEO_JSON, geoJson.getBytes());
   }
 
+  /**
+   * Returns a response to the client with GeoJSON content and status 200.
+   * The feature collection is serialized directly into an UTF-8 encoded buffer without creating intermediate string or byte-array
+   * copies of the whole response. The buffer still holds the whole response, as its size must be known upfront for the response size
+   * limits and headers.
+   *
+   * @param task the task for which to return the GeoJSON response.
+   * @param featureCollection the feature collection to be sent.
+   */
+  private void sendFeatureCollectionResponse(final Task task, final FeatureCollection featureCollection) {
+    final ByteBuf byteBuf = Unpooled.buffer();
+    try {
+      featureCollection.writeTo(new ByteBufOutputStream(byteBuf));
+    }
+    catch (IOException e) {
+      logger.error(task.getMarker(), "The service received an invalid response and is unable to serialize it.", e);
+      sendErrorResponse(task.context, INTERNAL_SERVER_ERROR, XyzError.EXCEPTION,
+          "The service received an invalid response and is unable to serialize it.");
+      return;
+    }
+    sendResponse(task, OK, APPLICATION_GEO_JSON, Buffer.buffer(byteBuf));
+  }
+
   /**
    * Returns a response to the client using the given mimeType as content-type with binary content and status 200.
    *
@@ -488,6 +516,10 @@ public abstract class Api {
   }
 
   private void sendResponse(final Task task, HttpResponseStatus status, String contentType, final byte[] response) {
+    sendResponse(task, status, contentType, response == null ? null : Buffer.buffer(response));
+  }
+
+  private void sendResponse(final Task task, HttpResponseStatus status, String contentType, final Buffer response) {
     HttpServerResponse httpResponse = task.context.response().setStatusCode(status.code());
 
     CacheProfile cacheProfile = task.getCacheProfile();
@@ -499,22 +531,54 @@ public abstract class Api {
       RoutingContext context = task.context;
       // the body is discarded already, but the request size is stored in the access log object
       long requestSize = Context.getAccessLog(context).reqInfo.size;
-      long responseSize = response == null ? 0 : response.length;
+      long responseSize = response == null ? 0 : response.length();
       context.response().putHeader(Service.configuration.DECOMPRESSED_INPUT_SIZE_HEADER_NAME, String.valueOf(requestSize));
       context.response().putHeader(Service.configuration.DECOMPRESSED_OUTPUT_SIZE_HEADER_NAME, String.valueOf(responseSize));
     }
 
-    if (response == null || response.length == 0) {
+    if (response == null || response.length() == 0) {
       if (contentType != null)
         httpResponse.putHeader(CONTENT_TYPE, contentType);
 
       httpResponse.end();
-    } else if (response.length > getMaxResponseLength(task.context)) {
+    } else if (response.length() > getMaxResponseLength(task.context)) {
       sendErrorResponse(task.context, new HttpException(RESPONSE_PAYLOAD_TOO_LARGE, RESPONSE_PAYLOAD_TOO_LARGE_MESSAGE));
     } else {
       httpResponse.putHeader(CONTENT_TYPE, contentType);
-      httpResponse.end(Buffer.buffer(response));
+      final int chunkSize = Service.configuration.RESPONSE_CHUNK_SIZE;
+      if (chunkSize > 0 && response.length() > chunkSize) {
+        //The length is known upfront, so the slices are sent as one body with a Content-Length rather than with the chunked encoding
+        httpResponse.putHeader(CONTENT_LENGTH, String.valueOf(response.length()));
+        writeChunks(httpResponse, response, chunkSize, 0);
+      }
+      else
+        httpResponse.end(response);
+    }
+  }
+
+  /**
+   * Writes the response in slices of the given size, starting at the given offset.
+   * Whenever the write queue of the connection is full, the writing is paused until the queue was drained, so that the data gets only
+   * handed over to the connection as fast as the client is actually able to consume it.
+   * NOTE: The response is already completely held in memory, this only affects how it is transferred and does not reduce the memory
+   * needed per response.
+   */
+  private static void writeChunks(HttpServerResponse httpResponse, Buffer response, int chunkSize, int offset) {
+    if (httpResponse.closed())
+      return;
+
+    while (offset < response.length()) {
+      int end = Math.min(offset + chunkSize, response.length());
+      httpResponse.write(response.slice(offset, end));
+      offset = end;
+
+      if (offset < response.length() && httpResponse.writeQueueFull()) {
+        final int nextOffset = offset;
+        httpResponse.drainHandler(v -> writeChunks(httpResponse, response, chunkSize, nextOffset));
+        return;
+      }
     }
+    httpResponse.end();
   }
 
   protected void sendResponse(RoutingContext context, HttpResponseStatus status, Object o) {
@@ -61,13 +61,17 @@ import com.here.xyz.hub.task.TaskPipeline.Callback;
 import com.here.xyz.hub.util.diff.Patcher.ConflictResolution;
 import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.responses.StatisticsResponse;
 import com.here.xyz.responses.XyzResponse;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.ext.web.RoutingContext;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -101,6 +105,25 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
    */
   private String cacheKey;
 
+  /**
+   * The promise through which this task shares its (serialized) response with concurrent tasks having the same cache key.
+   * Only set if this task is the one which is actually performing the request for that cache key on this service node.
+   */
+  Promise<byte[]> coalescingPromise;
+
+  /**
+   * The refresh of the cache entry which was used for the response of this task. It gets performed in the background after the
+   * response was sent.
+   */
+  FeatureTaskHandler.CacheRefresh cacheRefresh;
+
+  /**
+   * The time at which this task missed the cache and the content version of the space which was known at that time.
+   * Both are stored as metadata of the cache entry which gets written by this task.
+   */
+  long cacheMissTime;
+  long cacheMissContentVersion;
+
   /**
    * The number of bytes the request body is / was having initially.
    */
@@ -155,6 +178,10 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
           .putString(responseType.toString(), Charset.defaultCharset())
           .putLong(space.contentUpdatedAt);
 
+      //Including the latest known content version makes all cache entries of older versions obsolete when the space gets modified
+      if (Service.configuration.VERSION_AWARE_CACHE_KEYS && (space.isEnableHistory() || space.isEnableGlobalVersioning()))
+        hasher.putLong(FeatureTaskHandler.getLatestSeenContentVersion(space));
+
       if (space.getExtension() != null)
         extendedSpaces.forEach(extendedSpace -> hasher.putLong(extendedSpace.getContentUpdatedAt()));
 
@@ -164,6 +191,17 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
     }
   }
 
+  /**
+   * Creates the function which transforms the storage response of a background refresh of this task's cache entry in the same way as
+   * the pipeline of this task transforms its response. The function must not reference this task, as the refresh is performed after the
+   * task was finished.
+   *
+   * @return the transformation or <code>null</code> if this task does not support refreshing its cache entry in the background
+   */
+  Function<XyzResponse, Future<XyzResponse>> createRefreshResponseTransformer() {
+    return null;
+  }
+
   /**
    * The hook which will be called once all pre-processors have been called. The hook will get the pre-processed event as parameter. The
    * hook will *not* be called if no pre-processors have been defined for the space. The hook may be overridden in sub-classes.
@@ -384,6 +422,11 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
       super(event, context, apiResponseTypeType, skipCache);
     }
 
+    @Override
+    Function<XyzResponse, Future<XyzResponse>> createRefreshResponseTransformer() {
+      return Future::succeededFuture;
+    }
+
     @Override
     public TaskPipeline<BBoxQuery> createPipeline() {
       return TaskPipeline.create(this)
@@ -411,6 +454,14 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
       transformationContext = new TransformationContext(event.getX(), event.getY(), event.getLevel(), event.getMargin());
     }
 
+    @Override
+    Function<XyzResponse, Future<XyzResponse>> createRefreshResponseTransformer() {
+      final ApiResponseType responseType = this.responseType;
+      final TransformationContext tc = transformationContext;
+      final String spaceId = space.getId();
+      return response -> FeatureTaskHandler.transformTileResponse(responseType, tc, spaceId, response);
+    }
+
     @Override
     public TaskPipeline<TileQuery> createPipeline() {
       return TaskPipeline.create(this)
@@ -444,6 +495,11 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
       super(event, context, apiResponseTypeType, skipCache);
     }
 
+    @Override
+    Function<XyzResponse, Future<XyzResponse>> createRefreshResponseTransformer() {
+      return Future::succeededFuture;
+    }
+
     public TaskPipeline<IdsQuery> createPipeline() {
       return TaskPipeline.create(this)
           .then(FeatureTaskHandler::validateReadFeaturesParams)
@@ -538,6 +594,16 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
       super(event, context, apiResponseTypeType, skipCache);
     }
 
+    @Override
+    Function<XyzResponse, Future<XyzResponse>> createRefreshResponseTransformer() {
+      final Connector storage = this.storage;
+      return response -> {
+        if (response instanceof StatisticsResponse)
+          FeatureTaskHandler.defineGlobalSearchableField((StatisticsResponse) response, storage);
+        return Future.succeededFuture(response);
+      };
+    }
+
     @Override
     public TaskPipeline<GetStatistics> createPipeline() {
       return TaskPipeline.create(this)
@@ -623,6 +689,10 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
     public Map<Object, Integer> positionById;
     public LoadFeaturesEvent loadFeaturesEvent;
     public boolean hasNonModified;
+    /**
+     * Whether the operation is sent to the storage connector without loading the existing features first.
+     */
+    public boolean singleRoundTrip;
 
     public String author;
 
@@ -652,6 +722,7 @@ public abstract class FeatureTask<T extends Event<?>, X extends FeatureTask<T, ?
           .then(FeatureTaskHandler::checkPreconditions)
           .then(FeatureTaskHandler::prepareModifyFeatureOp)
           .then(FeatureTaskHandler::preprocessConditionalOp)
+          .then(FeatureTaskHandler::checkSingleRoundTrip)
           .then(FeatureTaskHandler::loadObjects)
           .then(FeatureTaskHandler::verifyResourceExists)
           .then(FeatureTaskHandler::updateTags)
@@ -29,6 +29,7 @@ import static com.here.xyz.hub.task.FeatureTask.FeatureKey.BBOX;
 import static com.here.xyz.hub.task.FeatureTask.FeatureKey.ID;
 import static com.here.xyz.hub.task.FeatureTask.FeatureKey.PROPERTIES;
 import static com.here.xyz.hub.task.FeatureTask.FeatureKey.TYPE;
+import static com.here.xyz.hub.util.metrics.base.Metric.MetricUnit.MILLISECONDS;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_GATEWAY;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.CONFLICT;
@@ -58,7 +59,10 @@ import com.here.xyz.events.SelectiveEvent;
 import com.here.xyz.hub.AbstractHttpServerVerticle;
 import com.here.xyz.hub.Core;
 import com.here.xyz.hub.Service;
+import com.here.xyz.hub.auth.FeatureAuthorization;
 import com.here.xyz.hub.auth.JWTPayload;
+import com.here.xyz.hub.cache.CacheEntry;
+import com.here.xyz.hub.cache.RequestCoalescer;
 import com.here.xyz.hub.connectors.RpcClient;
 import com.here.xyz.hub.connectors.RpcClient.RpcContext;
 import com.here.xyz.hub.connectors.models.Connector;
@@ -68,20 +72,24 @@ import com.here.xyz.hub.connectors.models.Space.CacheProfile;
 import com.here.xyz.hub.connectors.models.Space.ConnectorType;
 import com.here.xyz.hub.connectors.models.Space.ResolvableListenerConnectorRef;
 import com.here.xyz.hub.rest.Api;
-import com.here.xyz.hub.rest.Api.Context;
 import com.here.xyz.hub.rest.ApiParam;
 import com.here.xyz.hub.rest.ApiResponseType;
 import com.here.xyz.hub.rest.HttpException;
+import com.here.xyz.hub.rest.admin.messages.RelayedMessage;
 import com.here.xyz.hub.task.FeatureTask.ConditionalOperation;
 import com.here.xyz.hub.task.FeatureTask.ReadQuery;
 import com.here.xyz.hub.task.FeatureTask.TileQuery;
 import com.here.xyz.hub.task.FeatureTask.TileQuery.TransformationContext;
 import com.here.xyz.hub.task.ModifyFeatureOp.FeatureEntry;
 import com.here.xyz.hub.task.ModifyOp.Entry;
+import com.here.xyz.hub.task.ModifyOp.IfExists;
+import com.here.xyz.hub.task.ModifyOp.IfNotExists;
 import com.here.xyz.hub.task.ModifyOp.ModifyOpError;
 import com.here.xyz.hub.task.TaskPipeline.Callback;
+import com.here.xyz.hub.util.ProcessingPool;
 import com.here.xyz.hub.util.geo.MapBoxVectorTileBuilder;
 import com.here.xyz.hub.util.geo.MapBoxVectorTileFlattenedBuilder;
+import com.here.xyz.hub.util.metrics.base.AggregatingMetric;
 import com.here.xyz.models.geojson.WebMercatorTile;
 import com.here.xyz.models.geojson.exceptions.InvalidGeometryException;
 import com.here.xyz.models.geojson.implementation.Feature;
@@ -101,10 +109,12 @@ import com.here.xyz.responses.SuccessResponse;
 import com.here.xyz.responses.XyzResponse;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.Cookie;
 import io.vertx.core.json.DecodeException;
@@ -120,11 +130,13 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import net.jodah.expiringmap.ExpirationPolicy;
 import net.jodah.expiringmap.ExpiringMap;
@@ -163,12 +175,44 @@ public class FeatureTaskHandler {
    */
   private static ConcurrentHashMap<String, Long> latestSeenContentVersions = new ConcurrentHashMap<>();
 
+  /**
+   * The times (epoch millis) of the latest writes to the spaces as they have been performed by this service node. The key is the space ID
+   * and the value is the time at which the latest successful modification of the space's content has been completed.
+   * The time since the write is forwarded to the storage connectors, so that reads which follow a write closely can be served by the
+   * primary data source rather than by a replica which might not have caught up yet.
+   * The entries expire after {@link Service.Config#LATEST_WRITE_TRACKING_TIME}, as older writes are not relevant for that decision anymore.
+   */
+  private static final ExpiringMap<String, Long> latestSeenWriteTimes = ExpiringMap.builder()
+      .maxSize(16 * 1024)
+      .variableExpiration()
+      .expirationPolicy(ExpirationPolicy.CREATED)
+      .build();
+
   /**
    * Contains the amount of all in-flight requests for each storage ID.
    */
   private static ConcurrentHashMap<String, LongAdder> inflightRequestMemory = new ConcurrentHashMap<>();
   private static LongAdder globalInflightRequestMemory = new LongAdder();
 
+  /**
+   * Contains the pending (serialized) responses of all cacheable requests which are currently in-flight on this service node. The key is
+   * the cache key of the request.
+   * Concurrent requests with the same cache key wait for the response of the in-flight request instead of reading the cache and invoking
+   * the storage themselves.
+   */
+  private static RequestCoalescer<byte[]> inflightCacheableRequests;
+  private static LongAdder coalescedRequestCount = new LongAdder();
+
+  /**
+   * Contains the cache keys of all cache entries which are currently being refreshed in the background by this service node.
+   */
+  private static Set<String> pendingCacheRefreshes = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The time it took to encode each MVT response.
+   */
+  private static final AggregatingMetric mvtEncodingTime = new AggregatingMetric("MvtEncodingTime", MILLISECONDS);
+
   /**
    * Sends the event to the connector client and write the response as the responseCollection of the task.
    *
@@ -238,6 +282,7 @@ public class FeatureTaskHandler {
       //Do the actual storage call
       try {
         setAdditionalEventProps(task, task.storage, eventToExecute);
+        eventToExecute.setTimeSinceLatestWrite(getTimeSinceLatestWrite(task.space.getId()));
         final long storageRequestStart = Core.currentTimeMillis();
         responseContext.rpcContext = getRpcClient(task.storage).execute(task.getMarker(), eventToExecute, storageResult -> {
           if (task.getState().isFinal()) return;
@@ -265,6 +310,7 @@ public class FeatureTaskHandler {
             //Send the event's (post-processed) response to potentially registered response-listeners
             notifyListeners(task, eventType, responseToSend);
             if (ModifyFeaturesEvent.class.getSimpleName().equals(eventType)) {
+              setLatestWriteTime(task.space.getId(), Service.configuration.LATEST_WRITE_TRACKING_TIME);
               //Set the latest version as it has been seen on this node, after the modification
               if (responseToSend instanceof FeatureCollection && ((FeatureCollection) responseToSend).getVersion() != null)
                 setLatestSeenContentVersion(task.space, ((FeatureCollection) responseToSend).getVersion());
@@ -361,11 +407,39 @@ public class FeatureTaskHandler {
   public static <T extends FeatureTask> void readCache(T task, Callback<T> callback) {
     if (task.getCacheProfile().serviceTTL > 0) {
       String cacheKey = task.getCacheKey();
+      task.cacheMissTime = Core.currentTimeMillis();
+      task.cacheMissContentVersion = getLatestSeenContentVersion(task.space);
+
+      if (Service.configuration.CACHE_REQUEST_COALESCING && cacheKey != null) {
+        Promise<byte[]> coalescingPromise = getInflightCacheableRequests().tryLead(cacheKey);
+        if (coalescingPromise == null) {
+          //There is already a request with the same cache key in-flight: Wait for its response instead of reading the cache / storage
+          awaitInflightRequest(task, cacheKey, getInflightCacheableRequests().follow(cacheKey), callback);
+          return;
+        }
+        //This task performs the request for all concurrent tasks with the same cache key
+        task.coalescingPromise = coalescingPromise;
+        //Release the waiting tasks in any case, also if this task fails or gets cancelled (e.g. as the client disconnected)
+        task.addFailureHandler(t -> completeInflightRequest((FeatureTask) t, null));
+        task.addCancellingHandler(t -> completeInflightRequest((FeatureTask) t, null));
+      }
 
       //Check the cache
       final long cacheRequestStart = Core.currentTimeMillis();
-      Service.cacheClient.get(cacheKey).onSuccess(cacheResult -> {
-        if (cacheResult == null) {
+      Service.cacheClient.getEntry(cacheKey).onSuccess(cacheEntry -> {
+        final long now = Core.currentTimeMillis();
+        //The space content was modified by this service node after the entry was written
+        final boolean outdated = cacheEntry != null && cacheEntry.getContentVersion() < task.cacheMissContentVersion;
+        final boolean fresh = cacheEntry != null && cacheEntry.isFresh(now);
+        /*
+        Stale or outdated entries are served while they get refreshed in the background. Fresh entries are refreshed early with a
+        probability which increases when getting closer to their expiry.
+         */
+        final CacheRefresh refresh = cacheEntry != null
+            && (outdated || !fresh || cacheEntry.shouldRefreshEarly(now, Service.configuration.CACHE_EARLY_REFRESH_BETA))
+            ? createCacheRefresh(task, cacheKey) : null;
+        //Stale entries can only be served if they can be refreshed
+        if (cacheEntry == null || !fresh && (outdated || refresh == null)) {
           //Cache MISS: Just go on in the task pipeline
           AbstractHttpServerVerticle.addStreamInfo(task.context, "CH",0);
           logger.info(task.getMarker(), "Cache MISS for cache key {}", cacheKey);
@@ -373,10 +447,15 @@ public class FeatureTaskHandler {
         else {
           //Cache HIT: Set the response for the task to the result from the cache so invoke (in the task pipeline) won't have anything to do
           try {
-            task.setResponse(transformCacheValue(cacheResult));
+            task.setResponse(transformCacheValue(cacheEntry.getValue()));
             task.setCacheHit(true);
+            completeInflightRequest(task, cacheEntry.getValue());
             AbstractHttpServerVerticle.addStreamInfo(task.context, "CH", 1);
             logger.info(task.getMarker(), "Cache HIT for cache key {}", cacheKey);
+            if (refresh != null) {
+              task.cacheRefresh = refresh;
+              AbstractHttpServerVerticle.addStreamInfo(task.context, "CR", 1);
+            }
           }
           catch (JsonProcessingException e) {
             //Actually, this should never happen as we're controlling how the data is written to the cache, but you never know ;-)
@@ -394,22 +473,195 @@ public class FeatureTaskHandler {
     }
   }
 
+  private static <T extends FeatureTask> void awaitInflightRequest(T task, String cacheKey, Future<byte[]> inflightRequest,
+      Callback<T> callback) {
+    final long waitStart = Core.currentTimeMillis();
+    inflightRequest.onComplete(ar -> {
+      if (task.getState().isFinal()) return;
+      if (ar.succeeded() && ar.result() != null) {
+        //Coalesced HIT: Take over the response of the in-flight request so invoke (in the task pipeline) won't have anything to do
+        try {
+          task.setResponse(transformCacheValue(ar.result()));
+          task.setCacheHit(true);
+          coalescedRequestCount.increment();
+          AbstractHttpServerVerticle.addStreamInfo(task.context, "CC", 1);
+          logger.info(task.getMarker(), "Coalesced HIT for cache key {}", cacheKey);
+        }
+        catch (JsonProcessingException e) {
+          logger.info(task.getMarker(), "Coalesced MISS (as of JSON parse exception) for cache key {} {}", cacheKey, e);
+        }
+      }
+      else {
+        /*
+        The in-flight request failed, was cancelled, did not finish in time or its response is not cacheable:
+        Just go on in the task pipeline and perform the request
+         */
+        AbstractHttpServerVerticle.addStreamInfo(task.context, "CC", 0);
+        logger.info(task.getMarker(), "Coalesced MISS for cache key {}", cacheKey);
+      }
+      AbstractHttpServerVerticle.addStreamInfo(task.context, "CCTime", Core.currentTimeMillis() - waitStart);
+      callback.call(task);
+    });
+  }
+
+  /**
+   * Shares the (serialized) response of the task with all concurrent tasks which are waiting for the task's request, if the task is
+   * the one which is performing the request for its cache key.
+   *
+   * @param task the FeatureTask instance
+   * @param value the serialized response or <code>null</code> if no response can be shared, so that the waiting tasks perform the request
+   *  themselves
+   */
+  private static void completeInflightRequest(FeatureTask task, byte[] value) {
+    Promise<byte[]> coalescingPromise = task.coalescingPromise;
+    if (coalescingPromise == null) return;
+    task.coalescingPromise = null;
+    getInflightCacheableRequests().complete(task.getCacheKey(), coalescingPromise, value);
+  }
+
+  private static synchronized RequestCoalescer<byte[]> getInflightCacheableRequests() {
+    if (inflightCacheableRequests == null)
+      inflightCacheableRequests = new RequestCoalescer<>(Service.vertx, Service.configuration.CACHE_REQUEST_COALESCING_TIMEOUT);
+    return inflightCacheableRequests;
+  }
+
   public static <T extends FeatureTask> void writeCache(T task, Callback<T> callback) {
-    callback.call(task);
-    //From here everything is done asynchronous
-    final CacheProfile cacheProfile = task.getCacheProfile();
-    //noinspection rawtypes
-    XyzResponse response = task.getResponse();
-    if (cacheProfile.serviceTTL > 0 && response != null && !task.isCacheHit()
-        && !(response instanceof NotModifiedResponse) && !(response instanceof ErrorResponse)) {
-      String cacheKey = task.getCacheKey();
-      if (cacheKey == null) {
-        String npe = "cacheKey is null. Couldn't write cache.";
-        logger.error(task.getMarker(), npe);
-        throw new NullPointerException(npe);
+    try {
+      callback.call(task);
+      //From here everything is done asynchronous
+      if (task.cacheRefresh != null)
+        refreshCacheEntry(task.cacheRefresh);
+      final CacheProfile cacheProfile = task.getCacheProfile();
+      //noinspection rawtypes
+      XyzResponse response = task.getResponse();
+      if (cacheProfile.serviceTTL > 0 && response != null && !task.isCacheHit()
+          && !(response instanceof NotModifiedResponse) && !(response instanceof ErrorResponse)) {
+        String cacheKey = task.getCacheKey();
+        if (cacheKey == null) {
+          String npe = "cacheKey is null. Couldn't write cache.";
+          logger.error(task.getMarker(), npe);
+          throw new NullPointerException(npe);
+        }
+        logger.debug(task.getMarker(), "Writing entry with cache key {} to cache", cacheKey);
+        byte[] cacheValue = transformCacheValue(response);
+        completeInflightRequest(task, cacheValue);
+        Service.cacheClient.setEntry(cacheKey, new CacheEntry(cacheValue, cacheProfile.serviceTTL, Service.configuration.CACHE_STALE_TTL,
+            Core.currentTimeMillis() - task.cacheMissTime, task.cacheMissContentVersion));
       }
-      logger.debug(task.getMarker(), "Writing entry with cache key {} to cache", cacheKey);
-      Service.cacheClient.set(cacheKey, transformCacheValue(response), cacheProfile.serviceTTL);
+    }
+    finally {
+      //Release the waiting tasks in any case (e.g. if the response is not cacheable or could not be serialized)
+      completeInflightRequest(task, null);
+    }
+  }
+
+  /**
+   * Captures everything which is needed to refresh the cache entry of the task in the background.
+   * The refresh is built from a copy of the task's event while the request is still being processed, so that it does not depend on the
+   * request, its routing context or the task anymore once the response was sent.
+   *
+   * @param task the FeatureTask instance which is being served from the cache entry
+   * @param cacheKey the cache key of the entry
+   * @return the refresh or <code>null</code> if the cache entry of the task can't be refreshed in the background
+   */
+  private static <T extends FeatureTask> CacheRefresh createCacheRefresh(T task, String cacheKey) {
+    final Function<XyzResponse, Future<XyzResponse>> responseTransformer = task.createRefreshResponseTransformer();
+    if (responseTransformer == null || !task.storage.active)
+      return null;
+
+    final Event event = task.getEvent();
+    final String eventType = event.getClass().getSimpleName();
+    //The processors of a space are getting notified in the context of a task, so such responses can't be refreshed without a request
+    final Map<String, List<ResolvableListenerConnectorRef>> processors = task.space.getEventTypeConnectorRefsMap(ConnectorType.PROCESSOR);
+    if (processors != null && (processors.containsKey(eventType + ".request") || processors.containsKey(eventType + ".response")))
+      return null;
+
+    try {
+      final Event refreshEvent = event.copy();
+      refreshEvent.setIfNoneMatch(null);
+      setAdditionalEventProps(task, task.storage, refreshEvent);
+      return new CacheRefresh(cacheKey, task.getMarker(), task.space, task.storage, task.getCacheProfile().serviceTTL, refreshEvent,
+          responseTransformer);
+    }
+    catch (Exception e) {
+      logger.warn(task.getMarker(), "Unable to prepare the refresh of the cache entry with cache key {}", cacheKey, e);
+      return null;
+    }
+  }
+
+  /**
+   * Refreshes a cache entry in the background by sending the captured event to the storage connector again and writing the new
+   * response to the cache. Only one refresh per cache key is performed at a time on this service node.
+   *
+   * @param refresh the refresh which was captured when the cache entry was served
+   */
+  private static void refreshCacheEntry(CacheRefresh refresh) {
+    if (!pendingCacheRefreshes.add(refresh.cacheKey))
+      return;
+
+    logger.info(refresh.marker, "Refreshing cache entry with cache key {} in the background", refresh.cacheKey);
+    final long refreshStart = Core.currentTimeMillis();
+    final long contentVersion = getLatestSeenContentVersion(refresh.space);
+    try {
+      refresh.event.setTimeSinceLatestWrite(getTimeSinceLatestWrite(refresh.space.getId()));
+      getRpcClient(refresh.storage).execute(refresh.marker, refresh.event, storageResult -> {
+        if (storageResult.failed()) {
+          onCacheRefreshFailure(refresh, storageResult.cause());
+          return;
+        }
+        final XyzResponse response = storageResult.result();
+        if (response instanceof ErrorResponse || response instanceof NotModifiedResponse) {
+          onCacheRefreshFailure(refresh, Api.responseToHttpException(response));
+          return;
+        }
+        refresh.responseTransformer.apply(response).onComplete(ar -> {
+          if (ar.failed()) {
+            onCacheRefreshFailure(refresh, ar.cause());
+            return;
+          }
+          try {
+            Service.cacheClient.setEntry(refresh.cacheKey, new CacheEntry(transformCacheValue(ar.result()), refresh.serviceTTL,
+                Service.configuration.CACHE_STALE_TTL, Core.currentTimeMillis() - refreshStart, contentVersion));
+          }
+          finally {
+            pendingCacheRefreshes.remove(refresh.cacheKey);
+          }
+        });
+      }, refresh.space);
+    }
+    catch (Exception e) {
+      onCacheRefreshFailure(refresh, e);
+    }
+  }
+
+  private static void onCacheRefreshFailure(CacheRefresh refresh, Throwable t) {
+    pendingCacheRefreshes.remove(refresh.cacheKey);
+    logger.warn(refresh.marker, "Error refreshing cache entry with cache key {}", refresh.cacheKey, t);
+  }
+
+  /**
+   * Everything which is needed to refresh a cache entry in the background.
+   *
+   * @see #createCacheRefresh(FeatureTask, String)
+   */
+  static class CacheRefresh {
+    private final String cacheKey;
+    private final Marker marker;
+    private final Space space;
+    private final Connector storage;
+    private final long serviceTTL;
+    private final Event event;
+    private final Function<XyzResponse, Future<XyzResponse>> responseTransformer;
+
+    private CacheRefresh(String cacheKey, Marker marker, Space space, Connector storage, long serviceTTL, Event event,
+        Function<XyzResponse, Future<XyzResponse>> responseTransformer) {
+      this.cacheKey = cacheKey;
+      this.marker = marker;
+      this.space = space;
+      this.storage = storage;
+      this.serviceTTL = serviceTTL;
+      this.event = event;
+      this.responseTransformer = responseTransformer;
     }
   }
 
@@ -511,10 +763,42 @@ public class FeatureTaskHandler {
     }
   }
 
+  /**
+   * Records a write to the space which has just been completed by this service node.
+   *
+   * @param spaceId The ID of the space
+   * @param trackingTime The time in milliseconds for which the write is tracked
+   */
+  static void setLatestWriteTime(String spaceId, long trackingTime) {
+    if (trackingTime > 0)
+      latestSeenWriteTimes.put(spaceId, Core.currentTimeMillis(), trackingTime, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @param spaceId The ID of the space
+   * @return The time in milliseconds which has passed since the latest tracked write to the space or null, if no such write is known
+   */
+  static Long getTimeSinceLatestWrite(String spaceId) {
+    final Long latestWriteTime = latestSeenWriteTimes.get(spaceId);
+    return latestWriteTime == null ? null : Math.max(0, Core.currentTimeMillis() - latestWriteTime);
+  }
+
+  static int getTrackedWritesCount() {
+    return latestSeenWriteTimes.size();
+  }
+
+  static long getLatestSeenContentVersion(Space space) {
+    return latestSeenContentVersions.getOrDefault(space.getId(), 0L);
+  }
+
   static void setLatestSeenContentVersion(Space space, long version) {
-    if ((space.isEnableHistory() || space.isEnableGlobalVersioning()) && version > 0)
-      latestSeenContentVersions.compute(space.getId(), (spaceId, currentVersion) -> Math.max(currentVersion != null ? currentVersion : 0L,
-          version));
+    if (space.isEnableHistory() || space.isEnableGlobalVersioning())
+      setLatestSeenContentVersion(space.getId(), version);
+  }
+
+  private static void setLatestSeenContentVersion(String spaceId, long version) {
+    if (version > 0)
+      latestSeenContentVersions.compute(spaceId, (id, currentVersion) -> Math.max(currentVersion != null ? currentVersion : 0L, version));
   }
 
   /**
@@ -546,6 +830,9 @@ public class FeatureTaskHandler {
         else {
           //Send the notification to all registered listeners
           notifyConnectors(nc, ConnectorType.LISTENER, ContentModifiedNotification.class.getSimpleName(), cmn, null);
+          //Let the other service nodes know about the new version, so that they stop using cache entries of older versions
+          if (spaceVersion != null && Service.configuration.VERSION_AWARE_CACHE_KEYS)
+            new ContentVersionMessage().withSpaceId(nc.space.getId()).withVersion(spaceVersion).broadcast();
         }
       });
       //Check whether some other thread also just scheduled a new timer
@@ -1040,7 +1327,7 @@ public class FeatureTaskHandler {
    * Parses the body of the request as a FeatureCollection, Feature or a FeatureModificationList object and returns the features as a list.
    */
   private static List<Map<String, Object>> getObjectsAsList(final RoutingContext context) throws HttpException {
-    final Marker logMarker = Context.getMarker(context);
+    final Marker logMarker = Api.Context.getMarker(context);
     try {
       JsonObject json = context.getBodyAsJson();
       return getJsonObjects(json, context);
@@ -1090,7 +1377,7 @@ public class FeatureTaskHandler {
       }
     }
     catch (Exception e) {
-      logger.info(Context.getMarker(context), "Error in the provided content", e);
+      logger.info(Api.Context.getMarker(context), "Error in the provided content", e);
       throw new HttpException(BAD_REQUEST, "Cannot read input JSON string.");
     }
   }
@@ -1153,94 +1440,203 @@ public class FeatureTaskHandler {
     callback.call(task);
   }
 
+  /**
+   * Decides whether the conditional operation can be sent to the storage connector without loading the existing features first.
+   * That is the case for operations which only replace or create features, as long as no other information of the existing states is needed
+   * and the conflict detection against them (if any) can be done by the storage.
+   */
+  static void checkSingleRoundTrip(ConditionalOperation task, Callback<ConditionalOperation> callback) {
+    task.singleRoundTrip = Service.configuration.SINGLE_ROUND_TRIP_WRITES
+        && task.storage.capabilities.conditionalWriteSupport
+        && !task.requireResourceExists
+        && task.space.getVersionsToKeep() <= 1
+        && !task.space.isEnableGlobalVersioning()
+        && !(task.space.isEnableUUID() && task.space.isAllowFeatureCreationWithUUID())
+        && task.space.getExtension() == null
+        && (task.addTags == null || task.addTags.isEmpty())
+        && (task.removeTags == null || task.removeTags.isEmpty())
+        && (task.getJwt().limits == null || task.getJwt().limits.maxFeaturesPerSpace <= 0)
+        && task.modifyOp.entries.stream().allMatch(entry -> isSingleRoundTripEntry(entry, task.space.isEnableUUID()))
+        && FeatureAuthorization.isAuthorizedForSingleRoundTrip(task);
+    callback.call(task);
+  }
+
+  /**
+   * Only replace-or-create entries can be written without knowing the existing state. Create-only entries (ifExists=error) can't,
+   * as the space tables have no unique constraint on the feature ID which would reject the insert of an existing feature.
+   * In spaces with UUIDs each entry has to carry the UUID of the state it replaces. The storage checks it when writing the update, which
+   * fails if the feature doesn't exist, just like the creation of a feature with a UUID does.
+   */
+  static boolean isSingleRoundTripEntry(FeatureEntry entry, boolean enableUUID) {
+    return entry.ifNotExists == IfNotExists.CREATE && entry.ifExists == IfExists.REPLACE
+        && (enableUUID ? entry.inputUUID != null : entry.inputUUID == null) && entry.inputVersion == -1;
+  }
+
   static void processConditionalOp(ConditionalOperation task, Callback<ConditionalOperation> callback) throws Exception {
+    if (!task.singleRoundTrip && task.modifyOp.isProcessedInParallel()) {
+      //Process large batches on a worker thread, as merging many features would block the event loop for too long even in parallel
+      Service.vertx.<Void>executeBlocking(promise -> {
+        try {
+          task.modifyOp.process();
+          promise.complete();
+        }
+        catch (Exception e) {
+          promise.fail(e);
+        }
+      }, false, ar -> {
+        if (task.getState().isFinal()) return;
+        try {
+          if (ar.failed())
+            callback.exception(ar.cause() instanceof ModifyOpError ? toConflict(task, (ModifyOpError) ar.cause()) : ar.cause());
+          else
+            applyProcessedOp(task, callback);
+        }
+        catch (Exception e) {
+          callback.exception(e);
+        }
+      });
+      return;
+    }
+
     try {
+      if (task.singleRoundTrip) {
+        processSingleRoundTripOp(task);
+        callback.call(task);
+        return;
+      }
+
       task.modifyOp.process();
-      final List<Feature> insert = new ArrayList<>();
-      final List<Feature> update = new ArrayList<>();
-      final Map<String, String> delete = new HashMap<>();
-      List<FeatureCollection.ModificationFailure> fails = new ArrayList<>();
-
-      Iterator<FeatureEntry> it = task.modifyOp.entries.iterator();
-      int i=-1;
-      while( it.hasNext() ){
-        FeatureEntry entry = it.next();
-        i++;
-
-        if(entry.exception != null){
-          ModificationFailure failure = new ModificationFailure()
-              .withMessage(entry.exception.getMessage())
-              .withPosition((long) i);
-          if (entry.input.get("id") instanceof String) {
-            failure.setId((String) entry.input.get("id"));
-          }
-          fails.add(failure);
-          continue;
-        }
+    }
+    catch (ModifyOpError e) {
+      throw toConflict(task, e);
+    }
+    applyProcessedOp(task, callback);
+  }
 
-        if (!entry.isModified) {
-          task.hasNonModified = true;
-          /** Entry does not exist - remove it to prevent null references */
-          if(entry.head == null && entry.base == null)
-            it.remove();
-          continue;
+  private static HttpException toConflict(ConditionalOperation task, ModifyOpError e) {
+    logger.info(task.getMarker(), "ConditionalOperationError: {}", e.getMessage(), e);
+    return new HttpException(CONFLICT, e.getMessage());
+  }
+
+  /**
+   * Fills the event with the results of the processed modify operation.
+   */
+  private static void applyProcessedOp(ConditionalOperation task, Callback<ConditionalOperation> callback) throws Exception {
+    final List<Feature> insert = new ArrayList<>();
+    final List<Feature> update = new ArrayList<>();
+    final Map<String, String> delete = new HashMap<>();
+    List<FeatureCollection.ModificationFailure> fails = new ArrayList<>();
+
+    Iterator<FeatureEntry> it = task.modifyOp.entries.iterator();
+    int i=-1;
+    while( it.hasNext() ){
+      FeatureEntry entry = it.next();
+      i++;
+
+      if(entry.exception != null){
+        ModificationFailure failure = new ModificationFailure()
+            .withMessage(entry.exception.getMessage())
+            .withPosition((long) i);
+        if (entry.input.get("id") instanceof String) {
+          failure.setId((String) entry.input.get("id"));
         }
+        fails.add(failure);
+        continue;
+      }
 
-        final Feature result = entry.result;
+      if (!entry.isModified) {
+        task.hasNonModified = true;
+        /** Entry does not exist - remove it to prevent null references */
+        if(entry.head == null && entry.base == null)
+          it.remove();
+        continue;
+      }
 
-        // Insert or update
-        if (result != null) {
+      final Feature result = entry.result;
 
-          try {
-            result.validateGeometry();
-          } catch (InvalidGeometryException e) {
-            logger.info(task.getMarker(), "Invalid geometry found in feature: {}", result, e);
-            throw new HttpException(BAD_REQUEST, e.getMessage() + ". Feature: \n" + Json.encode(entry.input));
-          }
+      // Insert or update
+      if (result != null) {
 
-          boolean isInsert = entry.head == null;
-          processNamespace(task, entry, result.getProperties().getXyzNamespace(), isInsert, i);
-          (isInsert ? insert : update).add(result);
+        try {
+          result.validateGeometry();
+        } catch (InvalidGeometryException e) {
+          logger.info(task.getMarker(), "Invalid geometry found in feature: {}", result, e);
+          throw new HttpException(BAD_REQUEST, e.getMessage() + ". Feature: \n" + Json.encode(entry.input));
         }
 
-        // DELETE
-        else if (entry.head != null) {
-          String state = entry.inputUUID;
+        boolean isInsert = entry.head == null;
+        processNamespace(task, entry, result.getProperties().getXyzNamespace(), isInsert, i);
+        (isInsert ? insert : update).add(result);
+      }
 
-          if (task.getEvent().getVersionsToKeep() > 1) {
-            state = String.valueOf(entry.head.getProperties().getXyzNamespace().getVersion());
-          }
+      // DELETE
+      else if (entry.head != null) {
+        String state = entry.inputUUID;
 
-          delete.put(entry.head.getId(), state);
+        if (task.getEvent().getVersionsToKeep() > 1) {
+          state = String.valueOf(entry.head.getProperties().getXyzNamespace().getVersion());
         }
+
+        delete.put(entry.head.getId(), state);
       }
+    }
 
-      task.getEvent().setInsertFeatures(insert);
-      task.getEvent().setUpdateFeatures(update);
-      task.getEvent().setDeleteFeatures(delete);
-      task.getEvent().setFailed(fails);
-
-      // In case nothing was changed, set the response directly to skip calling the storage connector.
-      if (insert.size() == 0 && update.size() == 0 && delete.size() == 0) {
-        FeatureCollection fc = new FeatureCollection();
-        if( task.hasNonModified ){
-          task.modifyOp.entries.stream().filter(e -> !e.isModified).forEach(e -> {
-            try {
-              if(e.result != null)
-                fc.getFeatures().add(e.result);
-            } catch (JsonProcessingException ignored) {}
-          });
-        }
-        if(fails.size() > 0)
-          fc.setFailed(fails);
-        task.setResponse(fc);
+    task.getEvent().setInsertFeatures(insert);
+    task.getEvent().setUpdateFeatures(update);
+    task.getEvent().setDeleteFeatures(delete);
+    task.getEvent().setFailed(fails);
+
+    // In case nothing was changed, set the response directly to skip calling the storage connector.
+    if (insert.size() == 0 && update.size() == 0 && delete.size() == 0) {
+      FeatureCollection fc = new FeatureCollection();
+      if( task.hasNonModified ){
+        task.modifyOp.entries.stream().filter(e -> !e.isModified).forEach(e -> {
+          try {
+            if(e.result != null)
+              fc.getFeatures().add(e.result);
+          } catch (JsonProcessingException ignored) {}
+        });
       }
+      if(fails.size() > 0)
+        fc.setFailed(fails);
+      task.setResponse(fc);
+    }
 
-      callback.call(task);
-    } catch (ModifyOpError e) {
-      logger.info(task.getMarker(), "ConditionalOperationError: {}", e.getMessage(), e);
-      throw new HttpException(CONFLICT, e.getMessage());
+    callback.call(task);
+  }
+
+  /**
+   * Prepares the event of a conditional operation in the single round-trip mode. As the existing states are not known, the features which
+   * should be replaced or created are sent as upserts. The storage connector decides which of them exist already.
+   */
+  private static void processSingleRoundTripOp(ConditionalOperation task) throws ModifyOpError, HttpException {
+    final List<Feature> upsert = new ArrayList<>();
+
+    for (int i = 0; i < task.modifyOp.entries.size(); i++) {
+      final FeatureEntry entry = task.modifyOp.entries.get(i);
+      final Feature result = entry.create();
+      try {
+        result.validateGeometry();
+      } catch (InvalidGeometryException e) {
+        logger.info(task.getMarker(), "Invalid geometry found in feature: {}", result, e);
+        throw new HttpException(BAD_REQUEST, e.getMessage() + ". Feature: \n" + Json.encode(entry.input));
+      }
+
+      //The connector keeps the creation time of features which exist already
+      processNamespace(task, entry, result.getProperties().getXyzNamespace(), true, i);
+      //The connector only updates the feature if its UUID still matches the one of the input
+      if (task.space.isEnableUUID())
+        result.getProperties().getXyzNamespace().setPuuid(entry.inputUUID);
+      entry.result = result;
+      upsert.add(result);
     }
+
+    task.getEvent().setInsertFeatures(new ArrayList<>());
+    task.getEvent().setUpsertFeatures(upsert);
+    task.getEvent().setFailed(new ArrayList<>());
+
+    if (upsert.isEmpty())
+      task.setResponse(new FeatureCollection());
   }
 
   static void processNamespace(ConditionalOperation task, FeatureEntry entry, XyzNamespace nsXyz, boolean isInsert, long inputPosition) {
@@ -1418,39 +1814,73 @@ public class FeatureTaskHandler {
   }
 
   static void transformResponse(TileQuery task, Callback<TileQuery> callback) {
-    if (task.responseType != MVT
-        && task.responseType != MVT_FLATTENED
-        || !(task.getResponse() instanceof FeatureCollection)
-        //The mvt transformation is not executed, if the source feature collection is the same.
-        || task.etagMatches()) {
+    //The mvt transformation is not executed, if the source feature collection is the same.
+    if (task.etagMatches()) {
       callback.call(task);
       return;
     }
 
-    TransformationContext tc = task.transformationContext;
-    try {
-      byte[] mvt;
-      if (MVT == task.responseType) {
-        mvt = new MapBoxVectorTileBuilder()
-            .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, task.space.getId(),
-                ((FeatureCollection) task.getResponse()).getFeatures());
+    transformTileResponse(task.responseType, task.transformationContext, task.space.getId(), task.getResponse()).onComplete(ar -> {
+      if (task.getState().isFinal()) return;
+      if (ar.failed()) {
+        logger.warn(task.getMarker(), "Exception while transforming the response.", ar.cause());
+        callback.exception(new HttpException(INTERNAL_SERVER_ERROR, "Error while transforming the response."));
+        return;
       }
-      else {
-        mvt = new MapBoxVectorTileFlattenedBuilder()
-            .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, task.space.getId(),
-                ((FeatureCollection) task.getResponse()).getFeatures());
-      }
-      task.setResponse(new BinaryResponse()
-              .withMimeType(APPLICATION_VND_MAPBOX_VECTOR_TILE)
-              .withBytes(mvt)
-              .withEtag(task.getResponse().getEtag()));
+      task.setResponse(ar.result());
       callback.call(task);
-    }
-    catch (Exception e) {
-      logger.warn(task.getMarker(), "Exception while transforming the response.", e);
-      callback.exception(new HttpException(INTERNAL_SERVER_ERROR, "Error while transforming the response."));
-      return;
-    }
+    });
+  }
+
+  /**
+   * Transforms the response of a tile query into the requested response type.
+   *
+   * @return the transformed response or the response itself, if no transformation is necessary
+   */
+  static Future<XyzResponse> transformTileResponse(ApiResponseType responseType, TransformationContext tc, String spaceId,
+      XyzResponse response) {
+    if (responseType != MVT && responseType != MVT_FLATTENED || !(response instanceof FeatureCollection))
+      return Future.succeededFuture(response);
+
+    //Encode the MVT on the processing pool, as the encoding of dense tiles would block the event loop for too long.
+    //The encoding splits the geometries of dense tiles into further tasks on the same pool.
+    final Context context = Vertx.currentContext();
+    final Promise<byte[]> promise = Promise.promise();
+    ProcessingPool.get().execute(() -> {
+      final long encodingStart = Core.currentTimeMillis();
+      AsyncResult<byte[]> result;
+      try {
+        final List<Feature> features = ((FeatureCollection) response).getFeatures();
+        if (MVT == responseType) {
+          result = Future.succeededFuture(new MapBoxVectorTileBuilder()
+              .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, spaceId, features));
+        }
+        else {
+          result = Future.succeededFuture(new MapBoxVectorTileFlattenedBuilder()
+              .build(WebMercatorTile.forWeb(tc.level, tc.x, tc.y), tc.margin, spaceId, features));
+        }
+      }
+      catch (Exception e) {
+        result = Future.failedFuture(e);
+      }
+      finally {
+        mvtEncodingTime.addValue(Core.currentTimeMillis() - encodingStart);
+      }
+      final AsyncResult<byte[]> encodingResult = result;
+      if (context == null)
+        promise.handle(encodingResult);
+      else
+        context.runOnContext(v -> promise.handle(encodingResult));
+    });
+
+    return promise.future().map(bytes -> new BinaryResponse()
+        .withMimeType(APPLICATION_VND_MAPBOX_VECTOR_TILE)
+        .withBytes(bytes)
+        .withEtag(response.getEtag()));
+  }
+
+  public static AggregatingMetric getMvtEncodingTimeMetric() {
+    return mvtEncodingTime;
   }
 
   public static <X extends FeatureTask<?, X>> void validate(X task, Callback<X> callback) {
@@ -1512,7 +1942,7 @@ public class FeatureTaskHandler {
       if (task.getResponse() instanceof StatisticsResponse) {
         //Ensure the StatisticsResponse is correctly set-up
         StatisticsResponse response = (StatisticsResponse) task.getResponse();
-        defineGlobalSearchableField(response, task);
+        defineGlobalSearchableField(response, task.storage);
       }
     } else if (task instanceof FeatureTask.IdsQuery) {
       //Ensure to return a FeatureCollection when there are multiple features in the response (could happen e.g. for a virtual-space)
@@ -1524,8 +1954,8 @@ public class FeatureTaskHandler {
     callback.call(task);
   }
 
-  private static void defineGlobalSearchableField(StatisticsResponse response, FeatureTask task) {
-    if (!task.storage.capabilities.propertySearch) {
+  static void defineGlobalSearchableField(StatisticsResponse response, Connector storage) {
+    if (!storage.capabilities.propertySearch) {
       response.getProperties().setSearchable(Searchable.NONE);
     }
 
@@ -1587,7 +2017,7 @@ public class FeatureTaskHandler {
   }
 
   static void loadObjects(final ConditionalOperation task, final Callback<ConditionalOperation> callback) {
-    final LoadFeaturesEvent event = toLoadFeaturesEvent(task);
+    final LoadFeaturesEvent event = task.singleRoundTrip ? null : toLoadFeaturesEvent(task);
     if (event == null) {
       callback.call(task);
       return;
@@ -1746,6 +2176,54 @@ public class FeatureTaskHandler {
     return globalInflightRequestMemory.sum();
   }
 
+  /**
+   * Returns the number of requests which have been served by the response of a concurrent in-flight request with the same cache key
+   * since the last call of this method.
+   */
+  public static long pollCoalescedRequestCount() {
+    return coalescedRequestCount.sumThenReset();
+  }
+
+  /**
+   * Informs the other service nodes about the latest content version of a space which has been written by the sending node.
+   */
+  public static class ContentVersionMessage extends RelayedMessage {
+
+    private String spaceId;
+    private long version;
+
+    public String getSpaceId() {
+      return spaceId;
+    }
+
+    public void setSpaceId(String spaceId) {
+      this.spaceId = spaceId;
+    }
+
+    public ContentVersionMessage withSpaceId(String spaceId) {
+      this.spaceId = spaceId;
+      return this;
+    }
+
+    public long getVersion() {
+      return version;
+    }
+
+    public void setVersion(long version) {
+      this.version = version;
+    }
+
+    public ContentVersionMessage withVersion(long version) {
+      this.version = version;
+      return this;
+    }
+
+    @Override
+    protected void handleAtDestination() {
+      setLatestSeenContentVersion(spaceId, version);
+    }
+  }
+
   public static class InvalidStorageException extends Exception {
 
     InvalidStorageException(String msg) {
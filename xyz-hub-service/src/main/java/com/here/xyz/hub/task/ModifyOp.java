@@ -27,6 +27,7 @@ import static com.here.xyz.hub.task.ModifyOp.IfExists.RETAIN;
 
 import com.here.xyz.hub.rest.HttpException;
 import com.here.xyz.hub.task.ModifyOp.Entry;
+import com.here.xyz.hub.util.ProcessingPool;
 import com.here.xyz.hub.util.diff.Difference;
 import com.here.xyz.hub.util.diff.Patcher;
 import com.here.xyz.hub.util.diff.Patcher.ConflictResolution;
@@ -38,6 +39,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A modify operation
@@ -59,6 +62,11 @@ public abstract class ModifyOp<T, K extends Entry<T>> {
 
   private static final List<IfExists> UPDATE_OPS = Arrays.asList(PATCH, MERGE, REPLACE);
 
+  /**
+   * The amount of entries up to which the entries are processed by a single thread.
+   */
+  private static final int PARALLEL_THRESHOLD = 256;
+
   public ModifyOp(List<K> entries, boolean isTransactional) {
     this.isTransactional = isTransactional;
     this.entries = entries;
@@ -103,55 +111,33 @@ public abstract class ModifyOp<T, K extends Entry<T>> {
     return getUsedOperations().contains(Operation.WRITE);
   }
 
+  /**
+   * Whether the entries of this operation are processed in parallel, because there are too many of them to be processed by a single
+   * thread.
+   */
+  public boolean isProcessedInParallel() {
+    return entries.size() > PARALLEL_THRESHOLD;
+  }
+
   /**
    * Applies the modifications provided by the input to the source state, both provided with the input, and produces the target state as
    * output.
+   * Large batches of entries are processed in parallel chunks. The outcome is the same as if they would have been processed sequentially:
+   * For transactional operations, the error of the first failing entry (in the order of the entries) is thrown.
    *
    * @throws ModifyOpError when a processing error occurs.
    */
   public void process() throws ModifyOpError, HttpException {
+    if (isProcessedInParallel()) {
+      final ProcessTask processTask = new ProcessTask(0, entries.size(), new AtomicInteger(Integer.MAX_VALUE));
+      ProcessingPool.invoke(processTask);
+      processTask.throwFailure();
+      return;
+    }
+
     for (K entry : entries) {
       try {
-        //IF NOT EXISTS
-        if (entry.head == null) {
-          switch (entry.ifNotExists) {
-            case RETAIN:
-              entry.result = null;
-              break;
-            case CREATE: {
-              validateCreate(entry);
-              entry.result = entry.create();
-              break;
-            }
-            case ERROR:
-              throw new ModifyOpError("The record does not exist.");
-          }
-        }
-        //IF EXISTS
-        else {
-          switch (entry.ifExists) {
-            case RETAIN:
-              entry.result = entry.transform();
-              break;
-            case MERGE:
-              entry.result = entry.merge();
-              break;
-            case PATCH:
-              entry.result = entry.patch();
-              break;
-            case REPLACE:
-              entry.result = entry.replace();
-              break;
-            case DELETE:
-              entry.result = entry.delete();
-              break;
-            case ERROR:
-              throw new ModifyOpError("The record {" + entry.getId(entry.head) + "} exists.");
-          }
-        }
-
-        //Check if the isModified flag is not already set. Compare the objects in case it is not set yet.
-        entry.isModified = entry.isModified || entry.isModified();
+        process(entry);
       }
       catch (ModifyOpError e) {
         if (isTransactional) {
@@ -163,6 +149,118 @@ public abstract class ModifyOp<T, K extends Entry<T>> {
     }
   }
 
+  private void process(K entry) throws ModifyOpError, HttpException {
+    //IF NOT EXISTS
+    if (entry.head == null) {
+      switch (entry.ifNotExists) {
+        case RETAIN:
+          entry.result = null;
+          break;
+        case CREATE: {
+          validateCreate(entry);
+          entry.result = entry.create();
+          break;
+        }
+        case ERROR:
+          throw new ModifyOpError("The record does not exist.");
+      }
+    }
+    //IF EXISTS
+    else {
+      switch (entry.ifExists) {
+        case RETAIN:
+          entry.result = entry.transform();
+          break;
+        case MERGE:
+          entry.result = entry.merge();
+          break;
+        case PATCH:
+          entry.result = entry.patch();
+          break;
+        case REPLACE:
+          entry.result = entry.replace();
+          break;
+        case DELETE:
+          entry.result = entry.delete();
+          break;
+        case ERROR:
+          throw new ModifyOpError("The record {" + entry.getId(entry.head) + "} exists.");
+      }
+    }
+
+    //Check if the isModified flag is not already set. Compare the objects in case it is not set yet.
+    entry.isModified = entry.isModified || entry.isModified();
+  }
+
+  /**
+   * Processes a range of the entries by splitting it recursively into chunks of at most {@link #PARALLEL_THRESHOLD} entries.
+   * Once an entry fails in a way which fails the whole operation, the entries behind it are not processed anymore.
+   */
+  private class ProcessTask extends RecursiveAction {
+
+    private final int from;
+    private final int to;
+    /**
+     * The position of the first entry, which failed the whole operation so far
+     */
+    private final AtomicInteger failurePosition;
+    private int firstFailurePosition = Integer.MAX_VALUE;
+    private Exception firstFailure;
+
+    ProcessTask(int from, int to, AtomicInteger failurePosition) {
+      this.from = from;
+      this.to = to;
+      this.failurePosition = failurePosition;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > PARALLEL_THRESHOLD) {
+        final int middle = (from + to) >>> 1;
+        final ProcessTask left = new ProcessTask(from, middle, failurePosition);
+        final ProcessTask right = new ProcessTask(middle, to, failurePosition);
+        invokeAll(left, right);
+        final ProcessTask failed = left.firstFailure != null ? left : right;
+        firstFailurePosition = failed.firstFailurePosition;
+        firstFailure = failed.firstFailure;
+        return;
+      }
+
+      for (int i = from; i < to && i < failurePosition.get(); i++) {
+        final K entry = entries.get(i);
+        try {
+          process(entry);
+        }
+        catch (ModifyOpError e) {
+          if (isTransactional) {
+            fail(i, e);
+            return;
+          }
+          entry.exception = e;
+        }
+        catch (Exception e) {
+          fail(i, e);
+          return;
+        }
+      }
+    }
+
+    private void fail(int position, Exception e) {
+      firstFailurePosition = position;
+      firstFailure = e;
+      failurePosition.accumulateAndGet(position, Math::min);
+    }
+
+    void throwFailure() throws ModifyOpError, HttpException {
+      if (firstFailure instanceof ModifyOpError)
+        throw (ModifyOpError) firstFailure;
+      if (firstFailure instanceof HttpException)
+        throw (HttpException) firstFailure;
+      if (firstFailure != null)
+        throw (RuntimeException) firstFailure;
+    }
+  }
+
   public enum IfExists {
     RETAIN,
     ERROR,
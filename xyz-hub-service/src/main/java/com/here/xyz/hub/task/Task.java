@@ -111,6 +111,8 @@ public abstract class Task<T extends Event, X extends Task<T, ?>> {
 
   private ConcurrentSet<Consumer<Task<T, X>>> cancellingHandlers = new ConcurrentSet<>();
 
+  private ConcurrentSet<Consumer<Task<T, X>>> failureHandlers = new ConcurrentSet<>();
+
   /**
    * @throws NullPointerException if the given context or responseType are null.
    */
@@ -175,6 +177,7 @@ public abstract class Task<T extends Event, X extends Task<T, ?>> {
               (a, b) -> {
                 if (state.isFinal()) return;
                 state = ERROR;
+                callFailureHandlers();
                 onException.call(a, b);
               }
           )
@@ -254,6 +257,18 @@ public abstract class Task<T extends Event, X extends Task<T, ?>> {
     cancellingHandlers.add(cancellingHandler);
   }
 
+  /**
+   * Adds a handler which gets called once the task's execution has failed.
+   * That can be used to release resources which would otherwise only be released by a later step of the pipeline.
+   * NOTE: The handler is not called when the task gets cancelled, use {@link #addCancellingHandler(Consumer)} for that purpose.
+   *
+   * @param failureHandler the handler to be called
+   */
+  public void addFailureHandler(Consumer<Task<T, X>> failureHandler) {
+    Objects.requireNonNull(failureHandler);
+    failureHandlers.add(failureHandler);
+  }
+
   /**
    * The state can be read to know whether an action should still be performed or may be cancelled.
    * E.g. when the task is in a final state already, it doesn't make sense to send a(nother) response or fail with another exception.
@@ -326,4 +341,15 @@ public abstract class Task<T extends Event, X extends Task<T, ?>> {
   private void callCancellingHandlers() {
     cancellingHandlers.forEach(cH -> cH.accept(this));
   }
+
+  private void callFailureHandlers() {
+    failureHandlers.forEach(fH -> {
+      try {
+        fH.accept(this);
+      }
+      catch (Exception e) {
+        logger.error(getMarker(), "Error calling failure handler of the task.", e);
+      }
+    });
+  }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * A queue with limits on the number of elements and their size, which shares its capacity fairly between the keys of its elements.
+ *
+ * Each key (e.g. a space or a tenant) gets its own sub-queue (flow). The flows are served by a deficit round robin, so that each key gets
+ * a share of the removed elements which is proportional to its weight, no matter how many elements it has enqueued. Optionally, the number
+ * of elements per key which have been removed but not released yet (inflight) can be capped. Elements with the empty key are not
+ * attributed to any key, so their inflight elements are never capped.
+ *
+ * If the limits of the queue are exceeded, the elements are discarded from the flow which occupies the most bytes of the queue.
+ */
+public class FairQueue<E extends ByteSizeAware> implements ByteSizeAware {
+
+  private final Function<E, String> keyFunction;
+  private final Supplier<LimitedQueue<E>> queueFactory;
+  private final ToIntFunction<String> weightFunction;
+  private final int maxInflightPerKey;
+
+  private final Map<String, Flow> flows = new HashMap<>();
+  private final ArrayDeque<Flow> activeFlows = new ArrayDeque<>();
+  private long size;
+  private long byteSize;
+  private long maxSize;
+  private long maxByteSize;
+
+  /**
+   * @param keyFunction Provides the key of an element
+   * @param queueFactory Creates the sub-queue for a key, which defines the order of the elements of that key. The sub-queues must not
+   *  have limits on their own.
+   * @param weightFunction Provides the weight of a key, which must be at least 1
+   * @param maxInflightPerKey The maximum number of inflight elements per (non-empty) key or 0 for no limit
+   */
+  public FairQueue(Function<E, String> keyFunction, Supplier<LimitedQueue<E>> queueFactory, ToIntFunction<String> weightFunction,
+      int maxInflightPerKey) {
+    this.keyFunction = keyFunction;
+    this.queueFactory = queueFactory;
+    this.weightFunction = weightFunction;
+    this.maxInflightPerKey = maxInflightPerKey;
+  }
+
+  /**
+   * Adds an element and optionally returns the elements, which had to be discarded to accommodate the new one.
+   *
+   * @return The elements, which had to be discarded to accommodate the new one.
+   */
+  public synchronized List<E> add(E element) {
+    if (element.getByteSize() > maxByteSize) {
+      return Collections.singletonList(element);
+    }
+
+    final Flow flow = getFlow(keyFunction.apply(element));
+    flow.queue.add(element);
+    size++;
+    byteSize += element.getByteSize();
+    if (!flow.active) {
+      flow.active = true;
+      activeFlows.addLast(flow);
+    }
+
+    return discard();
+  }
+
+  /**
+   * Removes the next element in the round robin and marks it as inflight.
+   * Elements of keys which have reached their maximum number of inflight elements are skipped.
+   *
+   * @return The next element or null if the queue is empty or all keys with queued elements have reached their inflight limit
+   */
+  public synchronized E remove() {
+    int cappedFlows = 0;
+    while (cappedFlows < activeFlows.size()) {
+      final Flow flow = activeFlows.peekFirst();
+      if (isCapped(flow)) {
+        activeFlows.addLast(activeFlows.pollFirst());
+        cappedFlows++;
+        continue;
+      }
+      if (flow.deficit <= 0) {
+        //The flow used up its quantum, so it gets a new one and has to wait for its next turn
+        flow.deficit += Math.max(1, weightFunction.applyAsInt(flow.key));
+        activeFlows.addLast(activeFlows.pollFirst());
+        cappedFlows = 0;
+        continue;
+      }
+
+      final E element = flow.queue.remove();
+      if (element != null) {
+        size--;
+        byteSize -= element.getByteSize();
+        flow.deficit--;
+        flow.inflight++;
+      }
+      if (flow.queue.getSize() == 0)
+        deactivate(flow);
+      if (element != null)
+        return element;
+    }
+    return null;
+  }
+
+  /**
+   * Tries to mark an element as inflight, which is going to be processed without having been enqueued.
+   *
+   * @return false, if the key of the element has reached its maximum number of inflight elements
+   */
+  public synchronized boolean tryAcquire(E element) {
+    final Flow flow = getFlow(keyFunction.apply(element));
+    if (isCapped(flow)) {
+      releaseFlowIfUnused(flow);
+      return false;
+    }
+    flow.inflight++;
+    return true;
+  }
+
+  /**
+   * Marks an inflight element as processed.
+   */
+  public synchronized void release(E element) {
+    final Flow flow = flows.get(keyFunction.apply(element));
+    if (flow != null && flow.inflight > 0) {
+      flow.inflight--;
+      releaseFlowIfUnused(flow);
+    }
+  }
+
+  private boolean isCapped(Flow flow) {
+    return maxInflightPerKey > 0 && !flow.key.isEmpty() && flow.inflight >= maxInflightPerKey;
+  }
+
+  private Flow getFlow(String key) {
+    return flows.computeIfAbsent(key, k -> new Flow(k, queueFactory.get()));
+  }
+
+  private void deactivate(Flow flow) {
+    activeFlows.remove(flow);
+    flow.active = false;
+    flow.deficit = 0;
+    releaseFlowIfUnused(flow);
+  }
+
+  private void releaseFlowIfUnused(Flow flow) {
+    if (!flow.active && flow.inflight == 0)
+      flows.remove(flow.key);
+  }
+
+  private List<E> discard() {
+    List<E> discardedElements = new ArrayList<>();
+
+    while ((byteSize > maxByteSize || size > maxSize) && !activeFlows.isEmpty()) {
+      //Discard from the flow which occupies the most of the queue, so that the overflow does not affect the other keys
+      Flow largest = null;
+      for (Flow flow : activeFlows) {
+        if (largest == null || flow.queue.getByteSize() > largest.queue.getByteSize())
+          largest = flow;
+      }
+      final E discarded = largest.queue.discardOne();
+      if (discarded != null) {
+        size--;
+        byteSize -= discarded.getByteSize();
+        discardedElements.add(discarded);
+      }
+      if (largest.queue.getSize() == 0)
+        deactivate(largest);
+    }
+
+    return discardedElements;
+  }
+
+  public synchronized List<E> setMaxByteSize(long byteSize) {
+    if (byteSize < 0) {
+      throw new IllegalArgumentException("The maximum byte size of a queue can not be negative.");
+    }
+    maxByteSize = byteSize;
+    return discard();
+  }
+
+  public synchronized long getMaxByteSize() {
+    return maxByteSize;
+  }
+
+  public synchronized List<E> setMaxSize(long size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("The maximum size of a queue can not be negative.");
+    }
+    maxSize = size;
+    return discard();
+  }
+
+  public synchronized long getMaxSize() {
+    return maxSize;
+  }
+
+  public synchronized long getSize() {
+    return size;
+  }
+
+  @Override
+  public synchronized long getByteSize() {
+    return byteSize;
+  }
+
+  /**
+   * @return The number of queued elements by key for all keys which have queued elements
+   */
+  public synchronized Map<String, Long> getSizesByKey() {
+    Map<String, Long> sizes = new HashMap<>();
+    for (Flow flow : activeFlows) {
+      sizes.put(flow.key, flow.queue.getSize());
+    }
+    return sizes;
+  }
+
+  private class Flow {
+
+    final String key;
+    final LimitedQueue<E> queue;
+    boolean active;
+    int deficit;
+    int inflight;
+
+    Flow(String key, LimitedQueue<E> queue) {
+      this.key = key;
+      this.queue = queue;
+    }
+  }
+}
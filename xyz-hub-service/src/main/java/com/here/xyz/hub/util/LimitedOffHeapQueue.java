@@ -4,6 +4,7 @@ import com.here.xyz.hub.Core;
 import com.here.xyz.hub.Service;
 import com.here.xyz.hub.cache.OHCacheClient;
 import com.here.xyz.hub.util.LimitedOffHeapQueue.OffHeapBuffer;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ScheduledExecutorService;
@@ -33,6 +34,10 @@ public class LimitedOffHeapQueue<E extends OffHeapBuffer> extends LimitedQueue<E
     super(maxSize, maxByteSize);
   }
 
+  public LimitedOffHeapQueue(long maxSize, long maxByteSize, Comparator<? super E> order) {
+    super(maxSize, maxByteSize, order);
+  }
+
   @Override
   public List<E> add(OffHeapBuffer element) {
     moveOffHeap(element);
@@ -42,6 +47,14 @@ public class LimitedOffHeapQueue<E extends OffHeapBuffer> extends LimitedQueue<E
     return discarded;
   }
 
+  @Override
+  public E discardOne() {
+    E discarded = super.discardOne();
+    if (discarded != null)
+      discardOHElement(discarded);
+    return discarded;
+  }
+
   private void moveOffHeap(OffHeapBuffer element) {
     element.stash();
   }
@@ -21,22 +21,43 @@ package com.here.xyz.hub.util;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A queue with limits on the number of elements and the their size.
+ *
+ * By default, the queue is a FIFO queue which discards its oldest elements if the limits are exceeded.
+ * If an order is provided, the head of the queue is always the first element in that order and the last elements in that order are
+ * discarded if the limits are exceeded.
  */
 public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
 
   public LimitedQueue(long maxSize, long maxByteSize) {
+    this(maxSize, maxByteSize, null);
+  }
+
+  /**
+   * @param order The order of the elements, which must be consistent with equals. If null, the elements are kept in insertion order.
+   */
+  public LimitedQueue(long maxSize, long maxByteSize, Comparator<? super E> order) {
     this.maxSize = maxSize;
     this.maxByteSize = maxByteSize;
+    _queue = order == null ? new ConcurrentLinkedQueue<>() : null;
+    _orderedQueue = order == null ? null : new ConcurrentSkipListSet<>(order);
   }
 
-  private final ConcurrentLinkedQueue<E> _queue = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<E> _queue;
+  private final ConcurrentSkipListSet<E> _orderedQueue;
   private final LongAdder byteSize = new LongAdder();
+  /**
+   * The number of elements. It's counted separately, as determining the size of the underlying concurrent collections is not a
+   * constant-time operation.
+   */
+  private final LongAdder size = new LongAdder();
   private long maxByteSize;
   private long maxSize;
 
@@ -53,9 +74,14 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
 
     // Add the element and update the size
     byteSize.add(element.getByteSize());
+    size.increment();
     // Note: When a context switch happens exactly at this point, then we have a disconnection between the
     //       added element and the byte size!
-    _queue.add(element);
+    if (_orderedQueue != null ? !_orderedQueue.add(element) : !_queue.add(element)) {
+      //The element is in the queue already
+      byteSize.add(-element.getByteSize());
+      size.decrement();
+    }
 
     return discard();
   }
@@ -66,22 +92,36 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
    * @return The head of the queue or null if the queue is empty
    */
   public E remove() {
-    E removed = _queue.poll();
+    return removed(_orderedQueue != null ? _orderedQueue.pollFirst() : _queue.poll());
+  }
+
+  private E removed(E removed) {
     if (removed != null) {
       byteSize.add(-removed.getByteSize());
+      size.decrement();
     }
     return removed;
   }
 
+  /**
+   * Discards the element which is the first one to be discarded if the limits of the queue are exceeded.
+   *
+   * @return The discarded element or null if the queue is empty
+   */
+  public E discardOne() {
+    return _orderedQueue != null ? removed(_orderedQueue.pollLast()) : remove();
+  }
+
   private List<E> discard() {
     List<E> discardedElements = new ArrayList<>();
 
     // Check if older elements need to be discarded to make space for the new one.
-    while (byteSize.longValue() > maxByteSize || _queue.size() > maxSize) {
-      E discarded = remove();
-      if (discarded != null) {
-        discardedElements.add(discarded);
-      }
+    while (byteSize.longValue() > maxByteSize || getSize() > maxSize) {
+      E discarded = discardOne();
+      //The sizes may be ahead of the elements, while another thread is adding one
+      if (discarded == null)
+        break;
+      discardedElements.add(discarded);
     }
 
     return discardedElements;
@@ -111,8 +151,12 @@ public class LimitedQueue<E extends ByteSizeAware> implements ByteSizeAware {
     return maxSize;
   }
 
+  /**
+   * Returns the number of elements in the queue. Like the byte size, the value can be slightly off while elements are being added or
+   * removed concurrently.
+   */
   public long getSize() {
-    return _queue.size();
+    return size.longValue();
   }
 
   /**
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The pool on which CPU intensive work of requests is split into smaller tasks and processed in parallel, e.g. the processing of large
+ * feature modifications or the encoding of vector tiles.
+ * All such work shares this pool, so that the amount of threads competing for the CPU cores is limited to the amount of cores.
+ */
+public class ProcessingPool {
+
+  private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  public static ForkJoinPool get() {
+    return pool;
+  }
+
+  /**
+   * Executes the task on the processing pool and waits for its completion.
+   * When called from a thread of the processing pool, the task is forked within the current thread's pool instead of being submitted
+   * again, so that nested parallel work does not block a further thread of the pool.
+   */
+  public static <T> T invoke(ForkJoinTask<T> task) {
+    if (ForkJoinTask.getPool() == pool)
+      return task.invoke();
+    return pool.invoke(task);
+  }
+}
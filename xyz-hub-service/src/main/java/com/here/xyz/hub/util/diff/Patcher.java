@@ -24,7 +24,11 @@ import com.here.xyz.hub.util.diff.Difference.DiffMap;
 import com.here.xyz.hub.util.diff.Difference.Insert;
 import com.here.xyz.hub.util.diff.Difference.Remove;
 import com.here.xyz.hub.util.diff.Difference.Update;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.coordinates.PositionList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,6 +47,12 @@ public class Patcher {
    */
   private static final HashMap<Object, Object> EMPTY_IGNORE_KEYS = new HashMap<>();
 
+  /**
+   * The keys of the coordinates and the type of a GeoJSON geometry.
+   */
+  private static final String COORDINATES = "coordinates";
+  private static final String TYPE = "type";
+
   /**
    * Returns the difference of the two entities or null, if both entities are equal.
    *
@@ -90,6 +100,9 @@ public class Patcher {
 
     // if both objects are lists, return an array difference
     if (sourceState instanceof List && targetState instanceof List) {
+      if (sourceState instanceof PositionList || targetState instanceof PositionList) {
+        return getCoordinatesDifference((List) sourceState, (List) targetState);
+      }
       return getListDifference((List) sourceState, (List) targetState, ignoreKeys);
     }
 
@@ -127,7 +140,8 @@ public class Patcher {
    */
   private static DiffMap getMapDifference(final Map sourceState, final Map targetState, Map<Object, Object> ignoreKeys)
       throws NullPointerException {
-    final DiffMap diff = new DiffMap();
+    // The difference is only created once the first difference was found, so that comparing equal maps does not allocate anything
+    DiffMap diff = null;
     if (ignoreKeys == null) {
       ignoreKeys = EMPTY_IGNORE_KEYS;
     }
@@ -140,13 +154,17 @@ public class Patcher {
         continue;
       }
 
-      if (!targetState.containsKey(key)) {
-        diff.put(key, new Remove(sourceState.get(key)));
-      } else {
-        Difference tDiff = getDifference(sourceState.get(key), targetState.get(key), ignoreKeys);
-        if (tDiff != null) {
-          diff.put(key, tDiff);
+      final Object sourceValue = sourceState.get(key);
+      final Object targetValue = targetState.get(key);
+      final Difference tDiff = !targetState.containsKey(key) ? new Remove(sourceValue)
+          : COORDINATES.equals(key) && targetState.containsKey(TYPE) && sourceValue instanceof List && targetValue instanceof List
+              ? getCoordinatesDifference((List) sourceValue, (List) targetValue)
+              : getDifference(sourceValue, targetValue, ignoreKeys);
+      if (tDiff != null) {
+        if (diff == null) {
+          diff = new DiffMap();
         }
+        diff.put(key, tDiff);
       }
     }
 
@@ -155,13 +173,12 @@ public class Patcher {
         continue;
       }
 
+      if (diff == null) {
+        diff = new DiffMap();
+      }
       diff.put(key, new Insert(targetState.get(key)));
     }
 
-    if (diff.size() == 0) {
-      return null;
-    }
-
     return diff;
   }
 
@@ -180,44 +197,236 @@ public class Patcher {
         targetLength = targetList.size(),
         minLen = Math.min(sourceLength, targetLength),
         maxLen = Math.max(sourceLength, targetLength), i;
+
+    // Skip the equal items at the beginning of both lists (e.g. the unchanged coordinates of a geometry) without allocating anything.
+    Difference firstDiff = null;
+    for (i = 0; i < minLen; i++) {
+      final Object sourceItem = sourceList.get(i);
+      final Object targetItem = targetList.get(i);
+      if (sourceItem != targetItem && (firstDiff = getDifference(sourceItem, targetItem, ignoreKeys)) != null) {
+        break;
+      }
+    }
+
+    // If all items are equal and both lists have the same length, there is no change.
+    if (i == minLen && sourceLength == targetLength) {
+      return null;
+    }
+
     final DiffList listDiff = new DiffList(maxLen);
     listDiff.originalLength = sourceLength;
     listDiff.newLength = targetLength;
+    listDiff.addAll(Collections.nCopies(i, null));
 
-    boolean isModified = false;
-
-    // The items that we will find in both lists.
-    for (i = 0; i < minLen; i++) {
-      final Difference diff = getDifference(sourceList.get(i), targetList.get(i), ignoreKeys);
-      if (diff != null) {
-        isModified = true;
+    // The remaining items that we will find in both lists.
+    if (i < minLen) {
+      listDiff.add(firstDiff);
+      for (i++; i < minLen; i++) {
+        listDiff.add(getDifference(sourceList.get(i), targetList.get(i), ignoreKeys));
       }
-      listDiff.add(diff);
     }
 
     // If the source (original) list was longer than the target one.
     if (sourceLength > targetLength) {
-      isModified = true;
       for (; i < maxLen; i++) {
         listDiff.add(new Remove(sourceList.get(i)));
       }
     }
     // If the target (new) list is longer than the source (original) one.
     else if (targetLength > sourceLength) {
-      isModified = true;
       for (; i < maxLen; i++) {
         listDiff.add(new Insert(targetList.get(i)));
       }
     }
 
-    // If nothing changed, so we have an array full of null, there is no change.
-    if (!isModified) {
-      return null;
+    return listDiff;
+  }
+
+  /**
+   * Returns the difference of the coordinates of two geometries. The coordinates are compared position by position with their unboxed
+   * values, rather than creating a difference for every value. A changed position is reported as an {@link Update} of the whole position.
+   * The values of {@link PositionList position lists} are read with the primitive accessors, so that no positions are created for the
+   * equal ones.
+   *
+   * @param sourceCoordinates the coordinates of the source state, e.g. a position, a list of positions or a list of such lists.
+   * @param targetCoordinates the coordinates of the target state.
+   * @return either null if both coordinates are equal or the difference between them.
+   */
+  private static Difference getCoordinatesDifference(final List sourceCoordinates, final List targetCoordinates) {
+    if (isPosition(sourceCoordinates) || isPosition(targetCoordinates)) {
+      return positionEquals(sourceCoordinates, targetCoordinates) ? null : new Update(sourceCoordinates, targetCoordinates);
+    }
+
+    final int sourceLength = sourceCoordinates.size();
+    final int targetLength = targetCoordinates.size();
+    final int minLen = Math.min(sourceLength, targetLength);
+    final boolean positions = sourceCoordinates instanceof PositionList || targetCoordinates instanceof PositionList;
+
+    DiffList listDiff = null;
+    for (int i = 0; i < minLen; i++) {
+      final Difference diff;
+      if (positions) {
+        diff = positionEquals(sourceCoordinates, targetCoordinates, i) ? null
+            : new Update(positionAt(sourceCoordinates, i), positionAt(targetCoordinates, i));
+      }
+      else {
+        final Object sourceItem = sourceCoordinates.get(i);
+        final Object targetItem = targetCoordinates.get(i);
+        diff = sourceItem instanceof List && targetItem instanceof List
+            ? getCoordinatesDifference((List) sourceItem, (List) targetItem) : getDifference(sourceItem, targetItem);
+      }
+
+      if (diff != null && listDiff == null) {
+        listDiff = new DiffList(Math.max(sourceLength, targetLength));
+        listDiff.addAll(Collections.nCopies(i, null));
+      }
+      if (listDiff != null) {
+        listDiff.add(diff);
+      }
+    }
+
+    if (listDiff == null) {
+      if (sourceLength == targetLength) {
+        return null;
+      }
+      listDiff = new DiffList(Math.max(sourceLength, targetLength));
+      listDiff.addAll(Collections.nCopies(minLen, null));
+    }
+    listDiff.originalLength = sourceLength;
+    listDiff.newLength = targetLength;
+
+    for (int i = minLen; i < sourceLength; i++) {
+      listDiff.add(new Remove(positionAt(sourceCoordinates, i)));
+    }
+    for (int i = minLen; i < targetLength; i++) {
+      listDiff.add(new Insert(positionAt(targetCoordinates, i)));
     }
 
     return listDiff;
   }
 
+  /**
+   * A position is a list of numbers, while all other coordinates are lists of lists.
+   */
+  private static boolean isPosition(List coordinates) {
+    return coordinates instanceof Position || !coordinates.isEmpty() && coordinates.get(0) instanceof Number;
+  }
+
+  private static boolean positionEquals(List source, List target) {
+    if (source.size() != target.size()) {
+      return false;
+    }
+    for (int i = 0; i < source.size(); i++) {
+      final Object sourceValue = source.get(i);
+      final Object targetValue = target.get(i);
+      if (sourceValue instanceof Number && targetValue instanceof Number
+          ? ((Number) sourceValue).doubleValue() != ((Number) targetValue).doubleValue() : !Objects.equals(sourceValue, targetValue)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compares the positions at the given index of two lists of positions, of which at least one is a {@link PositionList}.
+   */
+  private static boolean positionEquals(List source, List target, int index) {
+    final int dimension = getDimension(source, index);
+    if (dimension < 0 || dimension != getDimension(target, index)) {
+      return false;
+    }
+    for (int i = 0; i < dimension; i++) {
+      if (getValue(source, index, i) != getValue(target, index, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the amount of values of the position at the given index or -1, if it is no list of numbers.
+   */
+  private static int getDimension(List positions, int index) {
+    if (positions instanceof PositionList) {
+      return ((PositionList) positions).getDimension(index);
+    }
+    final Object position = positions.get(index);
+    if (!(position instanceof List)) {
+      return -1;
+    }
+    for (Object value : (List) position) {
+      if (!(value instanceof Number)) {
+        return -1;
+      }
+    }
+    return ((List) position).size();
+  }
+
+  private static double getValue(List positions, int index, int i) {
+    if (positions instanceof PositionList) {
+      final PositionList positionList = (PositionList) positions;
+      switch (i) {
+        case 0:
+          return positionList.getLongitude(index);
+        case 1:
+          return positionList.getLatitude(index);
+        case 2:
+          return positionList.getAltitude(index);
+        default:
+          return positionList.get(index).get(i);
+      }
+    }
+    return ((Number) ((List) positions.get(index)).get(i)).doubleValue();
+  }
+
+  /**
+   * Returns the position at the given index. The positions of a {@link PositionList} are views, which change together with the list, so
+   * a copy of them is returned.
+   */
+  private static Object positionAt(List positions, int index) {
+    if (positions instanceof PositionList) {
+      final Position position = new Position();
+      position.addAll(((PositionList) positions).get(index));
+      return position;
+    }
+    return positions.get(index);
+  }
+
+  /**
+   * Returns the difference of the two maps as a JSON Merge Patch (RFC 7396), which turns the source state into the target state when
+   * it gets applied to it. Removed members are set to null in the patch. Lists are always contained completely, as a merge patch can't
+   * describe the changes within an array. Note that a member which has a null value in the target state can't be expressed by a merge
+   * patch, it is reported as being removed.
+   *
+   * @param sourceState the source state.
+   * @param targetState the target state.
+   * @return either null if both states are equal or the merge patch.
+   */
+  public static Map<String, Object> getMergePatch(final Map<String, Object> sourceState, final Map<String, Object> targetState) {
+    return toMergePatch(getMapDifference(sourceState, targetState, EMPTY_IGNORE_KEYS), targetState);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> toMergePatch(final DiffMap diff, final Map<String, Object> targetState) {
+    if (diff == null) {
+      return null;
+    }
+
+    final Map<String, Object> mergePatch = new LinkedHashMap<>();
+    for (Map.Entry<Object, Difference> entry : diff.entrySet()) {
+      final String key = (String) entry.getKey();
+      final Difference memberDiff = entry.getValue();
+      if (memberDiff instanceof Remove) {
+        mergePatch.put(key, null);
+      } else if (memberDiff instanceof DiffMap) {
+        mergePatch.put(key, toMergePatch((DiffMap) memberDiff, (Map<String, Object>) targetState.get(key)));
+      } else {
+        mergePatch.put(key, targetState.get(key));
+      }
+    }
+    return mergePatch;
+  }
+
   /**
    * Merge two differences, both differences must be of the same type.
    *
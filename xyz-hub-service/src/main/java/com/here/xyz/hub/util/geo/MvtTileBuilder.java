@@ -20,9 +20,7 @@
 package com.here.xyz.hub.util.geo;
 
 
-import static com.here.xyz.hub.util.geo.GeoTools.WEB_MERCATOR_EPSG;
-import static com.here.xyz.hub.util.geo.GeoTools.WGS84_EPSG;
-
+import com.here.xyz.hub.util.ProcessingPool;
 import com.here.xyz.models.geojson.WebMercatorTile;
 import com.here.xyz.models.geojson.coordinates.BBox;
 import com.here.xyz.models.geojson.implementation.Feature;
@@ -40,16 +38,18 @@ import com.wdtinc.mapbox_vector_tile.build.MvtLayerBuild;
 import com.wdtinc.mapbox_vector_tile.build.MvtLayerParams;
 import com.wdtinc.mapbox_vector_tile.build.MvtLayerProps;
 import java.util.List;
-import org.geotools.geometry.jts.JTS;
-import org.opengis.geometry.MismatchedDimensionException;
-import org.opengis.referencing.operation.MathTransform;
-import org.opengis.referencing.operation.TransformException;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * A helper class to build a pixel based MapBox Vector Tiles.
  */
 public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFilter {
 
+  /**
+   * The amount of features up to which the geometries are processed by a single thread.
+   */
+  private static final int PARALLEL_THRESHOLD = 256;
+
   private Feature feature;
   protected MvtLayerProps layerProps;
   protected VectorTile.Tile.Feature.Builder featureBuilder;
@@ -62,11 +62,22 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
 
   /**
    * Create a new tile with only one layer that contains the given features.
+   * The geometries of the features are transformed and clipped in parallel, while the features are added to the layer in the order of
+   * the given feature list, so that the resulting tile is deterministic.
    */
   public byte[] build(WebMercatorTile wmTile, int margin, String layerName, List<Feature> featureList) throws Exception {
+    return build(wmTile, margin, layerName, featureList, PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Create a new tile with only one layer that contains the given features, whereby ranges of up to the given amount of features are
+   * processed by a single thread.
+   */
+  byte[] build(WebMercatorTile wmTile, int margin, String layerName, List<Feature> featureList, int parallelThreshold)
+      throws Exception {
 
-    final MathTransform mathTransform = GeoTools.mathTransform(WGS84_EPSG, WEB_MERCATOR_EPSG);
     final GeometryFactory geomFactory = new GeometryFactory(new PrecisionModel());
+    final WebMercatorProjector projector = new WebMercatorProjector(geomFactory);
 
     Envelope tileEnvelope = new Envelope(wmTile.left, wmTile.right, wmTile.bottom, wmTile.top);
     Envelope clipEnvelope = new Envelope(tileEnvelope);
@@ -80,41 +91,22 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
 
     // Add all features with their geometry and properties.
     if (featureList != null) {
-      for (int f = 0; f < featureList.size(); f++) {
-        final Feature feature = featureList.get(f);
-        if (feature == null) {
-          continue;
-        }
-
-        final Geometry featureGeometry = feature.getGeometry();
-        if (featureGeometry == null) {
-          continue;
-        }
-        final com.vividsolutions.jts.geom.Geometry wgs84Geometry = featureGeometry.getJTSGeometry();
-        if (wgs84Geometry == null) {
-          continue;
-        }
-
-        com.vividsolutions.jts.geom.Geometry targetGeometry;
-        try {
-          targetGeometry = JTS.transform(wgs84Geometry, mathTransform);
-        } catch (MismatchedDimensionException | TransformException e) {
-          onTransformException(e);
-          continue;
-        }
+      final TileGeomResult[] tileGeoms = new TileGeomResult[featureList.size()];
+      final TileGeomTask tileGeomTask = new TileGeomTask(featureList, tileGeoms, 0, tileGeoms.length, parallelThreshold, projector,
+          tileEnvelope, clipEnvelope, geomFactory, layerParams);
+      if (tileGeoms.length > parallelThreshold)
+        ProcessingPool.invoke(tileGeomTask);
+      else
+        tileGeomTask.compute();
+      if (tileGeomTask.exception != null)
+        throw tileGeomTask.exception;
 
-        try {
-          targetGeometry = GeoTools.validate(targetGeometry);
-          if (targetGeometry == null) {
-            continue;
-          }
-        } catch (Exception e) {
+      // The properties have to be added sequentially, as the keys and values are indexed in the order of their occurrence.
+      for (int f = 0; f < tileGeoms.length; f++) {
+        if (tileGeoms[f] == null) {
           continue;
         }
-
-        final TileGeomResult tileGeom = JtsAdapter
-            .createTileGeom(JtsAdapter.flatFeatureList(targetGeometry), tileEnvelope, clipEnvelope, geomFactory, layerParams, this);
-        final List<Tile.Feature> features = JtsAdapter.toFeatures(tileGeom.mvtGeoms, layerProperties, process(feature));
+        final List<Tile.Feature> features = JtsAdapter.toFeatures(tileGeoms[f].mvtGeoms, layerProperties, process(featureList.get(f)));
         for (int j = 0; j < features.size(); j++) {
           layerBuilder.addFeatures(features.get(j));
         }
@@ -128,6 +120,104 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
     return tile.toByteArray();
   }
 
+  /**
+   * Transforms, validates and clips the geometry of a feature.
+   *
+   * @return The geometry in tile coordinates or null, if the feature has no (valid) geometry
+   */
+  private TileGeomResult createTileGeom(Feature feature, WebMercatorProjector projector, Envelope tileEnvelope, Envelope clipEnvelope,
+      GeometryFactory geomFactory, MvtLayerParams layerParams) throws Exception {
+    if (feature == null) {
+      return null;
+    }
+
+    final Geometry featureGeometry = feature.getGeometry();
+    if (featureGeometry == null) {
+      return null;
+    }
+
+    com.vividsolutions.jts.geom.Geometry targetGeometry;
+    try {
+      targetGeometry = projector.project(featureGeometry);
+      if (targetGeometry == null) {
+        return null;
+      }
+    } catch (RuntimeException e) {
+      onTransformException(e);
+      return null;
+    }
+
+    try {
+      targetGeometry = GeoTools.validate(targetGeometry);
+      if (targetGeometry == null) {
+        return null;
+      }
+    } catch (Exception e) {
+      return null;
+    }
+
+    return JtsAdapter
+        .createTileGeom(JtsAdapter.flatFeatureList(targetGeometry), tileEnvelope, clipEnvelope, geomFactory, layerParams, this);
+  }
+
+  /**
+   * Creates the tile geometries for a range of features by recursively splitting the range.
+   */
+  private class TileGeomTask extends RecursiveAction {
+
+    private final List<Feature> featureList;
+    private final TileGeomResult[] tileGeoms;
+    private final int from;
+    private final int to;
+    private final int parallelThreshold;
+    private final WebMercatorProjector projector;
+    private final Envelope tileEnvelope;
+    private final Envelope clipEnvelope;
+    private final GeometryFactory geomFactory;
+    private final MvtLayerParams layerParams;
+    private Exception exception;
+
+    TileGeomTask(List<Feature> featureList, TileGeomResult[] tileGeoms, int from, int to, int parallelThreshold,
+        WebMercatorProjector projector, Envelope tileEnvelope, Envelope clipEnvelope, GeometryFactory geomFactory,
+        MvtLayerParams layerParams) {
+      this.featureList = featureList;
+      this.tileGeoms = tileGeoms;
+      this.from = from;
+      this.to = to;
+      this.parallelThreshold = parallelThreshold;
+      this.projector = projector;
+      this.tileEnvelope = tileEnvelope;
+      this.clipEnvelope = clipEnvelope;
+      this.geomFactory = geomFactory;
+      this.layerParams = layerParams;
+    }
+
+    private TileGeomTask subTask(int from, int to) {
+      return new TileGeomTask(featureList, tileGeoms, from, to, parallelThreshold, projector, tileEnvelope, clipEnvelope, geomFactory,
+          layerParams);
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > parallelThreshold) {
+        final int middle = (from + to) >>> 1;
+        final TileGeomTask left = subTask(from, middle);
+        final TileGeomTask right = subTask(middle, to);
+        invokeAll(left, right);
+        exception = left.exception != null ? left.exception : right.exception;
+        return;
+      }
+
+      try {
+        for (int f = from; f < to; f++) {
+          tileGeoms[f] = createTileGeom(featureList.get(f), projector, tileEnvelope, clipEnvelope, geomFactory, layerParams);
+        }
+      }
+      catch (Exception e) {
+        exception = e;
+      }
+    }
+  }
 
   private MvtTileBuilder process(final Feature feature) {
     this.feature = feature;
@@ -135,8 +225,8 @@ public abstract class MvtTileBuilder implements IUserDataConverter, IGeometryFil
   }
 
   /**
-   * Exception handler to be called when an exception is raised while features are transformed from WGS'84 coordinates to the desired target
-   * coordinate reference system. By default this method will simply throw the exception again, but when the exception should be ignore and
+   * Exception handler to be called when an exception is raised while features are projected from WGS'84 coordinates to web mercator
+   * coordinates. By default this method will simply throw the exception again, but when the exception should be ignore and
    * only this feature should be ignored, then this method can be overridden and the exception can be suppressed and e.g. logged.
    */
   protected void onTransformException(Exception e) throws Exception {
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.geo;
+
+import static com.here.xyz.models.geojson.WebMercatorTile.EarthRadius;
+import static com.here.xyz.models.geojson.WebMercatorTile.MaxLatitude;
+import static com.here.xyz.models.geojson.WebMercatorTile.MinLatitude;
+
+import com.here.xyz.models.geojson.WebMercatorTile;
+import com.here.xyz.models.geojson.coordinates.LineStringCoordinates;
+import com.here.xyz.models.geojson.coordinates.LinearRingCoordinates;
+import com.here.xyz.models.geojson.coordinates.MultiLineStringCoordinates;
+import com.here.xyz.models.geojson.coordinates.MultiPointCoordinates;
+import com.here.xyz.models.geojson.coordinates.MultiPolygonCoordinates;
+import com.here.xyz.models.geojson.coordinates.PolygonCoordinates;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.coordinates.PositionList;
+import com.here.xyz.models.geojson.implementation.GeometryCollection;
+import com.here.xyz.models.geojson.implementation.GeometryItem;
+import com.here.xyz.models.geojson.implementation.LineString;
+import com.here.xyz.models.geojson.implementation.MultiLineString;
+import com.here.xyz.models.geojson.implementation.MultiPoint;
+import com.here.xyz.models.geojson.implementation.MultiPolygon;
+import com.here.xyz.models.geojson.implementation.Point;
+import com.here.xyz.models.geojson.implementation.Polygon;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.LinearRing;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Projects GeoJSON geometries with WGS'84 coordinates into JTS geometries with Web Mercator (EPSG:3857) coordinates.
+ * The projection is done in closed form directly from the coordinates of the GeoJSON geometry, so neither an intermediate WGS'84 JTS
+ * geometry nor a GeoTools transformation is needed.
+ * Latitudes are clipped to the range which is covered by {@link WebMercatorTile web mercator tiles}.
+ */
+public class WebMercatorProjector {
+
+  private static final double HALF_WORLD_IN_METER = Math.PI * EarthRadius;
+
+  private final GeometryFactory geomFactory;
+
+  public WebMercatorProjector(GeometryFactory geomFactory) {
+    this.geomFactory = geomFactory;
+  }
+
+  /**
+   * Projects the given geometry.
+   *
+   * @param geometry the GeoJSON geometry with WGS'84 coordinates
+   * @return the JTS geometry with Web Mercator coordinates or null, if the geometry has no coordinates; a geometry collection of which no
+   *     member has coordinates has no coordinates either
+   */
+  public Geometry project(com.here.xyz.models.geojson.implementation.Geometry geometry) {
+    if (geometry instanceof Point) {
+      Position position = ((Point) geometry).getCoordinates();
+      return position == null ? null : geomFactory.createPoint(toCoordinate(position));
+    }
+    if (geometry instanceof MultiPoint) {
+      MultiPointCoordinates positions = ((MultiPoint) geometry).getCoordinates();
+      return positions == null ? null : geomFactory.createMultiPoint(toCoordinates(positions));
+    }
+    if (geometry instanceof LineString) {
+      LineStringCoordinates positions = ((LineString) geometry).getCoordinates();
+      return positions == null ? null : geomFactory.createLineString(toCoordinates(positions));
+    }
+    if (geometry instanceof MultiLineString) {
+      MultiLineStringCoordinates lines = ((MultiLineString) geometry).getCoordinates();
+      if (lines == null) {
+        return null;
+      }
+      com.vividsolutions.jts.geom.LineString[] lineStrings = new com.vividsolutions.jts.geom.LineString[lines.size()];
+      for (int i = 0; i < lineStrings.length; i++) {
+        lineStrings[i] = geomFactory.createLineString(toCoordinates(lines.get(i)));
+      }
+      return geomFactory.createMultiLineString(lineStrings);
+    }
+    if (geometry instanceof Polygon) {
+      PolygonCoordinates rings = ((Polygon) geometry).getCoordinates();
+      return rings == null ? null : toPolygon(rings);
+    }
+    if (geometry instanceof MultiPolygon) {
+      MultiPolygonCoordinates polygons = ((MultiPolygon) geometry).getCoordinates();
+      if (polygons == null) {
+        return null;
+      }
+      com.vividsolutions.jts.geom.Polygon[] jtsPolygons = new com.vividsolutions.jts.geom.Polygon[polygons.size()];
+      for (int i = 0; i < jtsPolygons.length; i++) {
+        jtsPolygons[i] = toPolygon(polygons.get(i));
+      }
+      return geomFactory.createMultiPolygon(jtsPolygons);
+    }
+    if (geometry instanceof GeometryCollection) {
+      GeometryCollection collection = (GeometryCollection) geometry;
+      if (collection.getGeometries() == null || collection.getGeometries().isEmpty()) {
+        return null;
+      }
+      //Members without coordinates are skipped, as JTS does not allow null members
+      final List<Geometry> jtsGeometries = new ArrayList<>(collection.getGeometries().size());
+      for (GeometryItem member : collection.getGeometries()) {
+        final Geometry jtsGeometry = project(member);
+        if (jtsGeometry != null) {
+          jtsGeometries.add(jtsGeometry);
+        }
+      }
+      return jtsGeometries.isEmpty() ? null : geomFactory.createGeometryCollection(jtsGeometries.toArray(new Geometry[0]));
+    }
+    return null;
+  }
+
+  private com.vividsolutions.jts.geom.Polygon toPolygon(PolygonCoordinates rings) {
+    LinearRing shell = toLinearRing(rings.get(0));
+    LinearRing[] holes = new LinearRing[rings.size() - 1];
+    for (int i = 1; i < rings.size(); i++) {
+      holes[i - 1] = toLinearRing(rings.get(i));
+    }
+    return geomFactory.createPolygon(shell, holes);
+  }
+
+  private LinearRing toLinearRing(LinearRingCoordinates positions) {
+    return geomFactory.createLinearRing(toCoordinates(positions));
+  }
+
+  private static Coordinate[] toCoordinates(PositionList positions) {
+    final Coordinate[] coordinates = new Coordinate[positions.size()];
+    for (int i = 0; i < coordinates.length; i++) {
+      coordinates[i] = new Coordinate(lonToX(positions.getLongitude(i)), latToY(positions.getLatitude(i)));
+    }
+    return coordinates;
+  }
+
+  private static Coordinate[] toCoordinates(MultiPointCoordinates positions) {
+    final Coordinate[] coordinates = new Coordinate[positions.size()];
+    for (int i = 0; i < coordinates.length; i++) {
+      coordinates[i] = toCoordinate(positions.get(i));
+    }
+    return coordinates;
+  }
+
+  private static Coordinate toCoordinate(Position position) {
+    return new Coordinate(lonToX(position.getLongitude()), latToY(position.getLatitude()));
+  }
+
+  /**
+   * @return the web mercator x coordinate in meters of the given longitude
+   */
+  public static double lonToX(double longitude) {
+    return longitude * HALF_WORLD_IN_METER / 180d;
+  }
+
+  /**
+   * @return the web mercator y coordinate in meters of the given latitude
+   */
+  public static double latToY(double latitude) {
+    final double sinLatitude = Math.sin(WebMercatorTile.clip(latitude, MinLatitude, MaxLatitude) * Math.PI / 180d);
+    return 0.5 * Math.log((1 + sinLatitude) / (1 - sinLatitude)) * EarthRadius;
+  }
+}
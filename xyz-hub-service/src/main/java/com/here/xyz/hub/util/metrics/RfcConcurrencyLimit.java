@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.metrics;
+
+import static com.here.xyz.hub.util.metrics.base.Metric.MetricUnit.COUNT;
+
+import com.here.xyz.hub.connectors.RemoteFunctionClient;
+import com.here.xyz.hub.util.metrics.base.AttributedMetricCollection.Attribute;
+import com.here.xyz.hub.util.metrics.base.AttributedMetricCollector;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The current concurrency limit of each remote function client by connector.
+ */
+public class RfcConcurrencyLimit extends AttributedMetricCollector<Collection<Double>> {
+
+  private static final String CONNECTOR = "connector";
+
+  public RfcConcurrencyLimit(String metricName) {
+    super(metricName, COUNT);
+  }
+
+  @Override
+  protected Map<Collection<Attribute>, Collection<Double>> gatherValues() {
+    Map<Collection<Attribute>, Collection<Double>> values = new HashMap<>();
+    for (RemoteFunctionClient client : RemoteFunctionClient.getInstances()) {
+      if (client.getConnectorConfig() != null)
+        values.put(Collections.singleton(new Attribute<>(CONNECTOR, client.getConnectorConfig().id)),
+            Collections.singleton((double) client.getConcurrencyLimit()));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.metrics;
+
+import static com.here.xyz.hub.util.metrics.base.Metric.MetricUnit.COUNT;
+
+import com.here.xyz.hub.connectors.RemoteFunctionClient;
+import com.here.xyz.hub.util.metrics.base.AttributedMetricCollection.Attribute;
+import com.here.xyz.hub.util.metrics.base.AttributedMetricCollector;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * The number of queued calls of each remote function client by connector and fairness key.
+ * To keep the number of published metrics bounded, only the keys with the most queued calls are published for each connector.
+ *
+ * @see com.here.xyz.hub.Service.Config#REMOTE_FUNCTION_FAIR_QUEUING_KEY
+ */
+public class RfcQueueSize extends AttributedMetricCollector<Collection<Double>> {
+
+  private static final String CONNECTOR = "connector";
+  private static final String KEY = "key";
+  private static final String DEFAULT_KEY = "default";
+  private static final int MAX_KEYS_PER_CONNECTOR = 10;
+
+  public RfcQueueSize(String metricName) {
+    super(metricName, COUNT);
+  }
+
+  @Override
+  protected Map<Collection<Attribute>, Collection<Double>> gatherValues() {
+    Map<Collection<Attribute>, Collection<Double>> values = new HashMap<>();
+    for (RemoteFunctionClient client : RemoteFunctionClient.getInstances()) {
+      if (client.getConnectorConfig() == null)
+        continue;
+      final String connectorId = client.getConnectorConfig().id;
+      client.getQueueSizesByKey().entrySet().stream()
+          .sorted(Entry.<String, Long>comparingByValue().reversed())
+          .limit(MAX_KEYS_PER_CONNECTOR)
+          .forEach(e -> values.put(
+              Arrays.asList(new Attribute<>(CONNECTOR, connectorId), new Attribute<>(KEY, e.getKey().isEmpty() ? DEFAULT_KEY : e.getKey())),
+              Collections.singleton(e.getValue().doubleValue())));
+    }
+    return values;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class CacheEntryTest {
+
+  private static final byte[] VALUE = "value".getBytes(StandardCharsets.UTF_8);
+  private static final long WRITE_TIME = 1_000_000L;
+
+  /**
+   * An entry which is fresh for 10s, may be served stale for another 5s and took 200ms to be computed.
+   */
+  private static CacheEntry entry() {
+    return new CacheEntry(VALUE, WRITE_TIME, 10, 5, 200, 42);
+  }
+
+  @Test
+  public void freshStaleAndExpired() {
+    CacheEntry entry = entry();
+
+    assertTrue(entry.isFresh(WRITE_TIME));
+    assertTrue(entry.isFresh(WRITE_TIME + 9_999));
+    assertFalse(entry.isExpired(WRITE_TIME + 9_999));
+
+    assertFalse(entry.isFresh(WRITE_TIME + 10_000));
+    assertFalse(entry.isExpired(WRITE_TIME + 10_000));
+    assertFalse(entry.isExpired(WRITE_TIME + 14_999));
+
+    assertTrue(entry.isExpired(WRITE_TIME + 15_000));
+  }
+
+  @Test
+  public void remainingTtl() {
+    CacheEntry entry = entry();
+
+    assertEquals(15, entry.getRemainingTtl(WRITE_TIME));
+    assertEquals(1, entry.getRemainingTtl(WRITE_TIME + 14_001));
+    assertEquals(0, entry.getRemainingTtl(WRITE_TIME + 15_000));
+    assertEquals(0, entry.getRemainingTtl(WRITE_TIME + 60_000));
+  }
+
+  @Test
+  public void serialization() {
+    CacheEntry entry = CacheEntry.fromByteArray(entry().toByteArray());
+
+    assertArrayEquals(VALUE, entry.getValue());
+    assertEquals(42, entry.getContentVersion());
+    assertTrue(entry.isFresh(WRITE_TIME + 9_999));
+    assertFalse(entry.isFresh(WRITE_TIME + 10_000));
+    assertTrue(entry.isExpired(WRITE_TIME + 15_000));
+  }
+
+  @Test
+  public void deserializeUnknownFormat() {
+    assertNull(CacheEntry.fromByteArray(null));
+    assertNull(CacheEntry.fromByteArray(new byte[0]));
+    //A value which was written by an older service version without the entry header
+    assertNull(CacheEntry.fromByteArray("{\"type\":\"FeatureCollection\",\"features\":[]}".getBytes(StandardCharsets.UTF_8)));
+
+    byte[] otherVersion = entry().toByteArray();
+    otherVersion[1]++;
+    assertNull(CacheEntry.fromByteArray(otherVersion));
+  }
+
+  @Test
+  public void earlyRefreshDisabled() {
+    CacheEntry entry = entry();
+    assertFalse(entry.shouldRefreshEarly(WRITE_TIME + 9_999, 0, 0.01));
+    assertFalse(entry.shouldRefreshEarly(WRITE_TIME + 9_999, -1, 0.01));
+
+    CacheEntry noComputeTime = new CacheEntry(VALUE, WRITE_TIME, 10, 5, 0, 0);
+    assertFalse(noComputeTime.shouldRefreshEarly(WRITE_TIME + 9_999, 1, 0.01));
+  }
+
+  @Test
+  public void earlyRefreshProbability() {
+    CacheEntry entry = entry();
+    //One compute time before the stale time, the refresh happens if -ln(random) >= 1, that is with a probability of 1/e
+    final long now = WRITE_TIME + 10_000 - 200;
+    assertTrue(entry.shouldRefreshEarly(now, 1, 0.36));
+    assertFalse(entry.shouldRefreshEarly(now, 1, 0.38));
+
+    //A higher beta makes earlier refreshes more likely
+    assertTrue(entry.shouldRefreshEarly(now, 2, 0.6));
+    assertFalse(entry.shouldRefreshEarly(now, 1, 0.6));
+
+    //Far away from the stale time, early refreshes are very unlikely
+    assertFalse(entry.shouldRefreshEarly(WRITE_TIME, 1, 0.01));
+    //Once the entry is stale, it is always refreshed
+    assertTrue(entry.shouldRefreshEarly(WRITE_TIME + 10_000, 1, 1));
+    assertTrue(entry.shouldRefreshEarly(WRITE_TIME + 12_000, 1, 0.99));
+  }
+
+  @Test
+  public void earlyRefreshGetsMoreLikely() {
+    CacheEntry entry = entry();
+    int previousRefreshes = -1;
+    for (long now = WRITE_TIME + 8_000; now <= WRITE_TIME + 10_000; now += 100) {
+      int refreshes = 0;
+      for (int i = 1; i <= 100; i++)
+        if (entry.shouldRefreshEarly(now, 1, i / 100d))
+          refreshes++;
+      assertTrue(refreshes >= previousRefreshes);
+      previousRefreshes = refreshes;
+    }
+    assertEquals(100, previousRefreshes);
+  }
+}
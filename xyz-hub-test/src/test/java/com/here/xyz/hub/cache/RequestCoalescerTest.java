@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestCoalescerTest {
+
+  private static final String KEY = "key";
+
+  private Vertx vertx;
+  private RequestCoalescer<String> coalescer;
+
+  @Before
+  public void setup() {
+    vertx = Vertx.vertx();
+    coalescer = new RequestCoalescer<>(vertx, 200);
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
+  }
+
+  private static String await(Future<String> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void leaderSharesResult() throws Exception {
+    Promise<String> leader = coalescer.tryLead(KEY);
+    assertNotNull("The first request must become the leader.", leader);
+    assertNull("A concurrent request must not become the leader.", coalescer.tryLead(KEY));
+
+    Future<String> follower1 = coalescer.follow(KEY);
+    Future<String> follower2 = coalescer.follow(KEY);
+    assertFalse(follower1.isComplete());
+
+    coalescer.complete(KEY, leader, "result");
+    assertEquals("result", await(follower1));
+    assertEquals("result", await(follower2));
+    assertEquals("The key must be released.", 0, coalescer.size());
+  }
+
+  @Test
+  public void leaderCancelled() throws Exception {
+    Promise<String> leader = coalescer.tryLead(KEY);
+    Future<String> follower = coalescer.follow(KEY);
+
+    //What the cancelling handler of the leading task does
+    coalescer.complete(KEY, leader, null);
+    assertNull("The follower must perform the request on its own.", await(follower));
+    assertEquals(0, coalescer.size());
+    assertNotNull("A later request must become the new leader.", coalescer.tryLead(KEY));
+  }
+
+  @Test
+  public void leaderFailed() throws Exception {
+    Promise<String> leader = coalescer.tryLead(KEY);
+    Future<String> follower = coalescer.follow(KEY);
+
+    leader.fail(new RuntimeException("failed"));
+    assertNull("The follower must perform the request on its own.", await(follower));
+
+    coalescer.complete(KEY, leader, null);
+    assertEquals(0, coalescer.size());
+  }
+
+  @Test
+  public void followerTimeout() throws Exception {
+    Promise<String> leader = coalescer.tryLead(KEY);
+    long start = System.currentTimeMillis();
+    Future<String> follower = coalescer.follow(KEY);
+
+    assertNull("The follower must stop waiting after the timeout.", await(follower));
+    assertTrue(System.currentTimeMillis() - start >= 200);
+
+    //A late completion of the leader must not affect the follower anymore
+    coalescer.complete(KEY, leader, "result");
+    assertNull(follower.result());
+  }
+
+  @Test
+  public void completeIsIdempotent() throws Exception {
+    Promise<String> leader = coalescer.tryLead(KEY);
+    coalescer.complete(KEY, leader, "result");
+    Promise<String> newLeader = coalescer.tryLead(KEY);
+    Future<String> follower = coalescer.follow(KEY);
+
+    //Completing the old leader again must neither release nor complete the request of the new leader
+    coalescer.complete(KEY, leader, null);
+    assertEquals(1, coalescer.size());
+    assertFalse(follower.isComplete());
+
+    coalescer.complete(KEY, newLeader, "newResult");
+    assertEquals("newResult", await(follower));
+  }
+
+  @Test
+  public void followWithoutLeader() throws Exception {
+    assertNull(await(coalescer.follow(KEY)));
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimitTest {
+
+  private static final int MIN = 4;
+  private static final int MAX = 64;
+
+  private static void feed(AdaptiveConcurrencyLimit limit, int samples, long rttMs, boolean demand) {
+    for (int i = 0; i < samples; i++)
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(rttMs), 0, demand, MIN, MAX);
+  }
+
+  @Test
+  public void stableLatencyWithDemandRaisesLimit() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(MIN);
+    int previous = limit.getLimit();
+    for (int i = 0; i < 20; i++) {
+      feed(limit, 5, 10, true);
+      assertTrue(limit.getLimit() >= previous);
+      previous = limit.getLimit();
+    }
+    assertTrue(limit.getLimit() > MIN);
+
+    feed(limit, 1_000, 10, true);
+    assertEquals(MAX, limit.getLimit());
+  }
+
+  @Test
+  public void stableLatencyWithoutDemandKeepsLimit() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16);
+    feed(limit, 1_000, 10, false);
+    assertEquals(16, limit.getLimit());
+  }
+
+  @Test
+  public void inflightCallsCountAsDemand() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(16);
+    for (int i = 0; i < 100; i++)
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), limit.getLimit(), false, MIN, MAX);
+    assertTrue(limit.getLimit() > 16);
+  }
+
+  @Test
+  public void risingLatencyWithDemandShrinksLimit() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(MAX);
+    feed(limit, 100, 10, true);
+    assertEquals(MAX, limit.getLimit());
+
+    feed(limit, 10, 100, true);
+    int degraded = limit.getLimit();
+    assertTrue(degraded < MAX);
+
+    feed(limit, 90, 100, true);
+    assertTrue(limit.getLimit() < degraded);
+    assertEquals(MIN, limit.getLimit());
+  }
+
+  @Test
+  public void risingLatencyWithoutDemandShrinksLimit() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(32);
+    feed(limit, 100, 10, false);
+    assertEquals(32, limit.getLimit());
+
+    feed(limit, 50, 100, false);
+    assertEquals(MIN, limit.getLimit());
+  }
+
+  @Test
+  public void recoveredLatencyRaisesLimitAgain() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(MAX);
+    feed(limit, 100, 10, true);
+    feed(limit, 100, 100, true);
+    assertEquals(MIN, limit.getLimit());
+
+    feed(limit, 200, 10, true);
+    assertTrue(limit.getLimit() > MIN);
+    feed(limit, 1_000, 10, true);
+    assertEquals(MAX, limit.getLimit());
+  }
+
+  @Test
+  public void limitStaysWithinBounds() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2 * MAX);
+    limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 0, true, MIN, MAX);
+    assertEquals(MAX, limit.getLimit());
+
+    limit = new AdaptiveConcurrencyLimit(1);
+    limit.onSample(TimeUnit.MILLISECONDS.toNanos(10), 0, false, MIN, MAX);
+    assertEquals(MIN, limit.getLimit());
+
+    long[] rtts = {1, 500, 3, 2_000, 10, 10, 800, 1, 1, 5_000};
+    for (int i = 0; i < 1_000; i++) {
+      limit.onSample(TimeUnit.MILLISECONDS.toNanos(rtts[i % rtts.length]), i % MAX, i % 3 == 0, MIN, MAX);
+      assertTrue(limit.getLimit() >= MIN && limit.getLimit() <= MAX);
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.GATEWAY_TIMEOUT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.here.xyz.hub.Core;
+import com.here.xyz.hub.Service;
+import com.here.xyz.hub.Service.Config;
+import com.here.xyz.hub.connectors.RemoteFunctionClient.CallClass;
+import com.here.xyz.hub.connectors.models.Connector;
+import com.here.xyz.hub.rest.HttpException;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.Json;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RemoteFunctionClientTest {
+
+  private static final int MAX_CONNECTIONS = 4;
+
+  private TestRemoteFunctionClient rfc;
+
+  /**
+   * Does not complete the invocations on its own, so that the test controls when connections get free.
+   */
+  private static class TestRemoteFunctionClient extends RemoteFunctionClient {
+
+    final List<FunctionCall> invoked = new ArrayList<>();
+    final List<Handler<AsyncResult<byte[]>>> pending = new ArrayList<>();
+
+    TestRemoteFunctionClient(Connector connectorConfig) {
+      super(connectorConfig);
+    }
+
+    @Override
+    protected synchronized void invoke(FunctionCall fc, Handler<AsyncResult<byte[]>> callback) {
+      invoked.add(fc);
+      pending.add(callback);
+    }
+
+    void submit(String fairnessKey) {
+      submit(null, new byte[1], false, false, CallClass.INTERACTIVE, fairnessKey, r -> {});
+    }
+
+    void completeFirst() {
+      Handler<AsyncResult<byte[]>> callback;
+      synchronized (this) {
+        callback = pending.remove(0);
+      }
+      callback.handle(Future.succeededFuture(new byte[0]));
+    }
+
+    String invokedKeys() {
+      return invoked.stream().map(fc -> fc.fairnessKey).collect(Collectors.joining());
+    }
+  }
+
+  private void setup(int maxInflightPerKey, Map<String, Integer> weights) {
+    Core.vertx = Vertx.vertx();
+    Service.configuration = new Config();
+    Service.configuration.REMOTE_FUNCTION_REQUEST_TIMEOUT = 26;
+    Service.configuration.INSTANCE_COUNT = 1;
+    Service.configuration.REMOTE_FUNCTION_MAX_CONNECTIONS = 256;
+    Service.configuration.REMOTE_FUNCTION_CONNECTION_HIGH_UTILIZATION_THRESHOLD = 0.75f;
+    Service.configuration.GLOBAL_MAX_QUEUE_SIZE = 1024;
+    Service.configuration.REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY = false;
+    Service.configuration.REMOTE_FUNCTION_FAIR_QUEUING_MAX_INFLIGHT = maxInflightPerKey;
+    RemoteFunctionClient.configureFairQueuing("SPACE", weights.entrySet().stream()
+        .map(e -> e.getKey() + ":" + e.getValue()).collect(Collectors.toList()));
+
+    Connector connector = new Connector();
+    connector.id = "testStorage";
+    connector.connectionSettings = Json.decodeValue("{\"minConnections\":1,\"maxConnections\":" + MAX_CONNECTIONS + "}",
+        Connector.ConnectionSettings.class);
+    rfc = new TestRemoteFunctionClient(connector);
+    //Re-apply the config, so that the queue size gets adjusted with the now registered client
+    rfc.setConnectorConfig(connector);
+  }
+
+  @Before
+  public void setup() {
+    setup(0, Collections.emptyMap());
+  }
+
+  @After
+  public void tearDown() {
+    rfc.destroy();
+    RemoteFunctionClient.configureFairQueuing("NONE", Collections.emptyList());
+    Core.vertx.close();
+  }
+
+  /**
+   * Occupies all connections with calls of the key "X" and submits the given keys, which have to be queued.
+   */
+  private void submitQueued(String keys) {
+    for (int i = 0; i < MAX_CONNECTIONS; i++)
+      rfc.submit("X");
+    for (char key : keys.toCharArray())
+      rfc.submit(String.valueOf(key));
+    assertEquals(MAX_CONNECTIONS, rfc.invoked.size());
+  }
+
+  private String completeAll() {
+    while (!rfc.pending.isEmpty())
+      rfc.completeFirst();
+    return rfc.invokedKeys().substring(MAX_CONNECTIONS);
+  }
+
+  @Test
+  public void roundRobinScheduling() {
+    submitQueued("AAAABBC");
+    assertEquals(7, rfc.getQueueSizesByKey().values().stream().mapToLong(Long::longValue).sum());
+    assertEquals("ABCABAA", completeAll());
+    assertEquals(0, rfc.getUsedConnections());
+  }
+
+  @Test
+  public void weightedScheduling() {
+    tearDown();
+    setup(0, Collections.singletonMap("A", 2));
+    submitQueued("AAAABB");
+    assertEquals("AABAAB", completeAll());
+  }
+
+  @Test
+  public void inflightCapPerKey() {
+    tearDown();
+    setup(1, Collections.emptyMap());
+    rfc.submit("A");
+    rfc.submit("A");
+    rfc.submit("B");
+    //The second call of A has to wait, although there are free connections
+    assertEquals("AB", rfc.invokedKeys());
+    assertEquals(Long.valueOf(1), rfc.getQueueSizesByKey().get("A"));
+
+    rfc.completeFirst();
+    assertEquals("ABA", rfc.invokedKeys());
+    assertEquals(0, rfc.getQueueSizesByKey().size());
+  }
+
+  @Test
+  public void callsWithoutKeyAreNotCapped() {
+    tearDown();
+    setup(1, Collections.emptyMap());
+    rfc.submit(null);
+    rfc.submit(null);
+    rfc.submit(null);
+    assertEquals(3, rfc.invoked.size());
+  }
+
+  @Test
+  public void expiredCallsAreDropped() {
+    for (int i = 0; i < MAX_CONNECTIONS; i++)
+      rfc.submit("X");
+    List<AsyncResult<byte[]>> results = new ArrayList<>();
+    rfc.submit(null, new byte[1], false, false, CallClass.INTERACTIVE, "A", Core.currentTimeMillis() - 1, results::add);
+    rfc.submit(null, new byte[1], false, false, CallClass.INTERACTIVE, "B", Core.currentTimeMillis() + 60_000, results::add);
+
+    rfc.completeFirst();
+    //The call of A is dropped, as its deadline passed already while it was queued
+    assertEquals("XXXXB", rfc.invokedKeys());
+    assertEquals(1, results.size());
+    assertEquals(GATEWAY_TIMEOUT, ((HttpException) results.get(0).cause()).status);
+  }
+
+  @Test
+  public void requestTimeoutOfConnector() {
+    assertEquals(RemoteFunctionClient.MAX_REQUEST_TIMEOUT, rfc.getRequestTimeout());
+    Connector.RemoteFunctionConfig remoteFunction = new Connector.RemoteFunctionConfig.Embedded();
+    remoteFunction.timeoutMs = 2_000;
+    rfc.getConnectorConfig().setRemoteFunction(remoteFunction);
+    assertEquals(2_000, rfc.getRequestTimeout());
+  }
+
+  @Test
+  public void invalidFairQueuingConfig() {
+    assertThrows(IllegalArgumentException.class, () -> RemoteFunctionClient.configureFairQueuing("SPACES", Collections.emptyList()));
+    assertThrows(IllegalArgumentException.class,
+        () -> RemoteFunctionClient.configureFairQueuing("SPACE", Collections.singletonList("A")));
+    assertThrows(IllegalArgumentException.class,
+        () -> RemoteFunctionClient.configureFairQueuing("SPACE", Collections.singletonList("A:x")));
+    assertThrows(IllegalArgumentException.class,
+        () -> RemoteFunctionClient.configureFairQueuing("SPACE", Collections.singletonList("A:0")));
+    assertEquals(Collections.singletonMap("A:B", 3),
+        RemoteFunctionClient.parseFairQueuingWeights(Arrays.asList(" A:B : 3 ")));
+  }
+}
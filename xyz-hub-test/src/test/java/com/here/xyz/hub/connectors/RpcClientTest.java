@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.connectors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.hub.Core;
+import com.here.xyz.hub.Service;
+import com.here.xyz.hub.Service.Config;
+import com.here.xyz.hub.connectors.models.Connector;
+import com.here.xyz.hub.connectors.models.Connector.RemoteFunctionConfig.Embedded;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.responses.XyzResponse;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.Json;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RpcClientTest {
+
+  private static final Marker MARKER = MarkerManager.getMarker("RpcClientTest");
+  private static final byte[] RESPONSE = "{\"type\":\"FeatureCollection\",\"features\":[]}".getBytes();
+
+  private RpcClient client;
+
+  /**
+   * The result of a parsing and where it was handed to the callback.
+   */
+  private static class ParsingResult {
+
+    AsyncResult<XyzResponse> result;
+    Context callerContext;
+    Context callbackContext;
+    Thread callerThread;
+    Thread callbackThread;
+    boolean calledBeforeReturn;
+  }
+
+  @Before
+  public void setup() {
+    Core.vertx = Vertx.vertx();
+    Service.configuration = new Config();
+    Service.configuration.REMOTE_FUNCTION_REQUEST_TIMEOUT = 26;
+    Service.configuration.INSTANCE_COUNT = 1;
+    Service.configuration.REMOTE_FUNCTION_MAX_CONNECTIONS = 256;
+    Service.configuration.REMOTE_FUNCTION_CONNECTION_HIGH_UTILIZATION_THRESHOLD = 0.75f;
+    Service.configuration.GLOBAL_MAX_QUEUE_SIZE = 1024;
+    Service.configuration.REMOTE_FUNCTION_ADAPTIVE_CONCURRENCY = false;
+    //Offload the parsing of all responses
+    Service.configuration.RESPONSE_PARSING_OFFLOAD_THRESHOLD = 0;
+
+    Connector connector = new Connector();
+    connector.id = "testStorage";
+    connector.setRemoteFunction(new Embedded());
+    connector.connectionSettings = Json.decodeValue("{\"minConnections\":1,\"maxConnections\":16}", Connector.ConnectionSettings.class);
+    client = RpcClient.getInstanceFor(connector, true);
+  }
+
+  @After
+  public void tearDown() {
+    client.destroy();
+    Core.vertx.close();
+  }
+
+  private ParsingResult parseOnContext() throws Exception {
+    final ParsingResult parsing = new ParsingResult();
+    final CompletableFuture<ParsingResult> done = new CompletableFuture<>();
+    Core.vertx.runOnContext(v -> {
+      parsing.callerContext = Vertx.currentContext();
+      parsing.callerThread = Thread.currentThread();
+      final boolean[] returned = {false};
+      client.parseResponseAsync(MARKER, RESPONSE, false, r -> {
+        parsing.result = r;
+        parsing.callbackContext = Vertx.currentContext();
+        parsing.callbackThread = Thread.currentThread();
+        parsing.calledBeforeReturn = !returned[0];
+        done.complete(parsing);
+      });
+      returned[0] = true;
+    });
+    return done.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void parseOnPool() throws Exception {
+    final ParsingResult parsing = parseOnContext();
+    assertTrue(parsing.result.succeeded());
+    assertTrue(parsing.result.result() instanceof FeatureCollection);
+    assertFalse("The parsing is offloaded.", parsing.calledBeforeReturn);
+    assertSame("The callback is called on the caller's context.", parsing.callerContext, parsing.callbackContext);
+    assertSame(parsing.callerThread, parsing.callbackThread);
+  }
+
+  @Test
+  public void parseInlineWhenQueueIsFull() throws Exception {
+    final ThreadPoolExecutor executor = RpcClient.getResponseParsingExecutor();
+    final CountDownLatch started = new CountDownLatch(executor.getCorePoolSize());
+    final CountDownLatch release = new CountDownLatch(1);
+    try {
+      //Block all threads of the pool and fill its queue
+      for (int i = 0; i < executor.getCorePoolSize(); i++) {
+        executor.execute(() -> {
+          started.countDown();
+          try {
+            release.await();
+          }
+          catch (InterruptedException ignored) {}
+        });
+      }
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      while (executor.getQueue().remainingCapacity() > 0) {
+        executor.execute(() -> {});
+      }
+
+      final ParsingResult parsing = parseOnContext();
+      assertTrue(parsing.result.succeeded());
+      assertTrue(parsing.result.result() instanceof FeatureCollection);
+      assertTrue("The response is parsed on the calling thread.", parsing.calledBeforeReturn);
+      assertSame(parsing.callerThread, parsing.callbackThread);
+      assertSame(parsing.callerContext, parsing.callbackContext);
+    }
+    finally {
+      release.countDown();
+    }
+
+    //Once the queue drained, responses are offloaded again
+    while (executor.getQueue().size() > 0 || executor.getActiveCount() > 0) {
+      Thread.sleep(10);
+    }
+    assertFalse(parseOnContext().calledBeforeReturn);
+  }
+}
@@ -25,6 +25,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 
 import com.here.xyz.models.geojson.implementation.Feature;
@@ -339,4 +340,91 @@ public class ChangesetApiIT extends TestSpaceWithFeature {
         .statusCode(OK.code())
         .body("features.size()", equalTo(0));
   }
+
+  @Test
+  public void getChangesetsPageWithinVersion() {
+    String pageToken = given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets/0?limit=1")
+        .then()
+        .statusCode(OK.code())
+        .body("inserted.features.id", contains("A"))
+        .body("nextPageToken", equalTo("0_A"))
+        .extract()
+        .path("nextPageToken");
+
+    pageToken = given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets?startVersion=0&endVersion=1&limit=1&pageToken=" + pageToken)
+        .then()
+        .statusCode(OK.code())
+        .body("startVersion", equalTo(0))
+        .body("versions.'0'.inserted.features.id", contains("B"))
+        .extract()
+        .path("nextPageToken");
+
+    given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets?startVersion=0&endVersion=1&limit=1&pageToken=" + pageToken)
+        .then()
+        .statusCode(OK.code())
+        .body("startVersion", equalTo(1))
+        .body("versions.'1'.updated.features.id", contains("A"));
+  }
+
+  @Test
+  public void getChangesetsPageWithSeparatorInId() {
+    FeatureCollection changeset11 = new FeatureCollection().withFeatures(
+        Arrays.asList(
+            new Feature().withId("G_1").withProperties(new Properties().with("name", "G1")),
+            new Feature().withId("G_2").withProperties(new Properties().with("name", "G2"))
+        )
+    );
+
+    given()
+        .contentType(APPLICATION_JSON)
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .body(changeset11.toString())
+        .post("/spaces/" + cleanUpSpaceId + "/features")
+        .then()
+        .statusCode(OK.code());
+
+    String pageToken = given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets/11?limit=1")
+        .then()
+        .statusCode(OK.code())
+        .body("inserted.features.id", contains("G_1"))
+        .body("nextPageToken", equalTo("11_G_1"))
+        .extract()
+        .path("nextPageToken");
+
+    given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets/11?limit=1&pageToken=" + pageToken)
+        .then()
+        .statusCode(OK.code())
+        .body("inserted.features.id", contains("G_2"));
+  }
+
+  @Test
+  public void getChangesetsInvalidPageToken() {
+    given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets/0?pageToken=abc")
+        .then()
+        .statusCode(BAD_REQUEST.code());
+
+    given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets/0?pageToken=_A")
+        .then()
+        .statusCode(BAD_REQUEST.code());
+
+    given()
+        .headers(getAuthHeaders(AuthProfile.ACCESS_ALL))
+        .get("/spaces/" + cleanUpSpaceId + "/changesets?startVersion=0&endVersion=1&pageToken=x_A")
+        .then()
+        .statusCode(BAD_REQUEST.code());
+  }
 }
@@ -22,6 +22,8 @@ package com.here.xyz.hub.rest;
 import static com.here.xyz.hub.rest.Api.HeaderValues.APPLICATION_VND_HERE_FEATURE_MODIFICATION_LIST;
 import static com.jayway.restassured.RestAssured.given;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.CONFLICT;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 
 import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
@@ -111,4 +113,13 @@ public class FeatureModificationIT extends TestSpaceWithFeature {
         .then()
         .statusCode(BAD_REQUEST.code());
   }
+
+  @Test
+  public void testCreateExistingFeature() {
+    write(new Feature().withId("F1"), "create", "error", "error")
+        .statusCode(OK.code());
+
+    write(new Feature().withId("F1"), "create", "error", "error")
+        .statusCode(CONFLICT.code());
+  }
 }
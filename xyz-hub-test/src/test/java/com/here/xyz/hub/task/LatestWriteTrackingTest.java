@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.task;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatestWriteTrackingTest {
+
+  @Test
+  public void timeSinceLatestWrite() throws InterruptedException {
+    assertNull(FeatureTaskHandler.getTimeSinceLatestWrite("unknownSpace"));
+
+    FeatureTaskHandler.setLatestWriteTime("space1", 60_000);
+    Long timeSinceWrite = FeatureTaskHandler.getTimeSinceLatestWrite("space1");
+    assertNotNull(timeSinceWrite);
+    assertTrue(timeSinceWrite >= 0 && timeSinceWrite < 1_000);
+
+    Thread.sleep(50);
+    assertTrue(FeatureTaskHandler.getTimeSinceLatestWrite("space1") >= 50);
+  }
+
+  @Test
+  public void expiration() throws InterruptedException {
+    FeatureTaskHandler.setLatestWriteTime("space2", 100);
+    assertNotNull(FeatureTaskHandler.getTimeSinceLatestWrite("space2"));
+    Thread.sleep(300);
+    assertNull(FeatureTaskHandler.getTimeSinceLatestWrite("space2"));
+
+    FeatureTaskHandler.setLatestWriteTime("space3", 0);
+    assertNull(FeatureTaskHandler.getTimeSinceLatestWrite("space3"));
+  }
+
+  @Test
+  public void bounded() {
+    for (int i = 0; i < 20_000; i++)
+      FeatureTaskHandler.setLatestWriteTime("boundedSpace" + i, 60_000);
+    assertTrue(FeatureTaskHandler.getTrackedWritesCount() <= 16 * 1024);
+    assertNotNull(FeatureTaskHandler.getTimeSinceLatestWrite("boundedSpace" + 19_999));
+  }
+}
@@ -20,7 +20,10 @@
 package com.here.xyz.hub.task;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -36,10 +39,14 @@ import com.here.xyz.models.geojson.implementation.Feature;
 import io.vertx.core.json.JsonObject;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.Test;
 
 public class ModifyFeatureOpTest {
@@ -151,4 +158,78 @@ public class ModifyFeatureOpTest {
       e.printStackTrace();
     }
   }
+
+  @Test
+  public void singleRoundTripEntries() {
+    Map<String, Object> feature = new JsonObject().put("type", "Feature").put("id", "F1").getMap();
+    assertTrue("Replace-or-create entries can be written in a single round-trip.", FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(feature).copy().getMap(), IfNotExists.CREATE, IfExists.REPLACE, ConflictResolution.ERROR), false));
+    assertFalse("Create-only entries need the existing state to detect the conflict.", FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(feature).copy().getMap(), IfNotExists.CREATE, IfExists.ERROR, ConflictResolution.ERROR), false));
+    assertFalse(FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(feature).copy().getMap(), IfNotExists.CREATE, IfExists.MERGE, ConflictResolution.ERROR), false));
+    assertFalse(FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(feature).copy().getMap(), IfNotExists.ERROR, IfExists.REPLACE, ConflictResolution.ERROR), false));
+
+    Map<String, Object> featureWithUuid = new JsonObject(feature).copy()
+        .put("properties", new JsonObject().put("@ns:com:here:xyz", new JsonObject().put("uuid", "some-uuid"))).getMap();
+    assertFalse("The UUID of an entry is only checked by the storage in spaces with UUIDs.", FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(featureWithUuid).copy().getMap(), IfNotExists.CREATE, IfExists.REPLACE, ConflictResolution.ERROR),
+        false));
+    assertTrue("The storage checks the UUID of the entry when writing the update.", FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(featureWithUuid).copy().getMap(), IfNotExists.CREATE, IfExists.REPLACE, ConflictResolution.ERROR),
+        true));
+    assertFalse("In spaces with UUIDs the entries need the UUID of the state they replace.", FeatureTaskHandler.isSingleRoundTripEntry(
+        new FeatureEntry(new JsonObject(feature).copy().getMap(), IfNotExists.CREATE, IfExists.REPLACE, ConflictResolution.ERROR), true));
+  }
+
+  /**
+   * Creates entries for new features, of which the ones at the given positions fail, because their features exist already.
+   */
+  private static List<FeatureEntry> largeEntries(int size, Set<Integer> failingPositions) {
+    List<FeatureEntry> entries = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      FeatureEntry entry = new FeatureEntry(new JsonObject().put("type", "Feature").put("id", "F" + i).getMap(),
+          IfNotExists.CREATE, IfExists.ERROR, ConflictResolution.ERROR);
+      if (failingPositions.contains(i)) {
+        entry.head = new Feature().withId("F" + i);
+      }
+      entries.add(entry);
+    }
+    return entries;
+  }
+
+  @Test
+  public void largeTransactionalFailsWithFirstError() throws HttpException {
+    Set<Integer> failingPositions = Stream.of(300, 301, 700, 999).collect(Collectors.toSet());
+    //The chunks are processed concurrently, so repeat to give the later chunks the chance to fail first
+    for (int i = 0; i < 20; i++) {
+      ModifyFeatureOp op = new ModifyFeatureOp(largeEntries(1000, failingPositions), true);
+      assertTrue(op.isProcessedInParallel());
+      ModifyOpError e = assertThrows(ModifyOpError.class, op::process);
+      assertEquals("The record {F300} exists.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void largeNonTransactionalKeepsErrorsPerEntry() throws ModifyOpError, HttpException {
+    Set<Integer> failingPositions = Stream.of(0, 300, 301, 700, 999).collect(Collectors.toSet());
+    ModifyFeatureOp op = new ModifyFeatureOp(largeEntries(1000, failingPositions), false);
+    assertTrue(op.isProcessedInParallel());
+    op.process();
+
+    for (int i = 0; i < op.entries.size(); i++) {
+      FeatureEntry entry = op.entries.get(i);
+      if (failingPositions.contains(i)) {
+        assertNotNull("Entry " + i + " must fail.", entry.exception);
+        assertEquals("The record {F" + i + "} exists.", entry.exception.getMessage());
+        assertNull(entry.result);
+      }
+      else {
+        assertNull("Entry " + i + " must not fail.", entry.exception);
+        assertNotNull(entry.result);
+        assertEquals("F" + i, entry.result.getId());
+      }
+    }
+  }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class FairQueueTest {
+
+  private static class TestElement implements ByteSizeAware {
+
+    final String key;
+    final int byteSize;
+
+    TestElement(String key) {
+      this(key, 1);
+    }
+
+    TestElement(String key, int byteSize) {
+      this.key = key;
+      this.byteSize = byteSize;
+    }
+
+    @Override
+    public long getByteSize() {
+      return byteSize;
+    }
+  }
+
+  private static FairQueue<TestElement> createQueue(Map<String, Integer> weights, int maxInflightPerKey) {
+    FairQueue<TestElement> queue = new FairQueue<>(e -> e.key, () -> new LimitedQueue<>(Long.MAX_VALUE, Long.MAX_VALUE),
+        key -> weights.getOrDefault(key, 1), maxInflightPerKey);
+    queue.setMaxSize(1000);
+    queue.setMaxByteSize(1000);
+    return queue;
+  }
+
+  private static String removeKeys(FairQueue<TestElement> queue, int count) {
+    StringBuilder keys = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      TestElement element = queue.remove();
+      keys.append(element == null ? "-" : element.key);
+    }
+    return keys.toString();
+  }
+
+  private static void addAll(FairQueue<TestElement> queue, String key, int count) {
+    for (int i = 0; i < count; i++)
+      queue.add(new TestElement(key));
+  }
+
+  @Test
+  public void roundRobin() {
+    FairQueue<TestElement> queue = createQueue(Collections.emptyMap(), 0);
+    addAll(queue, "A", 6);
+    addAll(queue, "B", 2);
+    addAll(queue, "C", 1);
+    assertEquals(9, queue.getSize());
+
+    //A key with many queued elements does not delay the others
+    assertEquals("ABCABAAAA", removeKeys(queue, 9));
+    assertEquals(0, queue.getSize());
+    assertNull(queue.remove());
+  }
+
+  @Test
+  public void orderWithinKey() {
+    FairQueue<TestElement> queue = createQueue(Collections.emptyMap(), 0);
+    TestElement a1 = new TestElement("A"), a2 = new TestElement("A"), b1 = new TestElement("B");
+    queue.add(a1);
+    queue.add(a2);
+    queue.add(b1);
+    assertEquals(a1, queue.remove());
+    assertEquals(b1, queue.remove());
+    assertEquals(a2, queue.remove());
+  }
+
+  @Test
+  public void weights() {
+    FairQueue<TestElement> queue = createQueue(Collections.singletonMap("A", 3), 0);
+    addAll(queue, "A", 9);
+    addAll(queue, "B", 3);
+
+    //A gets three turns for each turn of B
+    assertEquals("AAABAAABAAAB", removeKeys(queue, 12));
+  }
+
+  @Test
+  public void inflightCap() {
+    FairQueue<TestElement> queue = createQueue(Collections.emptyMap(), 2);
+    addAll(queue, "A", 4);
+    addAll(queue, "B", 1);
+
+    assertEquals("ABA", removeKeys(queue, 3));
+    //A has reached its cap, B has nothing queued anymore
+    assertNull(queue.remove());
+    assertEquals(2, queue.getSize());
+
+    queue.release(new TestElement("A"));
+    assertEquals("A-", removeKeys(queue, 2));
+    queue.release(new TestElement("A"));
+    queue.release(new TestElement("A"));
+    assertEquals("A", removeKeys(queue, 1));
+    assertEquals(0, queue.getSize());
+  }
+
+  @Test
+  public void tryAcquire() {
+    FairQueue<TestElement> queue = createQueue(Collections.emptyMap(), 1);
+    assertTrue(queue.tryAcquire(new TestElement("A")));
+    assertFalse(queue.tryAcquire(new TestElement("A")));
+    assertTrue(queue.tryAcquire(new TestElement("B")));
+
+    //Elements of the capped key stay queued until the inflight element is released
+    queue.add(new TestElement("A"));
+    assertNull(queue.remove());
+    queue.release(new TestElement("A"));
+    assertEquals("A", removeKeys(queue, 1));
+    assertFalse(queue.tryAcquire(new TestElement("A")));
+  }
+
+  @Test
+  public void emptyKeyIsNotCapped() {
+    FairQueue<TestElement> queue = createQueue(Collections.emptyMap(), 1);
+    for (int i = 0; i < 5; i++)
+      assertTrue(queue.tryAcquire(new TestElement("")));
+    addAll(queue, "", 3);
+    for (int i = 0; i < 3; i++)
+      assertEquals("", queue.remove().key);
+    assertEquals(0, queue.getSize());
+  }
+
+  @Test
+  public void discardFromLargestKey() {
+    FairQueue<TestElement> queue = createQueue(Collections.emptyMap(), 0);
+    queue.setMaxByteSize(10);
+    queue.add(new TestElement("A", 3));
+    queue.add(new TestElement("B", 2));
+    queue.add(new TestElement("B", 2));
+    queue.add(new TestElement("B", 2));
+
+    List<TestElement> discarded = queue.add(new TestElement("A", 2));
+    assertEquals(1, discarded.size());
+    assertEquals("B", discarded.get(0).key);
+    assertEquals(9, queue.getByteSize());
+
+    List<String> remaining = new ArrayList<>();
+    TestElement element;
+    while ((element = queue.remove()) != null)
+      remaining.add(element.key);
+    assertEquals(4, remaining.size());
+    assertEquals(2, Collections.frequency(remaining, "A"));
+  }
+}
@@ -28,6 +28,7 @@ import com.here.xyz.hub.Service.Config;
 import com.here.xyz.hub.util.LimitedOffHeapQueue.OffHeapBuffer;
 import com.here.xyz.hub.util.LimitedOffHeapQueue.PayloadVanishedException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Comparator;
 import java.util.List;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -46,12 +47,25 @@ public class LimitedQueueTest {
 
   public class TestElement extends OffHeapBuffer {
 
+    final int rank;
+
     TestElement(int byteSize) {
+      this(byteSize, 0);
+    }
+
+    TestElement(int byteSize, int rank) {
       super(new byte[byteSize]);
+      this.rank = rank;
     }
 
   }
 
+  /**
+   * Orders the elements by their rank and elements with the same rank by their identity, so that the order is consistent with equals.
+   */
+  private static final Comparator<TestElement> ORDER = Comparator.<TestElement>comparingInt(e -> e.rank)
+      .thenComparingInt(System::identityHashCode);
+
   private <E extends ByteSizeAware> LimitedQueue<E> getQueueInstance(long maxSize,
       long maxByteSize) {
     try {
@@ -63,6 +77,16 @@ public class LimitedQueueTest {
     }
   }
 
+  private LimitedQueue<TestElement> getOrderedQueueInstance(long maxSize, long maxByteSize) {
+    try {
+      return getQueueClass().getConstructor(Long.TYPE, Long.TYPE, Comparator.class).newInstance(maxSize, maxByteSize, ORDER);
+    }
+    catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+      e.printStackTrace();
+      return null;
+    }
+  }
+
   @Test
   public void addTooLargeElement() {
     LimitedQueue<TestElement> queue = getQueueInstance(3, 100);
@@ -224,4 +248,71 @@ public class LimitedQueueTest {
     assertThrows(IllegalStateException.class, () -> element1.getPayload());
     assertThrows(IllegalStateException.class, () -> element1.consumePayload());
   }
+
+  @Test
+  public void orderedRemove() {
+    LimitedQueue<TestElement> queue = getOrderedQueueInstance(10, 100);
+    TestElement element1 = new TestElement(1, 1);
+    TestElement element2 = new TestElement(2, 2);
+    TestElement element3 = new TestElement(3, 3);
+
+    queue.add(element3);
+    queue.add(element1);
+    queue.add(element2);
+    assertEquals("Expected were 3 elements.", 3, queue.getSize());
+    assertEquals("Expected were 6 bytes.", 6, queue.getByteSize());
+
+    assertEquals("Expected the first element in order to be removed", element1, queue.remove());
+    assertEquals("Expected were 2 elements.", 2, queue.getSize());
+    assertEquals("Expected were 5 bytes.", 5, queue.getByteSize());
+    assertEquals("Expected the second element in order to be removed", element2, queue.remove());
+    assertEquals("Expected the last element in order to be removed", element3, queue.remove());
+    assertNull("Expected no elements were removed", queue.remove());
+    assertEquals("Expected were 0 elements.", 0, queue.getSize());
+    assertEquals("Expected were 0 bytes.", 0, queue.getByteSize());
+  }
+
+  @Test
+  public void orderedDiscard() {
+    LimitedQueue<TestElement> queue = getOrderedQueueInstance(2, 100);
+    TestElement element1 = new TestElement(1, 1);
+    TestElement element2 = new TestElement(1, 2);
+    TestElement element3 = new TestElement(1, 3);
+
+    queue.add(element1);
+    queue.add(element3);
+    List<TestElement> discarded = queue.add(element2);
+    assertEquals(1, discarded.size());
+    assertEquals("The last element in order must be discarded.", element3, discarded.get(0));
+    assertEquals("Expected were 2 elements.", 2, queue.getSize());
+
+    //A new element which is the last one in order is discarded itself
+    TestElement element4 = new TestElement(1, 4);
+    discarded = queue.add(element4);
+    assertEquals(1, discarded.size());
+    assertEquals("The new element must be discarded.", element4, discarded.get(0));
+
+    discarded = queue.setMaxSize(1);
+    assertEquals(1, discarded.size());
+    assertEquals("The last element in order must be discarded.", element2, discarded.get(0));
+    assertEquals("Expected was 1 element.", 1, queue.getSize());
+    assertEquals("Expected was 1 byte.", 1, queue.getByteSize());
+    assertEquals(element1, queue.remove());
+  }
+
+  @Test
+  public void orderedDiscardBytes() {
+    LimitedQueue<TestElement> queue = getOrderedQueueInstance(10, 100);
+    TestElement element1 = new TestElement(40, 1);
+    TestElement element2 = new TestElement(40, 2);
+    TestElement element3 = new TestElement(40, 3);
+
+    queue.add(element3);
+    queue.add(element2);
+    List<TestElement> discarded = queue.add(element1);
+    assertEquals(1, discarded.size());
+    assertEquals("The last element in order must be discarded.", element3, discarded.get(0));
+    assertEquals("Expected were 2 elements.", 2, queue.getSize());
+    assertEquals("Expected were 80 bytes.", 80, queue.getByteSize());
+  }
 }
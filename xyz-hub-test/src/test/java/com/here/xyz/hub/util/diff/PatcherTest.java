@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.diff;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.hub.util.diff.Difference.DiffList;
+import com.here.xyz.hub.util.diff.Difference.DiffMap;
+import com.here.xyz.hub.util.diff.Difference.Insert;
+import com.here.xyz.hub.util.diff.Difference.Remove;
+import com.here.xyz.hub.util.diff.Difference.Update;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.coordinates.PositionList;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class PatcherTest {
+
+  private static List<Object> list(Object... items) {
+    return new ArrayList<>(Arrays.asList(items));
+  }
+
+  /**
+   * Asserts that both lists differ and that the difference records the lengths of both lists.
+   */
+  private static DiffList assertListDifference(List<?> source, List<?> target) {
+    final Difference diff = Patcher.getDifference(source, target);
+    assertTrue(diff instanceof DiffList);
+    assertEquals(source.size(), ((DiffList) diff).originalLength);
+    assertEquals(target.size(), ((DiffList) diff).newLength);
+
+    return (DiffList) diff;
+  }
+
+  @Test
+  public void equalPrefixThenChange() {
+    final DiffList diff = assertListDifference(list(1, 2, 3, 4), list(1, 2, 9, 4));
+    assertEquals(4, diff.size());
+    assertNull(diff.get(0));
+    assertNull(diff.get(1));
+    assertTrue(diff.get(2) instanceof Update);
+    assertEquals(3, ((Update) diff.get(2)).oldValue());
+    assertEquals(9, ((Update) diff.get(2)).newValue());
+    assertNull(diff.get(3));
+  }
+
+  @Test
+  public void equalPrefixThenNestedChange() {
+    final List<Object> source = list(new JsonObject().put("a", 1).getMap(), new JsonObject().put("b", 2).getMap());
+    final List<Object> target = list(new JsonObject().put("a", 1).getMap(), new JsonObject().put("b", 3).getMap());
+    final DiffList diff = assertListDifference(source, target);
+    assertNull(diff.get(0));
+    assertTrue(diff.get(1) instanceof DiffMap);
+    assertTrue(((DiffMap) diff.get(1)).get("b") instanceof Update);
+  }
+
+  @Test
+  public void longerTarget() {
+    final DiffList diff = assertListDifference(list(1, 2), list(1, 2, 3, 4));
+    assertEquals(Arrays.asList(null, null), diff.subList(0, 2));
+    assertTrue(diff.get(2) instanceof Insert);
+    assertEquals(3, ((Insert) diff.get(2)).newValue());
+    assertTrue(diff.get(3) instanceof Insert);
+    assertEquals(4, ((Insert) diff.get(3)).newValue());
+  }
+
+  @Test
+  public void shorterTarget() {
+    final DiffList diff = assertListDifference(list(1, 2, 3, 4), list(1, 2));
+    assertEquals(Arrays.asList(null, null), diff.subList(0, 2));
+    assertTrue(diff.get(2) instanceof Remove);
+    assertEquals(3, ((Remove) diff.get(2)).oldValue());
+    assertTrue(diff.get(3) instanceof Remove);
+    assertEquals(4, ((Remove) diff.get(3)).oldValue());
+  }
+
+  @Test
+  public void differentLengthAndChange() {
+    final DiffList diff = assertListDifference(list(1, 2, 3), list(1, 5, 3, 4));
+    assertEquals(4, diff.size());
+    assertNull(diff.get(0));
+    assertTrue(diff.get(1) instanceof Update);
+    assertNull(diff.get(2));
+    assertTrue(diff.get(3) instanceof Insert);
+  }
+
+  @Test
+  public void identicalInstances() {
+    final List<Object> list = list(1, new JsonObject().put("a", 1).getMap(), list(1, 2));
+    assertNull(Patcher.getDifference(list, list));
+    assertNull("Lists sharing the item instances are equal.", Patcher.getDifference(list, list(list.toArray())));
+
+    final Map<String, Object> map = new JsonObject().put("list", list).getMap();
+    assertNull(Patcher.getDifference(map, map));
+    assertNull(Patcher.getDifference(map, new JsonObject().put("list", list).getMap()));
+  }
+
+  @Test
+  public void equalCopies() {
+    final JsonObject source = new JsonObject().put("coordinates", new JsonArray().add(new JsonArray().add(1.5).add(2)).add(new JsonArray()
+        .add(3).add(4.25)));
+    assertNull(Patcher.getDifference(source.getMap(), source.copy().getMap()));
+    assertNull(Patcher.getDifference(list(1, 2L, 3.0), list(1L, 2, 3)));
+  }
+
+  @Test
+  public void emptyLists() {
+    assertNull(Patcher.getDifference(list(), list()));
+    assertNull(Patcher.getDifference(list(), Collections.emptyList()));
+
+    final DiffList inserted = assertListDifference(list(), list(1));
+    assertEquals(1, inserted.size());
+    assertTrue(inserted.get(0) instanceof Insert);
+
+    final DiffList removed = assertListDifference(list(1), list());
+    assertEquals(1, removed.size());
+    assertTrue(removed.get(0) instanceof Remove);
+  }
+
+  private static Map<String, Object> map(Object... keysAndValues) {
+    final Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return map;
+  }
+
+  private static PositionList positions(double... values) {
+    final PositionList positions = new PositionList();
+    for (int i = 0; i < values.length; i += 2) {
+      positions.addPosition(values[i], values[i + 1]);
+    }
+    return positions;
+  }
+
+  @Test
+  public void changedPosition() {
+    final Map<String, Object> source = map("type", "LineString", "coordinates", list(list(1, 2), list(3, 4)));
+    final Map<String, Object> target = map("type", "LineString", "coordinates", list(list(1, 2), list(3, 5)));
+
+    final Difference diff = Patcher.getDifference(source, target);
+    assertTrue(diff instanceof DiffMap);
+    final DiffList coordinatesDiff = (DiffList) ((DiffMap) diff).get("coordinates");
+    assertNull(coordinatesDiff.get(0));
+    assertTrue("A changed position is updated as a whole.", coordinatesDiff.get(1) instanceof Update);
+    assertEquals(list(3, 5), ((Update) coordinatesDiff.get(1)).newValue());
+
+    assertNull(Patcher.getDifference(source, map("type", "LineString", "coordinates", list(list(1, 2), list(3.0, 4L)))));
+  }
+
+  @Test
+  public void positionLists() {
+    assertNull(Patcher.getDifference(positions(1, 2, 3, 4), positions(1, 2, 3, 4)));
+    assertNull(Patcher.getDifference(positions(1, 2, 3, 4), list(list(1, 2), list(3.0, 4L))));
+
+    final PositionList target = positions(1, 2, 3, 5);
+    final DiffList diff = assertListDifference(positions(1, 2, 3, 4), target);
+    assertNull(diff.get(0));
+    final Update update = (Update) diff.get(1);
+    assertEquals(new Position(3, 4), update.oldValue());
+    assertEquals(new Position(3, 5), update.newValue());
+
+    target.set(1, new Position(6, 7));
+    assertEquals("The update is detached from the position list.", new Position(3, 5), update.newValue());
+
+    final DiffList inserted = assertListDifference(positions(1, 2), positions(1, 2, 3, 4));
+    assertEquals(new Position(3, 4), ((Insert) inserted.get(1)).newValue());
+    final DiffList removed = assertListDifference(positions(1, 2, 3, 4), list(list(1, 2)));
+    assertEquals(new Position(3, 4), ((Remove) removed.get(1)).oldValue());
+  }
+
+  @Test
+  public void coordinatesOfNoGeometry() {
+    final Map<String, Object> source = map("coordinates", list(list(1, 2)));
+    final Map<String, Object> target = map("coordinates", list(list(1, 5)));
+
+    final DiffList diff = (DiffList) ((DiffMap) Patcher.getDifference(source, target)).get("coordinates");
+    assertTrue("Members named coordinates of other objects are compared per value.", diff.get(0) instanceof DiffList);
+  }
+
+  @Test
+  public void mergePatch() {
+    final Map<String, Object> source = map("a", 1, "b", "x", "nested", map("c", 1, "d", 2), "list", list(1, 2, 3));
+    assertNull(Patcher.getMergePatch(source, map("a", 1, "b", "x", "nested", map("c", 1, "d", 2), "list", list(1, 2, 3))));
+
+    final Map<String, Object> target = map("a", 1, "nested", map("c", 1, "d", 3), "list", list(1, 9, 3), "e", true);
+    final Map<String, Object> mergePatch = Patcher.getMergePatch(source, target);
+    assertEquals(4, mergePatch.size());
+    assertFalse(mergePatch.containsKey("a"));
+    assertTrue("A removed member is null in the merge patch.", mergePatch.containsKey("b"));
+    assertNull(mergePatch.get("b"));
+    assertEquals(true, mergePatch.get("e"));
+    assertEquals(map("d", 3), mergePatch.get("nested"));
+    assertEquals("A changed list is contained completely.", list(1, 9, 3), mergePatch.get("list"));
+  }
+}
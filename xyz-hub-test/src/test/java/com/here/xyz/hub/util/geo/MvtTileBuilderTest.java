@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.geo;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.models.geojson.WebMercatorTile;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+
+public class MvtTileBuilderTest {
+
+  private static final WebMercatorTile TILE = WebMercatorTile.forWeb(0, 0, 0);
+
+  /**
+   * Creates points, lines and polygons with varying properties, which are spread over the whole world, so that some of them are clipped.
+   */
+  private static List<Feature> features(int count) throws Exception {
+    final Random random = new Random(42);
+    final StringBuilder sb = new StringBuilder("{\"type\":\"FeatureCollection\",\"features\":[");
+    for (int i = 0; i < count; i++) {
+      final double lon = random.nextDouble() * 360 - 180;
+      final double lat = random.nextDouble() * 160 - 80;
+      final String geometry;
+      switch (i % 3) {
+        case 0:
+          geometry = String.format(Locale.US, "{\"type\":\"Point\",\"coordinates\":[%f,%f]}", lon, lat);
+          break;
+        case 1:
+          geometry = String.format(Locale.US, "{\"type\":\"LineString\",\"coordinates\":[[%f,%f],[%f,%f],[%f,%f]]}",
+              lon, lat, lon + 15, lat + 5, lon + 30, lat - 5);
+          break;
+        default:
+          geometry = String.format(Locale.US, "{\"type\":\"Polygon\",\"coordinates\":[[[%f,%f],[%f,%f],[%f,%f],[%f,%f]]]}",
+              lon, lat, lon + 10, lat, lon + 10, lat + 5, lon, lat);
+      }
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"type\":\"Feature\",\"id\":\"F").append(i).append("\",\"geometry\":").append(geometry)
+          .append(",\"properties\":{\"name\":\"f").append(i).append("\",\"value\":").append(i % 7)
+          .append(",\"flag\":").append(i % 2 == 0).append("}}");
+    }
+    sb.append("]}");
+    return XyzSerializable.<FeatureCollection>deserialize(sb.toString()).getFeatures();
+  }
+
+  private static void assertSameAsSequential(MvtTileBuilder builder, List<Feature> features) throws Exception {
+    final byte[] sequential = builder.build(TILE, 16, "test", features, Integer.MAX_VALUE);
+    assertTrue(sequential.length > 0);
+
+    assertArrayEquals(sequential, builder.build(TILE, 16, "test", features));
+    //Split the features into many small chunks, so that their geometries are processed concurrently
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(sequential, builder.build(TILE, 16, "test", features, 16));
+    }
+  }
+
+  @Test
+  public void parallelEncodingIsDeterministic() throws Exception {
+    assertSameAsSequential(new MapBoxVectorTileBuilder(), features(3000));
+  }
+
+  @Test
+  public void parallelFlattenedEncodingIsDeterministic() throws Exception {
+    assertSameAsSequential(new MapBoxVectorTileFlattenedBuilder(), features(3000));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.hub.util.geo;
+
+import static com.here.xyz.hub.util.geo.GeoTools.WEB_MERCATOR_EPSG;
+import static com.here.xyz.hub.util.geo.GeoTools.WGS84_EPSG;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.models.geojson.implementation.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.PrecisionModel;
+import org.geotools.geometry.jts.JTS;
+import org.junit.Test;
+import org.opengis.referencing.operation.MathTransform;
+
+public class WebMercatorProjectorTest {
+
+  private static final String[] GEOMETRIES = {
+      "{\"type\":\"Point\",\"coordinates\":[13.4050,52.5200]}",
+      "{\"type\":\"Point\",\"coordinates\":[-179.9,-85]}",
+      "{\"type\":\"MultiPoint\",\"coordinates\":[[0,0],[180,85],[-73.9857,40.7484,10]]}",
+      "{\"type\":\"LineString\",\"coordinates\":[[-122.4194,37.7749],[139.6917,35.6895],[151.2093,-33.8688]]}",
+      "{\"type\":\"MultiLineString\",\"coordinates\":[[[0,0],[1,1]],[[-45,-45],[45,45],[90,-60]]]}",
+      "{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[10,0],[10,10],[0,10],[0,0]],[[2,2],[2,4],[4,4],[4,2],[2,2]]]}",
+      "{\"type\":\"MultiPolygon\",\"coordinates\":[[[[0,0],[10,0],[10,10],[0,0]]],[[[-170,-80],[-160,-80],[-160,-70],[-170,-80]]]]}",
+      "{\"type\":\"GeometryCollection\",\"geometries\":[{\"type\":\"Point\",\"coordinates\":[8.6821,50.1109]},"
+          + "{\"type\":\"LineString\",\"coordinates\":[[-10,-10],[20,30]]}]}"
+  };
+
+  private static WebMercatorProjector projector() {
+    return new WebMercatorProjector(new GeometryFactory(new PrecisionModel()));
+  }
+
+  @Test
+  public void sameAsGeoTools() throws Exception {
+    final MathTransform transform = GeoTools.mathTransform(WGS84_EPSG, WEB_MERCATOR_EPSG);
+    for (String json : GEOMETRIES) {
+      final Geometry geometry = XyzSerializable.deserialize(json);
+      final com.vividsolutions.jts.geom.Geometry expected = JTS.transform(geometry.getJTSGeometry(), transform);
+      final com.vividsolutions.jts.geom.Geometry actual = projector().project(geometry);
+      assertTrue(json + " was projected to " + actual + " instead of " + expected, expected.equalsExact(actual, 0.001));
+    }
+  }
+
+  @Test
+  public void skipMembersWithoutCoordinates() throws Exception {
+    final Geometry collection = XyzSerializable.deserialize("{\"type\":\"GeometryCollection\",\"geometries\":["
+        + "{\"type\":\"Point\",\"coordinates\":null},{\"type\":\"Point\",\"coordinates\":[0,0]},"
+        + "{\"type\":\"LineString\",\"coordinates\":null}]}");
+    final com.vividsolutions.jts.geom.Geometry projected = projector().project(collection);
+    assertEquals(1, projected.getNumGeometries());
+    assertEquals("Point", projected.getGeometryN(0).getGeometryType());
+
+    assertNull(projector().project(XyzSerializable.deserialize(
+        "{\"type\":\"GeometryCollection\",\"geometries\":[{\"type\":\"Point\",\"coordinates\":null}]}")));
+    assertNull(projector().project(XyzSerializable.deserialize("{\"type\":\"GeometryCollection\",\"geometries\":[]}")));
+  }
+}
@@ -72,7 +72,10 @@ public class LazyParsable<T> {
     }
   }
 
-  private String getValueString() {
+  /**
+   * @return The raw string of the value, if it was not parsed yet, otherwise null.
+   */
+  public String getValueString() {
     return valueString;
   }
 
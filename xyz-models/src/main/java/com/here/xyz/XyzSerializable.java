@@ -32,6 +32,7 @@ import com.here.xyz.models.hub.Space.Static;
 import com.here.xyz.responses.ErrorResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -156,6 +157,17 @@ public interface XyzSerializable {
     }
   }
 
+  /**
+   * Writes the UTF-8 encoded JSON representation of this object directly into the given output stream. In contrast to
+   * {@link #serialize()} no intermediate string representation of the whole object is created.
+   * The output stream will be closed after the object has been written.
+   *
+   * @param os the stream to write to
+   */
+  default void writeTo(OutputStream os) throws IOException {
+    DEFAULT_MAPPER.get().writeValue(os, this);
+  }
+
   default <T extends XyzSerializable> T copy() {
     try {
       //noinspection unchecked
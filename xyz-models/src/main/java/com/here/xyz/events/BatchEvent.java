@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.here.xyz.responses.BatchResponse;
+import java.util.List;
+
+/**
+ * An envelope for multiple events which are sent to the same storage connector within one invocation.
+ * The storage connector processes all contained events and responds with a {@link BatchResponse}, which contains the responses in the
+ * same order as the events.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonTypeName(value = "BatchEvent")
+public final class BatchEvent extends Event<BatchEvent> {
+
+  private List<Event> events;
+
+  /**
+   * @return the events to be processed
+   */
+  @SuppressWarnings("rawtypes")
+  public List<Event> getEvents() {
+    return events;
+  }
+
+  @SuppressWarnings("rawtypes")
+  public void setEvents(List<Event> events) {
+    this.events = events;
+  }
+
+  @SuppressWarnings("rawtypes")
+  public BatchEvent withEvents(List<Event> events) {
+    setEvents(events);
+    return this;
+  }
+}
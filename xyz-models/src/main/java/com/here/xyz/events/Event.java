@@ -66,7 +66,8 @@ import java.util.Map;
     @JsonSubTypes.Type(value = DeleteChangesetsEvent.class, name = "DeleteChangesetsEvent"),
     @JsonSubTypes.Type(value = IterateChangesetsEvent.class, name = "IterateChangesetsEvent"),
     @JsonSubTypes.Type(value = GetChangesetStatisticsEvent.class, name = "GetChangesetStatisticsEvent"),
-    @JsonSubTypes.Type(value = OneTimeActionEvent.class, name = "OneTimeActionEvent")
+    @JsonSubTypes.Type(value = OneTimeActionEvent.class, name = "OneTimeActionEvent"),
+    @JsonSubTypes.Type(value = BatchEvent.class, name = "BatchEvent")
 })
 @JsonIgnoreProperties(ignoreUnknown = true)
 public abstract class Event<T extends Event> extends Payload {
@@ -80,6 +81,10 @@ public abstract class Event<T extends Event> extends Payload {
   @JsonView(ExcludeFromHash.class)
   private Boolean preferPrimaryDataSource;
   @JsonView(ExcludeFromHash.class)
+  private Long timeSinceLatestWrite;
+  @JsonView(ExcludeFromHash.class)
+  private Boolean acceptBinaryFeatureCollection;
+  @JsonView(ExcludeFromHash.class)
   private Map<String, Object> params;
   private TrustedParams trustedParams;
   private String space;
@@ -324,6 +329,53 @@ public abstract class Event<T extends Event> extends Payload {
     return (T) this;
   }
 
+  /**
+   * The time in milliseconds which has passed since the latest write to the space as it has been seen by the sender of the event.
+   * It is measured by the sender when the event gets sent, so that it does not depend on the clocks of the sender and the connector being
+   * in sync. A connector which uses replica data sources may use it to decide whether a replica has already caught up with that write or
+   * whether the primary data source should be used instead.
+   *
+   * @return the time since the latest write or null, if no recent write is known
+   */
+  @SuppressWarnings("unused")
+  public Long getTimeSinceLatestWrite() {
+    return this.timeSinceLatestWrite;
+  }
+
+  @SuppressWarnings("WeakerAccess")
+  public void setTimeSinceLatestWrite(Long timeSinceLatestWrite) {
+    this.timeSinceLatestWrite = timeSinceLatestWrite;
+  }
+
+  @SuppressWarnings("unused")
+  public T withTimeSinceLatestWrite(Long timeSinceLatestWrite) {
+    setTimeSinceLatestWrite(timeSinceLatestWrite);
+    //noinspection unchecked
+    return (T) this;
+  }
+
+  /**
+   * A boolean parameter, which tells the connector, that the sender is able to decode feature collections, which are encoded as
+   * {@link com.here.xyz.responses.BinaryFeatureCollection}.
+   *
+   * @return if a binary encoded feature collection is accepted as response
+   */
+  public Boolean getAcceptBinaryFeatureCollection() {
+    return this.acceptBinaryFeatureCollection;
+  }
+
+  @SuppressWarnings("WeakerAccess")
+  public void setAcceptBinaryFeatureCollection(Boolean acceptBinaryFeatureCollection) {
+    this.acceptBinaryFeatureCollection = acceptBinaryFeatureCollection;
+  }
+
+  @SuppressWarnings("unused")
+  public T withAcceptBinaryFeatureCollection(Boolean acceptBinaryFeatureCollection) {
+    setAcceptBinaryFeatureCollection(acceptBinaryFeatureCollection);
+    //noinspection unchecked
+    return (T) this;
+  }
+
   /**
    * The version of the event protocol.
    *
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017-2019 HERE Europe B.V.
+ * Copyright (C) 2017-2023 HERE Europe B.V.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ package com.here.xyz.models.geojson.coordinates;
 
 import com.here.xyz.models.geojson.implementation.GeometryItem;
 import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
 import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.GeometryCollection;
 import com.vividsolutions.jts.geom.GeometryFactory;
@@ -82,13 +83,7 @@ public class JTSHelper {
       return null;
     }
 
-    Coordinate[] jtsCoords = new Coordinate[coords.size()];
-
-    for (int i = 0; i < jtsCoords.length; i++) {
-      jtsCoords[i] = toCoordinate(coords.get(i));
-    }
-
-    return JTSHelper.factory.createLineString(jtsCoords);
+    return JTSHelper.factory.createLineString(toCoordinates(coords));
   }
 
   /**
@@ -154,13 +149,20 @@ public class JTSHelper {
       return null;
     }
 
+    return factory.createLinearRing(toCoordinates(coords));
+  }
+
+  /**
+   * Creates the JTS Coordinates directly from the packed coordinates of the given positions.
+   */
+  public static Coordinate[] toCoordinates(PositionList coords) {
     Coordinate[] jtsCoords = new Coordinate[coords.size()];
 
     for (int i = 0; i < jtsCoords.length; i++) {
-      jtsCoords[i] = toCoordinate(coords.get(i));
+      jtsCoords[i] = new Coordinate(coords.getLongitude(i), coords.getLatitude(i), coords.getAltitude(i));
     }
 
-    return factory.createLinearRing(jtsCoords);
+    return jtsCoords;
   }
 
   /**
@@ -270,16 +272,27 @@ public class JTSHelper {
       return null;
     }
 
-    int len = geom.getNumPoints();
-    LineStringCoordinates lineStringCoordinates = new LineStringCoordinates(len);
-
-    for (int i = 0; i < len; i++) {
-      lineStringCoordinates.add(createPosition(geom.getCoordinateN(i)));
-    }
+    LineStringCoordinates lineStringCoordinates = new LineStringCoordinates(geom.getNumPoints());
+    addPositions(geom.getCoordinateSequence(), lineStringCoordinates);
 
     return lineStringCoordinates;
   }
 
+  /**
+   * Adds the coordinates of the given sequence to the packed coordinates of the given positions.
+   */
+  private static void addPositions(CoordinateSequence sequence, PositionList positions) {
+    final boolean hasZ = sequence.getDimension() > 2;
+    for (int i = 0; i < sequence.size(); i++) {
+      final double z = hasZ ? sequence.getOrdinate(i, CoordinateSequence.Z) : Double.NaN;
+      if (Double.isNaN(z)) {
+        positions.addPosition(sequence.getX(i), sequence.getY(i));
+      } else {
+        positions.addPosition(sequence.getX(i), sequence.getY(i), z);
+      }
+    }
+  }
+
   /**
    * Create GeoJSON MultiLineString coordinates.
    */
@@ -306,12 +319,8 @@ public class JTSHelper {
       return null;
     }
 
-    int len = geom.getNumPoints();
-    LinearRingCoordinates linearRingCoordinates = new LinearRingCoordinates(len);
-
-    for (int i = 0; i < len; i++) {
-      linearRingCoordinates.add(createPosition(geom.getCoordinateN(i)));
-    }
+    LinearRingCoordinates linearRingCoordinates = new LinearRingCoordinates(geom.getNumPoints());
+    addPositions(geom.getCoordinateSequence(), linearRingCoordinates);
 
     return linearRingCoordinates;
   }
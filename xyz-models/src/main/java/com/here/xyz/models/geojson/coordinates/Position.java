@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017-2019 HERE Europe B.V.
+ * Copyright (C) 2017-2023 HERE Europe B.V.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,8 +41,6 @@ public class Position extends ArrayList<Double> implements IBoundedCoordinates {
 
   public Position(double longitude, double latitude, double altitude) {
     this(longitude, latitude);
-    this.add(LONGITUDE, longitude);
-    this.add(LATITUDE, latitude);
     this.add(ALTITUDE, altitude);
   }
 
@@ -96,9 +94,7 @@ public class Position extends ArrayList<Double> implements IBoundedCoordinates {
   }
 
   public Double setLongitude(Double longitude) {
-    Double old = this.remove(LONGITUDE);
-    this.add(LONGITUDE, longitude);
-    return old;
+    return this.set(LONGITUDE, longitude);
   }
 
   public Double getLatitude() {
@@ -106,9 +102,7 @@ public class Position extends ArrayList<Double> implements IBoundedCoordinates {
   }
 
   public Double setLatitude(Double latitude) {
-    Double old = this.remove(LATITUDE);
-    this.add(LATITUDE, latitude);
-    return old;
+    return this.set(LATITUDE, latitude);
   }
 
   public Double getAltitude() {
@@ -116,9 +110,11 @@ public class Position extends ArrayList<Double> implements IBoundedCoordinates {
   }
 
   public Double setAltitude(Double altitude) {
-    Double old = this.size() > 2 ? this.remove(ALTITUDE) : null;
+    if (this.size() > 2) {
+      return this.set(ALTITUDE, altitude);
+    }
     this.add(ALTITUDE, altitude);
-    return old;
+    return null;
   }
 
   public BBox calculateBBox() {
@@ -1,5 +1,5 @@
 /*
- * Copyright (C) 2017-2019 HERE Europe B.V.
+ * Copyright (C) 2017-2023 HERE Europe B.V.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,23 +19,442 @@
 
 package com.here.xyz.models.geojson.coordinates;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.here.xyz.models.geojson.declaration.IBoundedCoordinates;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
- * A list of positions.
+ * A list of positions, which stores all coordinates packed in a single double array instead of boxing every value.
+ *
+ * Each position occupies {@link #getStride() stride} values in the array (longitude, latitude and optionally altitude). Missing values,
+ * for example the altitude of a two-dimensional position in a list that also contains three-dimensional positions, are stored as NaN.
+ * Positions with less than two or more than three values are kept as they are, so that they can be reported by the validation of the
+ * geometry.
+ *
+ * The {@link Position} instances returned by {@link #get(int)} are views created on access. Setting one of their values writes through to
+ * the list, while changing their size (e.g. adding an altitude) is not supported, use {@link #set(int, Position)} instead. A view becomes
+ * invalid, once positions are added to or removed from the list. Performance critical code should use the primitive accessors, like
+ * {@link #getLongitude(int)}.
  */
-public class PositionList extends ArrayList<Position> implements IBoundedCoordinates {
+@JsonSerialize(using = PositionList.Serializer.class)
+@JsonDeserialize(using = PositionList.Deserializer.class)
+public class PositionList extends AbstractList<Position> implements RandomAccess, IBoundedCoordinates {
+
+  private static final int MIN_STRIDE = 2;
+  private static final int DEFAULT_CAPACITY = 8;
+
+  private double[] coordinates;
+  private int stride = MIN_STRIDE;
+  private int size;
 
   public PositionList() {
-    super();
+    this(DEFAULT_CAPACITY);
   }
 
   public PositionList(int size) {
-    super(size);
+    coordinates = new double[Math.max(size, 1) * MIN_STRIDE];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return The amount of values, which are stored per position.
+   */
+  public int getStride() {
+    return stride;
+  }
+
+  public double getLongitude(int index) {
+    return coordinates[offset(index)];
+  }
+
+  public double getLatitude(int index) {
+    return coordinates[offset(index) + 1];
+  }
+
+  /**
+   * @return The altitude of the position at the given index or NaN, if the position has no altitude.
+   */
+  public double getAltitude(int index) {
+    return stride > 2 ? coordinates[offset(index) + 2] : Double.NaN;
+  }
+
+  /**
+   * @return The amount of values of the position at the given index, e.g. 3 for a position with altitude.
+   */
+  public int getDimension(int index) {
+    final int offset = offset(index);
+    int dimension = stride;
+    while (dimension > 0 && Double.isNaN(coordinates[offset + dimension - 1])) {
+      dimension--;
+    }
+    return dimension;
+  }
+
+  @Override
+  public Position get(int index) {
+    return new PositionView(index);
+  }
+
+  /**
+   * @return A detached copy of the position at the given index.
+   */
+  private Position copy(int index) {
+    final int offset = offset(index);
+    switch (getDimension(index)) {
+      case 2:
+        return new Position(coordinates[offset], coordinates[offset + 1]);
+      case 3:
+        return new Position(coordinates[offset], coordinates[offset + 1], coordinates[offset + 2]);
+      default:
+        final Position position = new Position();
+        for (int i = 0; i < getDimension(index); i++) {
+          position.add(coordinates[offset + i]);
+        }
+        return position;
+    }
+  }
+
+  @Override
+  public Position set(int index, Position position) {
+    final Position old = copy(index);
+    write(offset(index), position);
+    return old;
+  }
+
+  @Override
+  public void add(int index, Position position) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    ensureStride(position.size());
+    ensureCapacity(size + 1);
+    System.arraycopy(coordinates, index * stride, coordinates, (index + 1) * stride, (size - index) * stride);
+    size++;
+    modCount++;
+    write(index * stride, position);
+  }
+
+  @Override
+  public Position remove(int index) {
+    final Position old = copy(index);
+    System.arraycopy(coordinates, (index + 1) * stride, coordinates, index * stride, (size - index - 1) * stride);
+    size--;
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+    modCount++;
+  }
+
+  /**
+   * Appends a position without altitude.
+   */
+  public void addPosition(double longitude, double latitude) {
+    ensureCapacity(size + 1);
+    final int offset = size * stride;
+    coordinates[offset] = longitude;
+    coordinates[offset + 1] = latitude;
+    for (int i = 2; i < stride; i++) {
+      coordinates[offset + i] = Double.NaN;
+    }
+    size++;
+    modCount++;
+  }
+
+  /**
+   * Appends a position with altitude.
+   */
+  public void addPosition(double longitude, double latitude, double altitude) {
+    ensureStride(3);
+    addPosition(longitude, latitude);
+    coordinates[(size - 1) * stride + 2] = altitude;
+  }
+
+  /**
+   * Appends a position with the given amount of values.
+   */
+  private void addPosition(double[] values, int dimension) {
+    ensureStride(dimension);
+    ensureCapacity(size + 1);
+    final int offset = size * stride;
+    for (int i = 0; i < stride; i++) {
+      coordinates[offset + i] = i < dimension ? values[i] : Double.NaN;
+    }
+    size++;
+    modCount++;
   }
 
   public BBox calculateBBox() {
-    return IBoundedCoordinates.calculate(this);
+    if (size == 0) {
+      return null;
+    }
+
+    double minLon = Double.POSITIVE_INFINITY;
+    double minLat = Double.POSITIVE_INFINITY;
+    double maxLon = Double.NEGATIVE_INFINITY;
+    double maxLat = Double.NEGATIVE_INFINITY;
+
+    for (int offset = 0; offset < size * stride; offset += stride) {
+      minLon = Math.min(minLon, coordinates[offset]);
+      maxLon = Math.max(maxLon, coordinates[offset]);
+      minLat = Math.min(minLat, coordinates[offset + 1]);
+      maxLat = Math.max(maxLat, coordinates[offset + 1]);
+    }
+    return new BBox(minLon, minLat, maxLon, maxLat);
+  }
+
+  private int offset(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return index * stride;
+  }
+
+  private void write(int offset, Position position) {
+    Objects.requireNonNull(position);
+    ensureStride(position.size());
+    for (int i = 0; i < stride; i++) {
+      final Double value = i < position.size() ? position.get(i) : null;
+      coordinates[offset + i] = value == null ? Double.NaN : value;
+    }
+  }
+
+  private void ensureCapacity(int minSize) {
+    if (coordinates.length < minSize * stride) {
+      coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, minSize * stride));
+    }
+  }
+
+  /**
+   * Re-packs the coordinates, if a position with more values than the current stride gets added.
+   */
+  private void ensureStride(int minStride) {
+    if (minStride <= stride) {
+      return;
+    }
+    final double[] repacked = new double[Math.max(size, DEFAULT_CAPACITY) * minStride];
+    Arrays.fill(repacked, Double.NaN);
+    for (int i = 0; i < size; i++) {
+      System.arraycopy(coordinates, i * stride, repacked, i * minStride, stride);
+    }
+    coordinates = repacked;
+    stride = minStride;
+  }
+
+  /**
+   * A position of this list, which writes changed values through to the packed coordinates of the list.
+   * The view has a fixed size, as changing the amount of values of a single position would change the packing of all positions. It becomes
+   * invalid, once the list is structurally modified, as it might refer to a different position then.
+   */
+  private class PositionView extends Position {
+
+    private final int index;
+    private final int expectedModCount = PositionList.this.modCount;
+
+    PositionView(int index) {
+      this.index = index;
+      final int offset = offset(index);
+      final int dimension = getDimension(index);
+      for (int i = 0; i < dimension; i++) {
+        super.add(coordinates[offset + i]);
+      }
+    }
+
+    @Override
+    public Double set(int i, Double value) {
+      if (PositionList.this.modCount != expectedModCount) {
+        throw new ConcurrentModificationException("The position list was modified after the position was retrieved.");
+      }
+      final Double old = super.set(i, value);
+      coordinates[offset(index) + i] = value == null ? Double.NaN : value;
+      return old;
+    }
+
+    @Override
+    public boolean add(Double value) {
+      throw fixedSize();
+    }
+
+    @Override
+    public void add(int i, Double value) {
+      throw fixedSize();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Double> values) {
+      throw fixedSize();
+    }
+
+    @Override
+    public boolean addAll(int i, Collection<? extends Double> values) {
+      throw fixedSize();
+    }
+
+    @Override
+    public Double remove(int i) {
+      throw fixedSize();
+    }
+
+    @Override
+    public boolean remove(Object value) {
+      throw fixedSize();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> values) {
+      throw fixedSize();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> values) {
+      throw fixedSize();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Double> filter) {
+      throw fixedSize();
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+      throw fixedSize();
+    }
+
+    @Override
+    public void clear() {
+      throw fixedSize();
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Double> operator) {
+      for (int i = 0; i < size(); i++) {
+        set(i, operator.apply(get(i)));
+      }
+    }
+
+    @Override
+    public void sort(Comparator<? super Double> c) {
+      throw new UnsupportedOperationException("The values of a position can not be sorted.");
+    }
+
+    @Override
+    public List<Double> subList(int fromIndex, int toIndex) {
+      return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+    }
+
+    private UnsupportedOperationException fixedSize() {
+      return new UnsupportedOperationException("The amount of values of a position in a position list can not be changed, "
+          + "set a new position in the list instead.");
+    }
+  }
+
+  /**
+   * Writes the positions as nested JSON arrays directly from the packed coordinates.
+   */
+  public static class Serializer extends JsonSerializer<PositionList> {
+
+    @Override
+    public void serialize(PositionList positions, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+      gen.writeStartArray(positions, positions.size);
+      for (int i = 0; i < positions.size; i++) {
+        final int offset = i * positions.stride;
+        final int dimension = positions.getDimension(i);
+        gen.writeStartArray(null, dimension);
+        for (int j = 0; j < dimension; j++) {
+          gen.writeNumber(positions.coordinates[offset + j]);
+        }
+        gen.writeEndArray();
+      }
+      gen.writeEndArray();
+    }
+  }
+
+  /**
+   * Reads nested JSON arrays of numbers directly into the packed coordinates of a new instance of the requested sub-type.
+   */
+  public static class Deserializer extends JsonDeserializer<PositionList> implements ContextualDeserializer {
+
+    private final Class<?> type;
+
+    @SuppressWarnings("unused")
+    public Deserializer() {
+      this(PositionList.class);
+    }
+
+    private Deserializer(Class<?> type) {
+      this.type = type;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+      final JavaType contextualType = ctxt.getContextualType();
+      return contextualType == null || contextualType.getRawClass() == type ? this : new Deserializer(contextualType.getRawClass());
+    }
+
+    @Override
+    public PositionList deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      if (!p.isExpectedStartArrayToken()) {
+        return (PositionList) ctxt.handleUnexpectedToken(type, p);
+      }
+
+      final PositionList positions = newInstance(ctxt);
+      double[] values = new double[3];
+      JsonToken token;
+      while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.START_ARRAY) {
+          return (PositionList) ctxt.handleUnexpectedToken(type, p);
+        }
+        int dimension = 0;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+          if (!token.isNumeric()) {
+            ctxt.reportInputMismatch(type, "The values of a position must be numbers, but found %s", token);
+          }
+          if (dimension == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+          }
+          values[dimension++] = p.getDoubleValue();
+        }
+        //Positions with an invalid amount of values are reported by Geometry.validate()
+        positions.addPosition(values, dimension);
+      }
+      return positions;
+    }
+
+    private PositionList newInstance(DeserializationContext ctxt) throws IOException {
+      try {
+        return (PositionList) type.getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException e) {
+        return (PositionList) ctxt.handleInstantiationProblem(type, null, e);
+      }
+    }
   }
 }
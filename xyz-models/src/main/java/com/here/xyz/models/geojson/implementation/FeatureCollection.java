@@ -19,6 +19,7 @@
 
 package com.here.xyz.models.geojson.implementation;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -126,6 +127,16 @@ public class FeatureCollection extends XyzResponse<FeatureCollection> {
     this.features.set(features);
   }
 
+  /**
+   * Returns the features as raw JSON array, as long as they were not parsed yet.
+   *
+   * @return the raw JSON array of the features or null, if the features were parsed already.
+   */
+  @JsonIgnore
+  public String getRawFeatures() {
+    return features != null ? features.getValueString() : null;
+  }
+
   @SuppressWarnings("unused")
   @JsonDeserialize(using = RawDeserializer.class)
   @JsonProperty("features")
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.responses;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.here.xyz.events.BatchEvent;
+import java.util.List;
+
+/**
+ * The response to a {@link BatchEvent}, which contains the responses to the events of the batch in the same order as the events.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonTypeName(value = "BatchResponse")
+public class BatchResponse extends XyzResponse<BatchResponse> {
+
+  private List<XyzResponse> responses;
+
+  @SuppressWarnings("rawtypes")
+  public List<XyzResponse> getResponses() {
+    return responses;
+  }
+
+  @SuppressWarnings("rawtypes")
+  public void setResponses(List<XyzResponse> responses) {
+    this.responses = responses;
+  }
+
+  @SuppressWarnings("rawtypes")
+  public BatchResponse withResponses(List<XyzResponse> responses) {
+    setResponses(responses);
+    return this;
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.responses;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes a {@link FeatureCollection} into a {@link BinaryResponse}, so that the features can be transferred from a connector to the
+ * service as raw JSON slices, which don't need to be tokenized again by the receiver.
+ *
+ * The bytes of the binary response are framed as follows (all integers are big-endian):
+ * <pre>
+ *   int                 length of the header
+ *   byte[]              the header, which is the UTF-8 encoded JSON of the feature collection without its features
+ *   int                 amount of features
+ *   (int, byte[])*      for each feature its length and its UTF-8 encoded JSON
+ * </pre>
+ *
+ * A connector only responds with this encoding, if the event was sent with {@link com.here.xyz.events.Event#getAcceptBinaryFeatureCollection()}.
+ */
+public class BinaryFeatureCollection {
+
+  public static final String MIME_TYPE = "application/vnd.here.xyz.feature-collection";
+
+  private static final String EMPTY_FEATURES = "[]";
+
+  /**
+   * Encodes the given feature collection. If the features were not parsed yet, the slices are cut out of the raw features array.
+   *
+   * @param featureCollection the feature collection to encode
+   * @return the binary response containing the framed feature collection
+   */
+  public static BinaryResponse encode(FeatureCollection featureCollection) throws JsonProcessingException {
+    final String rawFeatures = featureCollection.getRawFeatures();
+    final List<byte[]> features = rawFeatures != null ? slice(rawFeatures.getBytes(StandardCharsets.UTF_8))
+        : serialize(featureCollection.getFeatures());
+
+    final byte[] header;
+    final List<Feature> parsedFeatures = rawFeatures == null ? featureCollection.getFeatures() : null;
+    featureCollection._setFeatures(EMPTY_FEATURES);
+    try {
+      header = featureCollection.serialize().getBytes(StandardCharsets.UTF_8);
+    } finally {
+      if (rawFeatures != null) {
+        featureCollection._setFeatures(rawFeatures);
+      } else {
+        featureCollection.setFeatures(parsedFeatures);
+      }
+    }
+
+    int size = 2 * Integer.BYTES + header.length;
+    for (byte[] feature : features) {
+      size += Integer.BYTES + feature.length;
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(size)
+        .putInt(header.length)
+        .put(header)
+        .putInt(features.size());
+    for (byte[] feature : features) {
+      buffer.putInt(feature.length).put(feature);
+    }
+
+    return new BinaryResponse()
+        .withMimeType(MIME_TYPE)
+        .withBytes(buffer.array());
+  }
+
+  /**
+   * Decodes a feature collection. The features are not parsed, but kept as raw JSON array, which is assembled from the slices.
+   *
+   * @param binaryResponse the binary response with the mime type {@link #MIME_TYPE}
+   * @return the decoded feature collection
+   */
+  public static FeatureCollection decode(BinaryResponse binaryResponse) throws JsonProcessingException {
+    final ByteBuffer buffer = ByteBuffer.wrap(binaryResponse.getBytes());
+    final int headerLength = buffer.getInt();
+    final FeatureCollection featureCollection = XyzSerializable.deserialize(
+        new String(buffer.array(), buffer.position(), headerLength, StandardCharsets.UTF_8), FeatureCollection.class);
+    buffer.position(buffer.position() + headerLength);
+
+    final int featureCount = buffer.getInt();
+    final int slicesStart = buffer.position();
+    int size = 2 + Math.max(featureCount - 1, 0);
+    for (int i = 0; i < featureCount; i++) {
+      final int length = buffer.getInt();
+      buffer.position(buffer.position() + length);
+      size += length;
+    }
+
+    final byte[] features = new byte[size];
+    int offset = 0;
+    features[offset++] = '[';
+    buffer.position(slicesStart);
+    for (int i = 0; i < featureCount; i++) {
+      if (i > 0) {
+        features[offset++] = ',';
+      }
+      final int length = buffer.getInt();
+      buffer.get(features, offset, length);
+      offset += length;
+    }
+    features[offset] = ']';
+
+    featureCollection._setFeatures(new String(features, StandardCharsets.UTF_8));
+    featureCollection.setEtag(binaryResponse.getEtag());
+    return featureCollection;
+  }
+
+  private static List<byte[]> serialize(List<Feature> features) {
+    final List<byte[]> slices = new ArrayList<>(features == null ? 0 : features.size());
+    if (features != null) {
+      for (Feature feature : features) {
+        slices.add(feature.serialize().getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    return slices;
+  }
+
+  /**
+   * Cuts the elements out of a JSON array without parsing them. As all structural characters of JSON are ASCII characters, the array can
+   * be scanned byte by byte, even if it's UTF-8 encoded.
+   */
+  static List<byte[]> slice(byte[] array) {
+    final List<byte[]> slices = new ArrayList<>();
+    int depth = 0;
+    int start = -1;
+    int end = -1;
+    boolean inString = false;
+    boolean escaped = false;
+
+    for (int i = 0; i < array.length; i++) {
+      final byte b = array[i];
+      if (inString) {
+        if (escaped) {
+          escaped = false;
+        } else if (b == '\\') {
+          escaped = true;
+        } else if (b == '"') {
+          inString = false;
+          end = i + 1;
+        }
+        continue;
+      }
+
+      switch (b) {
+        case ' ':
+        case '\t':
+        case '\n':
+        case '\r':
+          continue;
+        case ',':
+          if (depth == 1) {
+            addSlice(slices, array, start, end);
+            start = -1;
+            continue;
+          }
+          break;
+        case '[':
+        case '{':
+          depth++;
+          if (depth == 1) {
+            continue;
+          }
+          break;
+        case ']':
+        case '}':
+          depth--;
+          if (depth == 0) {
+            addSlice(slices, array, start, end);
+            return slices;
+          }
+          break;
+        case '"':
+          inString = true;
+          break;
+      }
+
+      if (start < 0) {
+        start = i;
+      }
+      end = i + 1;
+    }
+    throw new IllegalArgumentException("The features are no valid JSON array.");
+  }
+
+  private static void addSlice(List<byte[]> slices, byte[] array, int start, int end) {
+    if (start >= 0) {
+      final byte[] slice = new byte[end - start];
+      System.arraycopy(array, start, slice, 0, slice.length);
+      slices.add(slice);
+    }
+  }
+}
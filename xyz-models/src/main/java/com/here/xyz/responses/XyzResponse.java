@@ -51,7 +51,8 @@ import com.here.xyz.util.Hasher;
     @JsonSubTypes.Type(value = CompactChangeset.class, name = "CompactChangeset"),
     @JsonSubTypes.Type(value = ChangesetCollection.class, name = "ChangesetCollection"),
     @JsonSubTypes.Type(value = ConnectorStatus.class, name = "ConnectorStatus"),
-    @JsonSubTypes.Type(value = SpaceStatus.class, name = "SpaceStatus")
+    @JsonSubTypes.Type(value = SpaceStatus.class, name = "SpaceStatus"),
+    @JsonSubTypes.Type(value = BatchResponse.class, name = "BatchResponse")
 })
 public abstract class XyzResponse<T extends XyzResponse> extends Payload {
 
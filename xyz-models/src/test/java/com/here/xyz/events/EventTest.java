@@ -115,4 +115,21 @@ public class EventTest {
     assertFalse(event.getTrustedParams().isEmpty());
     assertTrue(event.getTrustedParams().keySet().containsAll(Arrays.asList("cookies", "headers", "queryParams", "customKey")));
   }
+
+  @Test
+  public void testBatchEvent() throws Exception {
+    BatchEvent batch = new BatchEvent()
+        .withStreamId("batch")
+        .withEvents(Arrays.asList(
+            new GetFeaturesByIdEvent().withSpace("my-space").withIds(Arrays.asList("a", "b")),
+            XyzSerializable.deserialize(eventJson)));
+
+    BatchEvent deserialized = XyzSerializable.deserialize(batch.serialize());
+    assertEquals("batch", deserialized.getStreamId());
+    assertEquals(2, deserialized.getEvents().size());
+    assertTrue(deserialized.getEvents().get(0) instanceof GetFeaturesByIdEvent);
+    assertEquals(Arrays.asList("a", "b"), ((GetFeaturesByIdEvent) deserialized.getEvents().get(0)).getIds());
+    assertTrue(deserialized.getEvents().get(1) instanceof IterateFeaturesEvent);
+    assertEquals("my-space", deserialized.getEvents().get(1).getSpace());
+  }
 }
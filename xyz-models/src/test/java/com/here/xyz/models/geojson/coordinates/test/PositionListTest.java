@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.models.geojson.coordinates.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.here.xyz.models.geojson.coordinates.JTSHelper;
+import com.here.xyz.models.geojson.coordinates.LinearRingCoordinates;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.exceptions.InvalidGeometryException;
+import com.here.xyz.models.geojson.implementation.LineString;
+import com.here.xyz.models.geojson.implementation.Polygon;
+import java.util.ConcurrentModificationException;
+import org.junit.Test;
+
+public class PositionListTest {
+
+  @Test
+  public void roundTrip() throws Exception {
+    String polygonGJ = "{\"type\":\"Polygon\",\"coordinates\":[[[1.0,1.0],[2.0,1.0,5.0],[2.0,2.0],[1.0,1.0]]]}";
+    Polygon polygon = new ObjectMapper().readValue(polygonGJ, Polygon.class);
+    LinearRingCoordinates ring = polygon.getCoordinates().get(0);
+
+    assertEquals(4, ring.size());
+    assertEquals(3, ring.getStride());
+    assertEquals(2, ring.get(0).size());
+    assertEquals(new Position(2, 1, 5), ring.get(1));
+    assertNull(ring.get(2).getAltitude());
+    assertEquals(polygonGJ, polygon.serialize());
+    polygon.validate();
+  }
+
+  @Test
+  public void modifyList() {
+    LinearRingCoordinates ring = new LinearRingCoordinates();
+    ring.add(new Position(1, 1));
+    ring.add(new Position(3, 1));
+    ring.add(new Position(1, 3));
+    ring.add(1, new Position(2, 2, 7));
+    ring.remove(2);
+    ring.set(0, new Position(0, 0));
+
+    assertEquals(3, ring.size());
+    assertEquals(0d, ring.getLongitude(0), 0);
+    assertEquals(7d, ring.getAltitude(1), 0);
+    assertTrue(Double.isNaN(ring.getAltitude(2)));
+    assertEquals(new Position(1, 3), ring.get(2));
+
+    //Positions are views, changing their values changes the list
+    ring.get(0).setLongitude(5d);
+    assertEquals(5d, ring.getLongitude(0), 0);
+    ring.get(1).set(2, 8d);
+    assertEquals(8d, ring.getAltitude(1), 0);
+    assertEquals(new Position(5, 0), ring.get(0));
+
+    //The positions returned by set and remove are detached
+    Position old = ring.set(0, new Position(0, 0));
+    old.setLongitude(6d);
+    assertEquals(0d, ring.getLongitude(0), 0);
+  }
+
+  @Test
+  public void modifyViewStructure() {
+    LinearRingCoordinates ring = new LinearRingCoordinates();
+    ring.add(new Position(1, 1));
+    ring.add(new Position(2, 2));
+    Position view = ring.get(0);
+
+    assertThrows(UnsupportedOperationException.class, () -> view.setAltitude(3d));
+    assertThrows(UnsupportedOperationException.class, () -> view.add(3d));
+    assertThrows(UnsupportedOperationException.class, () -> view.remove(1));
+    assertThrows(UnsupportedOperationException.class, view::clear);
+    assertThrows(UnsupportedOperationException.class, () -> view.subList(0, 1).set(0, 3d));
+    assertEquals(new Position(1, 1), ring.get(0));
+
+    //The view may refer to another position after the list was structurally modified
+    ring.add(0, new Position(0, 0));
+    assertThrows(ConcurrentModificationException.class, () -> view.setLongitude(5d));
+    assertEquals(new Position(1, 1), ring.get(1));
+  }
+
+  @Test
+  public void jtsConversion() throws Exception {
+    String lineStringGJ = "{\"type\":\"LineString\",\"coordinates\":[[1.0,1.0],[2.0,2.0,3.0]]}";
+    LineString lineString = new ObjectMapper().readValue(lineStringGJ, LineString.class);
+    LineString converted = JTSHelper.fromGeometry(JTSHelper.toGeometry(lineString));
+
+    assertEquals(lineString.getCoordinates(), converted.getCoordinates());
+    assertEquals(lineStringGJ, converted.serialize());
+  }
+
+  @Test
+  public void invalidPositionSize() throws Exception {
+    String tooShortGJ = "{\"type\":\"LineString\",\"coordinates\":[[1.0],[2.0,2.0]]}";
+    LineString tooShort = new ObjectMapper().readValue(tooShortGJ, LineString.class);
+    assertEquals(1, tooShort.getCoordinates().get(0).size());
+    assertEquals(tooShortGJ, tooShort.serialize());
+    InvalidGeometryException e = assertThrows(InvalidGeometryException.class, tooShort::validate);
+    assertEquals("A coordinates array of a Point must contain at least [longitude, latitude], but its size is less than 2", e.getMessage());
+
+    String tooLongGJ = "{\"type\":\"LineString\",\"coordinates\":[[1.0,1.0],[2.0,2.0,3.0,4.0]]}";
+    LineString tooLong = new ObjectMapper().readValue(tooLongGJ, LineString.class);
+    assertEquals(4, tooLong.getCoordinates().get(1).size());
+    assertEquals(2, tooLong.getCoordinates().get(0).size());
+    assertEquals(tooLongGJ, tooLong.serialize());
+    e = assertThrows(InvalidGeometryException.class, tooLong::validate);
+    assertEquals("A coordinates array of a Point must contain maximal [longitude, latitude, altitude], but it contains more elements",
+        e.getMessage());
+  }
+
+  @Test(expected = JsonMappingException.class)
+  public void invalidPositionValue() throws Exception {
+    new ObjectMapper().readValue("{\"type\":\"LineString\",\"coordinates\":[[1.0,true],[2.0,2.0]]}", LineString.class);
+  }
+}
@@ -30,9 +30,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.here.xyz.LazyParsable;
 import com.here.xyz.XyzSerializable;
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +75,19 @@ public class LazyParsedFeatureCollectionTest {
     assertEquals("Q45671", feature.getId());
   }
 
+  @Test
+  public void testWriteToStream() throws Exception {
+    try (final InputStream is = LazyParsedFeatureCollectionTest.class
+        .getResourceAsStream("/com/here/xyz/test/feature_collection_example.json")) {
+      final FeatureCollection response = XyzSerializable.deserialize(is);
+      final ByteArrayOutputStream os = new ByteArrayOutputStream();
+      response.writeTo(os);
+
+      assertEquals(response.serialize(), new String(os.toByteArray(), StandardCharsets.UTF_8));
+      assertEquals(1, response.getFeatures().size());
+    }
+  }
+
   @Test
   public void testDeserializeWithFullView() throws Exception {
     try (final InputStream is = LazyParsedFeatureCollectionTest.class
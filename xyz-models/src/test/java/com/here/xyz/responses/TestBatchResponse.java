@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.responses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class TestBatchResponse {
+
+  @Test
+  public void testSerialization() throws Exception {
+    FeatureCollection fc = new FeatureCollection().withEtag("\"1\"");
+    fc._setFeatures("[{\"type\":\"Feature\",\"id\":\"a\",\"properties\":{}}]");
+    BatchResponse batch = new BatchResponse().withResponses(Arrays.asList(
+        fc,
+        new ErrorResponse().withError(XyzError.ILLEGAL_ARGUMENT).withErrorMessage("missing"),
+        new NotModifiedResponse().withEtag("\"2\"")));
+
+    BatchResponse deserialized = XyzSerializable.deserialize(batch.serialize());
+    assertEquals(3, deserialized.getResponses().size());
+    assertTrue(deserialized.getResponses().get(0) instanceof FeatureCollection);
+    FeatureCollection deserializedFc = (FeatureCollection) deserialized.getResponses().get(0);
+    assertEquals("\"1\"", deserializedFc.getEtag());
+    assertEquals("a", deserializedFc.getFeatures().get(0).getId());
+    assertEquals(XyzError.ILLEGAL_ARGUMENT, ((ErrorResponse) deserialized.getResponses().get(1)).getError());
+    assertEquals("\"2\"", deserialized.getResponses().get(2).getEtag());
+  }
+}
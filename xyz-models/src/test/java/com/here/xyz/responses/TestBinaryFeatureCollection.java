@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.responses;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.here.xyz.models.geojson.coordinates.PointCoordinates;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.models.geojson.implementation.Point;
+import com.here.xyz.models.geojson.implementation.Properties;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class TestBinaryFeatureCollection {
+
+  private static final String RAW_FEATURES = "[ {\"type\":\"Feature\",\"id\":\"a\",\"properties\":{\"name\":\"x, \\\"y\\\" ]}\",\"list\":[1,[2]]}},"
+      + "\n{\"type\":\"Feature\",\"id\":\"b\",\"properties\":{\"name\":\"Straße\"}} ]";
+
+  @Test
+  public void testRawFeatures() throws Exception {
+    FeatureCollection fc = new FeatureCollection().withNextPageToken("next");
+    fc._setFeatures(RAW_FEATURES);
+
+    BinaryResponse br = BinaryFeatureCollection.encode(fc);
+    assertEquals(BinaryFeatureCollection.MIME_TYPE, br.getMimeType());
+    assertEquals(RAW_FEATURES, fc.getRawFeatures());
+
+    FeatureCollection decoded = BinaryFeatureCollection.decode(BinaryResponse.fromByteArray(br.toByteArray()));
+    assertEquals("next", decoded.getNextPageToken());
+    assertEquals(br.getEtag(), decoded.getEtag());
+    assertEquals("[{\"type\":\"Feature\",\"id\":\"a\",\"properties\":{\"name\":\"x, \\\"y\\\" ]}\",\"list\":[1,[2]]}},"
+        + "{\"type\":\"Feature\",\"id\":\"b\",\"properties\":{\"name\":\"Straße\"}}]", decoded.getRawFeatures());
+    assertEquals(2, decoded.getFeatures().size());
+    assertEquals("x, \"y\" ]}", decoded.getFeatures().get(0).getProperties().get("name"));
+    assertEquals("Straße", decoded.getFeatures().get(1).getProperties().get("name"));
+  }
+
+  @Test
+  public void testParsedFeatures() throws Exception {
+    Feature feature = new Feature().withId("p")
+        .withGeometry(new Point().withCoordinates(new PointCoordinates(8.5, 50.1)))
+        .withProperties(new Properties().with("name", "Frankfurt"));
+    FeatureCollection fc = new FeatureCollection().withFeatures(Arrays.asList(feature, feature));
+
+    FeatureCollection decoded = BinaryFeatureCollection.decode(BinaryFeatureCollection.encode(fc));
+    assertNull(fc.getRawFeatures());
+    assertEquals(2, fc.getFeatures().size());
+    assertEquals(fc.serialize(), decoded.withEtag(null).serialize());
+  }
+
+  @Test
+  public void testEmptyFeatures() throws Exception {
+    FeatureCollection fc = new FeatureCollection();
+    fc._setFeatures("[]");
+
+    FeatureCollection decoded = BinaryFeatureCollection.decode(BinaryFeatureCollection.encode(fc));
+    assertEquals("[]", decoded.getRawFeatures());
+    assertEquals(0, decoded.getFeatures().size());
+  }
+}
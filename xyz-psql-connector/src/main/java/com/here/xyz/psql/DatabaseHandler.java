@@ -56,6 +56,7 @@ import com.here.xyz.psql.config.PSQLConfig;
 import com.here.xyz.psql.query.ExtendedSpace;
 import com.here.xyz.psql.query.GetFeaturesByBBox;
 import com.here.xyz.psql.query.ModifySpace;
+import com.here.xyz.psql.query.helpers.FetchCreationTimes;
 import com.here.xyz.psql.query.helpers.FetchExistingIds;
 import com.here.xyz.psql.query.helpers.FetchExistingIds.FetchIdsInput;
 import com.here.xyz.psql.query.helpers.TableExists;
@@ -96,6 +97,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -135,9 +139,13 @@ public abstract class DatabaseHandler extends StorageConnector {
     public static final long PARTITION_SIZE = 100_000;
 
     /**
-     * The data source connections factory.
+     * The data source connections factory. Holds the state which is shared by all requests for a connector, by connector ID.
      */
-    private static Map<String, PSQLConfig> dbInstanceMap = new HashMap<>();
+    private static final ConcurrentHashMap<String, DatabaseInstance> dbInstances = new ConcurrentHashMap<>();
+    /**
+     * Is used to distribute the reads across the replicas in a round-robin fashion.
+     */
+    private static final AtomicInteger replicaCounter = new AtomicInteger();
 
     /**
      * Current event.
@@ -159,6 +167,10 @@ public abstract class DatabaseHandler extends StorageConnector {
      * The dbMaintainer for the current event.
      */
     protected DatabaseMaintainer dbMaintainer;
+    /**
+     * The cache for the metadata of the tables of the connector.
+     */
+    private TableMetadataCache tableMetadata;
 
     private boolean retryAttempted;
 
@@ -232,83 +244,108 @@ public abstract class DatabaseHandler extends StorageConnector {
     }
 
     void reset() {
-        // clear the map and free resources for GC
-        for ( String connectorId : dbInstanceMap.keySet()) {
-            removeDbInstanceFromMap(connectorId);
+        // close all pools and free resources for GC
+        for (String connectorId : dbInstances.keySet()) {
+            DatabaseInstance dbInstance = dbInstances.remove(connectorId);
+            if (dbInstance != null)
+                dbInstance.close();
         }
-        dbInstanceMap.clear();
     }
 
     @Override
-    protected synchronized void initialize(Event event) {
+    protected void initialize(Event event) {
         this.event = event;
-        this.config= new PSQLConfig(event, context, traceItem);
-        String connectorId = traceItem.getConnectorId();
+        final DatabaseInstance dbInstance = resolveDatabaseInstance(traceItem.getConnectorId(), event);
+        this.config = dbInstance.config;
+        this.tableMetadata = dbInstance.tableMetadata;
+        this.retryAttempted = false;
+        this.dataSource = config.getDataSource();
+        this.dbMaintainer = config.getDatabaseMaintainer();
+        this.readDataSource = selectReadDataSource(event);
+    }
 
-        if(connectorId == null) {
-            logger.warn("{} ConnectorId is missing as param in the Connector-Config! {} / {}@{}", traceItem, config.getDatabaseSettings().getDb(), config.getDatabaseSettings().getUser(), config.getDatabaseSettings().getHost());
-            connectorId =config.getConfigValuesAsString();
+    /**
+     * Selects the data source which is used for the reads of the current event. The replicas are used in a round-robin fashion, as long
+     * as their measured lag is within the configured limit and they have caught up with the latest write to the space of the event.
+     * If no replica qualifies, the primary data source is used. The lags are measured in the background by the {@link DatabaseMaintainer}.
+     */
+    private DataSource selectReadDataSource(Event event) {
+        final List<DataSource> replicas = config.getReadDataSources();
+        if (replicas.isEmpty() || event.getPreferPrimaryDataSource() == Boolean.TRUE)
+            return dataSource;
+
+        final long maxLag = config.getConnectorParams().getDbMaxReplicaLag();
+        final int start = replicaCounter.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            final DataSource replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (DatabaseMaintainer.isReplicaUsable(dbMaintainer.getReplicaLag(replica), maxLag, event.getTimeSinceLatestWrite()))
+                return replica;
         }
+        return dataSource;
+    }
 
-        if(dbInstanceMap.get(connectorId) != null){
-            /** Check if db-params has changed*/
-            if(!dbInstanceMap.get(connectorId).getConfigValuesAsString().equalsIgnoreCase(config.getConfigValuesAsString())) {
-                logger.info("{} Config has changed -> remove dbInstance from Pool. DbInstanceMap size:{}", traceItem, dbInstanceMap.size());
-                removeDbInstanceFromMap(connectorId);
-            }else{
-                logger.debug("{} Config already loaded -> load dbInstance from Pool. DbInstanceMap size:{}", traceItem, dbInstanceMap.size());
-            }
+    /**
+     * Returns the state which is shared by all requests for the connector. If the raw connector params did not change since the
+     * instance was created, neither the config has to be rebuilt nor the registry has to be locked.
+     */
+    private DatabaseInstance resolveDatabaseInstance(String connectorId, Event event) {
+        final Map<String, Object> connectorParams = event.getConnectorParams();
+        final String functionName = context.getFunctionName();
+        DatabaseInstance dbInstance = connectorId == null ? null : dbInstances.get(connectorId);
+        if (dbInstance != null && dbInstance.matches(connectorParams, functionName))
+            return dbInstance;
+
+        final PSQLConfig config = new PSQLConfig(event, context, traceItem);
+        if (connectorId == null) {
+            logger.warn("{} ConnectorId is missing as param in the Connector-Config! {} / {}@{}", traceItem, config.getDatabaseSettings().getDb(), config.getDatabaseSettings().getUser(), config.getDatabaseSettings().getHost());
+            connectorId = config.getConfigValuesAsString();
         }
 
-        if (dbInstanceMap.get(connectorId) == null) {
-
-            /** Init dataSource, readDataSource ..*/
-            logger.info("{} Config is missing -> add new dbInstance to Pool. DbInstanceMap size:{}", traceItem, dbInstanceMap.size());
-            final ComboPooledDataSource source = getComboPooledDataSource(config.getDatabaseSettings(), config.getConnectorParams(), config.applicationName() , false);
-
-            Map<String, String> m = new HashMap<>();
-            m.put(C3P0EXT_CONFIG_SCHEMA, config.getDatabaseSettings().getSchema());
-            source.setExtensions(m);
-
-            final DatabaseMaintainer dbMaintainer = new DatabaseMaintainer(source, config);
-            config.addDataSource(source);
-            config.addDatabaseMaintainer(dbMaintainer);
-
-            if (config.getDatabaseSettings().getReplicaHost() != null) {
-                final ComboPooledDataSource replicaDataSource = getComboPooledDataSource(config.getDatabaseSettings(), config.getConnectorParams(),  config.applicationName() , true);
-                replicaDataSource.setExtensions(m);
-                config.addReadDataSource(replicaDataSource);
+        return dbInstances.compute(connectorId, (id, existing) -> {
+            if (existing != null) {
+                /** Check if db-params has changed*/
+                if (existing.configValues.equalsIgnoreCase(config.getConfigValuesAsString())) {
+                    logger.debug("{} Config already loaded -> load dbInstance from Pool. DbInstanceMap size:{}", traceItem, dbInstances.size());
+                    return existing.reuseFor(connectorParams, functionName, config);
+                }
+                logger.info("{} Config has changed -> remove dbInstance from Pool. DbInstanceMap size:{}", traceItem, dbInstances.size());
+                existing.close();
             }
-            dbInstanceMap.put(connectorId, config);
-        }
+            logger.info("{} Config is missing -> add new dbInstance to Pool. DbInstanceMap size:{}", traceItem, dbInstances.size());
+            return createDatabaseInstance(connectorParams, functionName, config);
+        });
+    }
 
-        this.retryAttempted = false;
-        this.dataSource = dbInstanceMap.get(connectorId).getDataSource();
-        this.readDataSource = dbInstanceMap.get(connectorId).getReadDataSource();
-        this.dbMaintainer = dbInstanceMap.get(connectorId).getDatabaseMaintainer();
+    private DatabaseInstance createDatabaseInstance(Map<String, Object> connectorParams, String functionName, PSQLConfig config) {
+        /** Init dataSource, readDataSource ..*/
+        final ComboPooledDataSource source = getComboPooledDataSource(config.getDatabaseSettings(), config.getConnectorParams(), config.applicationName(),
+            config.getDatabaseSettings().getHost());
 
-        if (event.getPreferPrimaryDataSource() != null && event.getPreferPrimaryDataSource() == Boolean.TRUE) {
-            this.readDataSource = this.dataSource;
-        }
-    }
+        Map<String, String> m = new HashMap<>();
+        m.put(C3P0EXT_CONFIG_SCHEMA, config.getDatabaseSettings().getSchema());
+        source.setExtensions(m);
 
-    private void removeDbInstanceFromMap(String connectorId){
-        synchronized (dbInstanceMap) {
-            try {
-                ((PooledDataSource) (dbInstanceMap.get(connectorId).getDataSource())).close();
-            } catch (SQLException e) {
-                logger.warn("Error while closing connections: ", e);
-            }
-            dbInstanceMap.remove(connectorId);
+        final DatabaseMaintainer dbMaintainer = new DatabaseMaintainer(source, config);
+        config.addDataSource(source);
+        config.addDatabaseMaintainer(dbMaintainer);
+
+        for (String replicaHost : config.getDatabaseSettings().getReplicaHosts()) {
+            final ComboPooledDataSource replicaDataSource = getComboPooledDataSource(config.getDatabaseSettings(), config.getConnectorParams(),
+                config.applicationName(), replicaHost);
+            replicaDataSource.setExtensions(m);
+            config.addReadDataSource(replicaDataSource);
         }
+        dbMaintainer.startReplicaLagChecks(traceItem);
+        return new DatabaseInstance(connectorParams, functionName, config, new TableMetadataCache());
     }
 
-    private ComboPooledDataSource getComboPooledDataSource(DatabaseSettings dbSettings, ConnectorParameters connectorParameters, String applicationName, boolean useReplica) {
+    private ComboPooledDataSource getComboPooledDataSource(DatabaseSettings dbSettings, ConnectorParameters connectorParameters, String applicationName, String host) {
         final ComboPooledDataSource cpds = new ComboPooledDataSource();
 
         cpds.setJdbcUrl(
-                DhString.format("jdbc:postgresql://%1$s:%2$d/%3$s?ApplicationName=%4$s&tcpKeepAlive=true",
-                        useReplica ? dbSettings.getReplicaHost() : dbSettings.getHost(), dbSettings.getPort(), dbSettings.getDb(), applicationName));
+                DhString.format("jdbc:postgresql://%1$s:%2$d/%3$s?ApplicationName=%4$s&tcpKeepAlive=true&prepareThreshold=%5$d",
+                        host, dbSettings.getPort(), dbSettings.getDb(), applicationName,
+                        connectorParameters.getDbPrepareThreshold()));
 
         cpds.setUser(dbSettings.getUser());
         cpds.setPassword(dbSettings.getPassword());
@@ -364,21 +401,30 @@ public abstract class DatabaseHandler extends StorageConnector {
      * Executes the query and reattempt to execute the query, after
      */
     protected <T> T executeQueryWithRetry(SQLQuery query, ResultSetHandler<T> handler, boolean useReadReplica) throws SQLException {
+        return executeQueryWithRetry(query, handler, useReadReplica, false);
+    }
+
+    /**
+     * @param useCursor Whether to fetch the result in chunks of the configured fetch size
+     * @see ConnectorParameters#getDbFetchSize()
+     */
+    protected <T> T executeQueryWithRetry(SQLQuery query, ResultSetHandler<T> handler, boolean useReadReplica, boolean useCursor) throws SQLException {
+        final int fetchSize = useCursor ? config.getConnectorParams().getDbFetchSize() : 0;
         try {
             query.replaceUnnamedParameters();
             query.replaceFragments();
             query.replaceNamedParameters();
-            return executeQuery(query, handler, useReadReplica ? readDataSource : dataSource);
+            return executeQuery(query, handler, useReadReplica ? readDataSource : dataSource, fetchSize);
         } catch (Exception e) {
             try {
                 if (retryCausedOnServerlessDB(e) || canRetryAttempt()) {
                     logger.info("{} Retry Query permitted.", traceItem);
-                    return executeQuery(query, handler, useReadReplica ? readDataSource : dataSource);
+                    return executeQuery(query, handler, useReadReplica ? readDataSource : dataSource, fetchSize);
                 }
             } catch (Exception e1) {
                 if(retryCausedOnServerlessDB(e1)) {
                     logger.info("{} Retry Query permitted.", traceItem);
-                    return executeQuery(query, handler, useReadReplica ? readDataSource : dataSource);
+                    return executeQuery(query, handler, useReadReplica ? readDataSource : dataSource, fetchSize);
                 }
                 throw e;
             }
@@ -439,15 +485,43 @@ public abstract class DatabaseHandler extends StorageConnector {
      */
 
     private <T> T executeQuery(SQLQuery query, ResultSetHandler<T> handler, DataSource dataSource) throws SQLException {
+        return executeQuery(query, handler, dataSource, 0);
+    }
+
+    /**
+     * Executes the given query and returns the processed by the handler result using the provided dataSource.
+     * If a fetch size is provided, the result is fetched in chunks of that size using a cursor. So the handler may stop reading early
+     * (e.g. if a limit is reached) without having the whole result in memory.
+     */
+    private <T> T executeQuery(SQLQuery query, ResultSetHandler<T> handler, DataSource dataSource, int fetchSize) throws SQLException {
         final long start = System.currentTimeMillis();
         try {
-            final QueryRunner run = new QueryRunner(dataSource, new StatementConfiguration(null,null,null,null,calculateTimeout()));
+            final StatementConfiguration statementConfig = new StatementConfiguration(null, fetchSize > 0 ? fetchSize : null, null, null,
+                calculateTimeout());
 
             query.setText(SQLQuery.replaceVars(query.text(), config.getDatabaseSettings().getSchema(), config.readTableFromEvent(event)));
             final String queryText = query.text();
             final List<Object> queryParameters = query.parameters();
             logger.debug("{} executeQuery: {} - Parameter: {}", traceItem, queryText, queryParameters);
-            return run.query(queryText, handler, queryParameters.toArray());
+            if (fetchSize <= 0)
+                return new QueryRunner(dataSource, statementConfig).query(queryText, handler, queryParameters.toArray());
+
+            try (final Connection connection = dataSource.getConnection()) {
+                //The driver only uses a cursor if auto-commit is off
+                connection.setAutoCommit(false);
+                try {
+                    T result = new QueryRunner(statementConfig).query(connection, queryText, handler, queryParameters.toArray());
+                    connection.commit();
+                    return result;
+                }
+                catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+                finally {
+                    connection.setAutoCommit(true);
+                }
+            }
         } finally {
             final long end = System.currentTimeMillis();
             logger.info("{} query time: {}ms", traceItem, (end - start));
@@ -478,6 +552,7 @@ public abstract class DatabaseHandler extends StorageConnector {
     }
 
     protected XyzResponse executeModifySpace(ModifySpaceEvent event) throws SQLException, ErrorResponseException {
+        invalidateTableMetadata();
         if (event.getSpaceDefinition() != null && event.getSpaceDefinition().isEnableHistory()) {
             Integer maxVersionCount = event.getSpaceDefinition().getMaxVersionCount();
             boolean isEnableGlobalVersioning = event.getSpaceDefinition().isEnableGlobalVersioning();
@@ -497,7 +572,9 @@ public abstract class DatabaseHandler extends StorageConnector {
         }
 
         new ModifySpace(event, this).write();
-        if (event.getOperation() != Operation.DELETE)
+        if (event.getOperation() == Operation.DELETE)
+            invalidateTableMetadata();
+        else
             dbMaintainer.maintainSpace(traceItem, config.getDatabaseSettings().getSchema(), config.readTableFromEvent(event));
 
         //If we reach this point we are okay!
@@ -625,10 +702,24 @@ public abstract class DatabaseHandler extends StorageConnector {
           /** Include Upserts */
           if (!upserts.isEmpty()) {
             List<String> upsertIds = upserts.stream().map(Feature::getId).filter(Objects::nonNull).collect(Collectors.toList());
-            List<String> existingIds = new FetchExistingIds(new FetchIdsInput(config.readTableFromEvent(event),
+            Map<String, Long> existingCreationTimes = new FetchCreationTimes(new FetchIdsInput(config.readTableFromEvent(event),
                 //NOTE: The following is a temporary implementation for backwards compatibility for old spaces which have no id column filled yet
                 upsertIds, readVersionsToKeep(event) < 1), this).run();
-            upserts.forEach(f -> (existingIds.contains(f.getId()) ? updates : inserts).add(f));
+            for (Feature f : upserts) {
+              final XyzNamespace nsXyz = f.getProperties() == null ? null : f.getProperties().getXyzNamespace();
+              if (existingCreationTimes.containsKey(f.getId())) {
+                //The creation time of an existing feature is kept, the sender of the upsert might not know it
+                Long createdAt = existingCreationTimes.get(f.getId());
+                if (createdAt != null && nsXyz != null)
+                  nsXyz.setCreatedAt(createdAt);
+                updates.add(f);
+              }
+              //An upsert which refers to the UUID of its predecessor is only written as an update, which fails if the UUID doesn't match
+              else if (event.getEnableUUID() && !isForExtendingSpace(event) && nsXyz != null && nsXyz.getPuuid() != null)
+                updates.add(f);
+              else
+                inserts.add(f);
+            }
           }
 
           /** get next Version */
@@ -808,6 +899,8 @@ public abstract class DatabaseHandler extends StorageConnector {
             return false;
         }
 
+        //The table might have been deleted in the meantime
+        invalidateTableMetadata();
         ensureSpace();
         retryAttempted = true;
 
@@ -832,19 +925,25 @@ public abstract class DatabaseHandler extends StorageConnector {
         if (tableName == null)
             tableName = config.readTableFromEvent(event);
 
+        final String schema = config.getDatabaseSettings().getSchema();
+        if (tableMetadata.isKnownToExist(schema, tableName, getMetadataCacheTtl()))
+            return true;
+
         long start = System.currentTimeMillis();
 
         try (final Connection connection = dataSource.getConnection()) {
             Statement stmt = connection.createStatement();
             String query = "SELECT to_regclass('${schema}.${table}')";
 
-            query = SQLQuery.replaceVars(query, config.getDatabaseSettings().getSchema(), tableName);
+            query = SQLQuery.replaceVars(query, schema, tableName);
             ResultSet rs;
 
             stmt.setQueryTimeout(calculateTimeout());
             if ((rs = stmt.executeQuery(query)).next()) {
                 logger.debug("{} Time for table check: " + (System.currentTimeMillis() - start) + "ms", traceItem);
                 String oid = rs.getString(1);
+                if (oid != null)
+                    tableMetadata.markExisting(schema, tableName);
                 return oid != null ? true : false;
             }
             return false;
@@ -859,6 +958,27 @@ public abstract class DatabaseHandler extends StorageConnector {
         }
     }
 
+    /**
+     * @return The cache for the metadata of the tables of the connector
+     */
+    public TableMetadataCache getTableMetadata() {
+        return tableMetadata;
+    }
+
+    /**
+     * @return The time in milliseconds for which the metadata of tables may be taken from the cache
+     */
+    public long getMetadataCacheTtl() {
+        return TimeUnit.SECONDS.toMillis(config.getConnectorParams().getMetadataCacheTtl());
+    }
+
+    /**
+     * Removes the cached metadata of the table of the current event, e.g. because the table was modified or an operation on it failed.
+     */
+    protected void invalidateTableMetadata() {
+        tableMetadata.invalidate(config.getDatabaseSettings().getSchema(), config.readTableFromEvent(event));
+    }
+
     private static boolean _advisory(String key, Connection connection, boolean lock, boolean block) throws SQLException
     {
      boolean cStateFlag = connection.getAutoCommit();
@@ -1966,6 +2086,56 @@ public abstract class DatabaseHandler extends StorageConnector {
         return streamId;
     }
 
+    /**
+     * The state which is shared by all requests for the same connector. Instances are immutable, a changed configuration results in a new
+     * instance, so that they can be resolved from the registry without locking.
+     */
+    private static final class DatabaseInstance {
+        private final Map<String, Object> connectorParams;
+        private final String functionName;
+        private final PSQLConfig config;
+        private final String configValues;
+        private final TableMetadataCache tableMetadata;
+
+        private DatabaseInstance(Map<String, Object> connectorParams, String functionName, PSQLConfig config,
+            TableMetadataCache tableMetadata) {
+            this.connectorParams = connectorParams == null ? null : new HashMap<>(connectorParams);
+            this.functionName = functionName;
+            this.config = config;
+            this.configValues = config.getConfigValuesAsString();
+            this.tableMetadata = tableMetadata;
+        }
+
+        /**
+         * @return Whether this instance was created from the same raw parameters, so that it can be used without rebuilding the config
+         */
+        private boolean matches(Map<String, Object> connectorParams, String functionName) {
+            return Objects.equals(this.connectorParams, connectorParams) && Objects.equals(this.functionName, functionName);
+        }
+
+        /**
+         * Creates an instance for other raw parameters which are resulting in the same config, by sharing the data sources of this instance.
+         */
+        private DatabaseInstance reuseFor(Map<String, Object> connectorParams, String functionName, PSQLConfig config) {
+            config.addDataSource(this.config.getDataSource());
+            this.config.getReadDataSources().forEach(config::addReadDataSource);
+            config.addDatabaseMaintainer(this.config.getDatabaseMaintainer());
+            return new DatabaseInstance(connectorParams, functionName, config, tableMetadata);
+        }
+
+        private void close() {
+            config.getDatabaseMaintainer().stopReplicaLagChecks();
+            try {
+                ((PooledDataSource) config.getDataSource()).close();
+                for (DataSource replica : config.getReadDataSources())
+                    ((PooledDataSource) replica).close();
+            }
+            catch (SQLException e) {
+                logger.warn("Error while closing connections: ", e);
+            }
+        }
+    }
+
     public static class XyzConnectionCustomizer extends AbstractConnectionCustomizer { // handle initialization per db connection
         private String getSchema(String parentDataSourceIdentityToken) {
             return (String) extensionsForToken(parentDataSourceIdentityToken).get(C3P0EXT_CONFIG_SCHEMA);
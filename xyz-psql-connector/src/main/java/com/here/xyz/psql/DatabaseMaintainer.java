@@ -43,6 +43,15 @@ import java.net.SocketTimeoutException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 public class DatabaseMaintainer {
@@ -53,8 +62,34 @@ public class DatabaseMaintainer {
 
     public static final int H3_CORE_VERSION = 107;
 
+    /** The interval in milliseconds in which the replication lag of the replicas gets measured */
+    static final long REPLICA_LAG_CHECK_INTERVAL = 10_000;
+    /**
+     * The age in milliseconds after which a measured replication lag gets refreshed by the request which uses it, e.g. as the background
+     * checks were suspended while the function was frozen between two invocations
+     */
+    static final long REPLICA_LAG_MAX_AGE = 3 * REPLICA_LAG_CHECK_INTERVAL;
+    /** The time in milliseconds which a request waits at most for the refresh of an outdated replication lag */
+    static final long REPLICA_LAG_REFRESH_TIMEOUT = 500;
+    /** The minimal margin in milliseconds by which a replica's lag has to stay below the time since the latest write */
+    static final long MIN_REPLICA_LAG_MARGIN = 100;
+    static final long UNKNOWN_LAG = -1;
+
+    /** Measures the replication lags of all connectors in the background, so that no request has to wait for a measurement */
+    private static final ScheduledExecutorService replicaLagChecker = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-checker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private DataSource dataSource;
     private PSQLConfig config;
+    /** The latest measured replication lag per replica data source */
+    private final Map<DataSource, ReplicaLag> replicaLags = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> replicaLagCheck;
+    /** The currently running refresh of outdated replication lags, which is shared by all requests waiting for it */
+    private Future<?> replicaLagRefresh;
+    private TraceItem replicaLagTraceItem;
 
     private final RequestConfig requestConfig = RequestConfig.custom()
             .setConnectTimeout(1 * 1000 )
@@ -67,6 +102,114 @@ public class DatabaseMaintainer {
         this.config = config;
     }
 
+    /**
+     * Returns the latest measured replication lag of the replica. If the measurement is outdated, the lags are measured again, whereby the
+     * caller waits at most {@link #REPLICA_LAG_REFRESH_TIMEOUT} for the new measurement. If the refresh does not complete in time, the
+     * outdated lag is used.
+     *
+     * @param replica One of the replica data sources of the connector
+     * @return The latest measured replication lag of the replica in milliseconds or -1, if it is unknown (e.g. as the measurement failed
+     *  or was not done yet)
+     */
+    public long getReplicaLag(DataSource replica) {
+        ReplicaLag replicaLag = replicaLags.get(replica);
+        if (replicaLag == null || System.currentTimeMillis() - replicaLag.measuredAt > REPLICA_LAG_MAX_AGE) {
+            refreshReplicaLags();
+            replicaLag = replicaLags.get(replica);
+        }
+        return replicaLag == null ? UNKNOWN_LAG : replicaLag.lag;
+    }
+
+    /**
+     * Measures the replication lags now and waits for the measurement for at most {@link #REPLICA_LAG_REFRESH_TIMEOUT}.
+     */
+    private void refreshReplicaLags() {
+        final Future<?> refresh;
+        synchronized (this) {
+            if (replicaLagRefresh == null || replicaLagRefresh.isDone())
+                replicaLagRefresh = replicaLagChecker.submit(() -> checkReplicaLags(replicaLagTraceItem));
+            refresh = replicaLagRefresh;
+        }
+
+        try {
+            refresh.get(REPLICA_LAG_REFRESH_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | TimeoutException e) {
+            logger.debug("{} The replication lag could not be refreshed in time, using the latest measurement.", replicaLagTraceItem, e);
+        }
+    }
+
+    void setReplicaLag(DataSource replica, long lag, long measuredAt) {
+        replicaLags.put(replica, new ReplicaLag(lag, measuredAt));
+    }
+
+    /**
+     * Decides whether a replica may be used for a read.
+     * As the lag is only measured periodically, it might have grown since the measurement. Therefore, the replica must have been lagging
+     * behind less than half of the time since the latest write (but at least by {@link #MIN_REPLICA_LAG_MARGIN}).
+     *
+     * @param lag The measured replication lag of the replica in milliseconds or -1, if unknown
+     * @param maxLag The maximum replication lag in milliseconds up to which a replica is used at all
+     * @param timeSinceWrite The time in milliseconds since the latest write to the space which is read or null, if no recent write is known
+     * @return Whether the replica is expected to have caught up with the latest write
+     */
+    static boolean isReplicaUsable(long lag, long maxLag, Long timeSinceWrite) {
+        if (lag < 0 || lag > maxLag)
+            return false;
+        return timeSinceWrite == null || lag + Math.max(lag, MIN_REPLICA_LAG_MARGIN) < timeSinceWrite;
+    }
+
+    /**
+     * Starts measuring the replication lag of all replicas periodically in the background.
+     * Until the first measurement has been done, the replicas are not used.
+     */
+    public synchronized void startReplicaLagChecks(TraceItem traceItem) {
+        if (replicaLagCheck != null || config.getReadDataSources().isEmpty())
+            return;
+        replicaLagTraceItem = traceItem;
+        replicaLagCheck = replicaLagChecker.scheduleWithFixedDelay(() -> checkReplicaLags(traceItem), 0, REPLICA_LAG_CHECK_INTERVAL,
+            TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopReplicaLagChecks() {
+        if (replicaLagCheck != null) {
+            replicaLagCheck.cancel(false);
+            replicaLagCheck = null;
+        }
+    }
+
+    /**
+     * Measures the replication lag of all replicas. A replica whose lag can not be measured is not used until the next check.
+     */
+    void checkReplicaLags(TraceItem traceItem) {
+        for (DataSource replica : config.getReadDataSources()) {
+            long lag = UNKNOWN_LAG;
+            try (final Connection connection = replica.getConnection();
+                final Statement stmt = connection.createStatement();
+                final ResultSet rs = stmt.executeQuery(MaintenanceSQL.replicaLagSQL)) {
+                if (rs.next())
+                    lag = rs.getLong(1);
+            }
+            catch (Exception e) {
+                logger.warn("{} Could not measure the replication lag, the replica will not be used until the next check.", traceItem, e);
+            }
+            setReplicaLag(replica, lag, System.currentTimeMillis());
+        }
+    }
+
+    private static final class ReplicaLag {
+        private final long lag;
+        private final long measuredAt;
+
+        private ReplicaLag(long lag, long measuredAt) {
+            this.lag = lag;
+            this.measuredAt = measuredAt;
+        }
+    }
+
     public synchronized void run(TraceItem traceItem) {
         final boolean hasPropertySearch = config.getConnectorParams().isPropertySearch();
         final boolean autoIndexing = config.getConnectorParams().isAutoIndexing();
@@ -34,15 +34,23 @@ import com.here.xyz.models.geojson.implementation.Properties;
 import com.here.xyz.models.geojson.implementation.XyzNamespace;
 import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.io.WKBWriter;
+import com.here.xyz.psql.tools.PGBinaryCopyWriter;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.postgresql.util.PGobject;
 
 public class DatabaseWriter {
@@ -84,6 +92,13 @@ public class DatabaseWriter {
     protected static final String TRANSACTION_ERROR_GENERAL = "Transaction has failed";
 
     private static PGobject featureToPGobject(ModifyFeaturesEvent event, final Feature feature, long version) throws SQLException {
+        final PGobject jsonbObject = new PGobject();
+        jsonbObject.setType("jsonb");
+        jsonbObject.setValue(featureToJson(event, feature, version));
+        return jsonbObject;
+    }
+
+    private static String featureToJson(ModifyFeaturesEvent event, final Feature feature, long version) {
         final Geometry geometry = feature.getGeometry();
         feature.setGeometry(null); // Do not serialize the geometry in the JSON object
 
@@ -101,11 +116,7 @@ public class DatabaseWriter {
         } finally {
             feature.setGeometry(geometry);
         }
-
-        final PGobject jsonbObject = new PGobject();
-        jsonbObject.setType("jsonb");
-        jsonbObject.setValue(json);
-        return jsonbObject;
+        return json;
     }
 
     private static void fillDeleteQueryFromDeletion(SQLQuery query, Entry<String, String> deletion, ModifyFeaturesEvent event, long version)
@@ -135,16 +146,11 @@ public class DatabaseWriter {
     }
 
     private static void fillUpdateQueryFromFeature(SQLQuery query, Feature feature, ModifyFeaturesEvent event, long version) throws SQLException {
-        if (feature.getId() == null)
-            throw new WriteFeatureException(UPDATE_ERROR_ID_MISSING);
-
         //NOTE: The following is a temporary implementation for backwards compatibility for old table structures
         boolean oldTableStyle = true; //DatabaseHandler.readVersionsToKeep(event) < 1;
-        final String puuid = feature.getProperties().getXyzNamespace().getPuuid();
+        final String puuid = getPuuidForUpdate(feature, event);
         if (event.getEnableUUID() && (event.getVersionsToKeep() <= 1 || event.isEnableGlobalVersioning())) {
-          if (puuid == null && oldTableStyle)
-            throw new WriteFeatureException(UPDATE_ERROR_PUUID_MISSING);
-          else if (oldTableStyle)
+          if (oldTableStyle)
             query.setNamedParameter("puuid", puuid);
           else
             query.setNamedParameter("baseVersion", feature.getProperties().getXyzNamespace().getVersion());
@@ -158,22 +164,40 @@ public class DatabaseWriter {
         fillInsertQueryFromFeature(query, UPDATE, feature, event, version);
     }
 
+    /**
+     * Validates the feature to be updated and returns the puuid to be used for the conflict detection.
+     */
+    private static String getPuuidForUpdate(Feature feature, ModifyFeaturesEvent event) {
+        if (feature.getId() == null)
+            throw new WriteFeatureException(UPDATE_ERROR_ID_MISSING);
+
+        final String puuid = feature.getProperties().getXyzNamespace().getPuuid();
+        if (event.getEnableUUID() && (event.getVersionsToKeep() <= 1 || event.isEnableGlobalVersioning()) && puuid == null)
+            throw new WriteFeatureException(UPDATE_ERROR_PUUID_MISSING);
+        return puuid;
+    }
+
     private static void fillInsertQueryFromFeature(SQLQuery query, ModificationType action, Feature feature, ModifyFeaturesEvent event, long version) throws SQLException {
         query
             .withNamedParameter("id", feature.getId())
             .withNamedParameter("version", version)
-            .withNamedParameter("operation", (action == DELETE || !getDeletedFlagFromFeature(feature) ? action
-                : action == INSERT ? INSERT_HIDE_COMPOSITE : UPDATE_HIDE_COMPOSITE).shortValue)
-            .withNamedParameter("jsondata", featureToPGobject(event, feature, version));
+            .withNamedParameter("operation", getOperation(action, feature).shortValue)
+            .withNamedParameter("jsondata", featureToPGobject(event, feature, version))
+            .withNamedParameter("geo", geometryToWKB(feature));
+    }
 
+    private static ModificationType getOperation(ModificationType action, Feature feature) {
+        return action == DELETE || !getDeletedFlagFromFeature(feature) ? action
+            : action == INSERT ? INSERT_HIDE_COMPOSITE : UPDATE_HIDE_COMPOSITE;
+    }
+
+    private static byte[] geometryToWKB(Feature feature) {
         Geometry geo = feature.getGeometry();
-        if (geo != null) {
-            //Avoid NaN values
-            assure3d(geo.getJTSGeometry().getCoordinates());
-            query.setNamedParameter("geo", new WKBWriter(3).write(geo.getJTSGeometry()));
-        }
-        else
-            query.setNamedParameter("geo", null);
+        if (geo == null)
+            return null;
+        //Avoid NaN values
+        assure3d(geo.getJTSGeometry().getCoordinates());
+        return new WKBWriter(3).write(geo.getJTSGeometry());
     }
 
     private static boolean getDeletedFlagFromFeature(Feature f) {
@@ -188,6 +212,11 @@ public class DatabaseWriter {
         long version) throws SQLException, JsonProcessingException {
         boolean transactional = event.getTransaction();
         connection.setAutoCommit(!transactional);
+
+        if (isBulkModification(dbh, event, action, inputData)
+            && bulkModifyFeatures(dbh, event, action, collection, fails, (List<Feature>) inputData, connection, version))
+            return;
+
         SQLQuery modificationQuery = buildModificationStmtQuery(dbh, event, action, version);
 
         List<String> idList = transactional ? new ArrayList<>() : null;
@@ -239,6 +268,162 @@ public class DatabaseWriter {
         }
     }
 
+    private static boolean isBulkModification(DatabaseHandler dbh, ModifyFeaturesEvent event, ModificationType action, List inputData) {
+        int bulkWriteThreshold = dbh.config.getConnectorParams().getBulkWriteThreshold();
+        //The bulk mode is not supported for deletions and for spaces with versioning, as there the writes are performed by a DB-function
+        return bulkWriteThreshold > 0 && inputData.size() >= bulkWriteThreshold && (action == INSERT || action == UPDATE)
+            && event.getVersionsToKeep() <= 1;
+    }
+
+    /**
+     * Performs the modifications by copying all features into a temporary staging table using the binary COPY protocol and merging them
+     * into the space table afterwards using one set-based statement.
+     * The failure reporting is the same as for the batch execution.
+     * In non-transactional mode a failure of the bulk execution leads to a rollback of it, so that the caller can fall back to the
+     * execution per feature to find out which features could not be written.
+     *
+     * @return true, if the modifications have been performed, false if the caller should fall back to the execution per feature
+     */
+    private static boolean bulkModifyFeatures(DatabaseHandler dbh, ModifyFeaturesEvent event, ModificationType action,
+        FeatureCollection collection, List<FeatureCollection.ModificationFailure> fails, List<Feature> features, Connection connection,
+        long version) throws SQLException, JsonProcessingException {
+        final boolean transactional = event.getTransaction();
+        final List<FeatureCollection.ModificationFailure> bulkFails = new ArrayList<>();
+        final List<Feature> stagedFeatures = new ArrayList<>(features.size());
+        final long start = System.currentTimeMillis();
+
+        if (!transactional)
+            connection.setAutoCommit(false);
+
+        int[] bulkResult;
+        try {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.setQueryTimeout(dbh.calculateTimeout());
+                stmt.execute(SQLQueryBuilder.buildCreateBulkStagingTableQuery().substitute().text());
+            }
+            copyToStagingTable(event, action, features, stagedFeatures, bulkFails, connection, version);
+            bulkResult = mergeStagingTable(dbh, event, action, stagedFeatures, connection);
+
+            if (!transactional)
+                connection.commit();
+        }
+        catch (Exception e) {
+            if (!transactional) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+
+                if (e instanceof SQLException && "42P01".equalsIgnoreCase(((SQLException) e).getSQLState()))
+                    throw (SQLException) e;
+
+                //Fall back to the execution per feature to get the detailed failure information
+                logException(e, action, dbh, event);
+                return false;
+            }
+
+            if (e instanceof SQLException && "42P01".equalsIgnoreCase(((SQLException) e).getSQLState()))
+                //Re-throw, as a missing table will be handled by DatabaseHandler.
+                throw (SQLException) e;
+            if (e instanceof WriteFeatureException)
+                throw (WriteFeatureException) e;
+
+            //If there was some error inside the merge query, fail the transaction
+            bulkResult = new int[stagedFeatures.size()];
+        }
+
+        if (!transactional)
+            connection.setAutoCommit(true);
+
+        logger.debug("{} bulk execution [{}] of {} features took {}ms", dbh.traceItem, action, stagedFeatures.size(),
+            System.currentTimeMillis() - start);
+
+        fails.addAll(bulkFails);
+        List<String> idList = new ArrayList<>(stagedFeatures.size());
+        for (int i = 0; i < stagedFeatures.size(); i++) {
+            idList.add(stagedFeatures.get(i).getId());
+            if (transactional || bulkResult[i] != 0)
+                collection.getFeatures().add(stagedFeatures.get(i));
+        }
+        fillFailList(bulkResult, fails, idList, event, action);
+
+        if (transactional && action != INSERT && fails.size() > 0) {
+            logException(null, action, dbh, event);
+            throw new SQLException(getGeneralErrorMsg(action));
+        }
+        return true;
+    }
+
+    private static void copyToStagingTable(ModifyFeaturesEvent event, ModificationType action, List<Feature> features,
+        List<Feature> stagedFeatures, List<FeatureCollection.ModificationFailure> fails, Connection connection, long version)
+        throws SQLException, IOException {
+        final PGCopyOutputStream copyStream = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+            SQLQueryBuilder.buildBulkCopyQuery().substitute().text());
+        //The writer is only closed on success, as closing it ends the COPY, which then could not be cancelled anymore
+        final PGBinaryCopyWriter writer;
+        try {
+            writer = new PGBinaryCopyWriter(copyStream);
+            for (Feature feature : features) {
+                final String puuid;
+                try {
+                    puuid = action == UPDATE ? getPuuidForUpdate(feature, event) : null;
+                }
+                catch (WriteFeatureException e) {
+                    if (event.getTransaction())
+                        throw e;
+                    fails.add(new FeatureCollection.ModificationFailure().withId(feature.getId()).withMessage(e.getMessage()));
+                    continue;
+                }
+
+                writer.startRow(7)
+                    .writeInt(stagedFeatures.size())
+                    .writeText(feature.getId())
+                    .writeLong(version)
+                    .writeText(getOperation(action, feature).shortValue)
+                    .writeJsonb(featureToJson(event, feature, version))
+                    .writeBytes(geometryToWKB(feature))
+                    .writeText(puuid);
+                stagedFeatures.add(feature);
+            }
+        }
+        catch (Exception e) {
+            if (copyStream.isActive())
+                copyStream.cancelCopy();
+            throw e;
+        }
+        writer.close();
+    }
+
+    /**
+     * Merges the rows of the staging table into the space table.
+     *
+     * @return The result per staged feature, 1 if the feature was written, 0 if not
+     */
+    private static int[] mergeStagingTable(DatabaseHandler dbh, ModifyFeaturesEvent event, ModificationType action,
+        List<Feature> stagedFeatures, Connection connection) throws SQLException {
+        final SQLQuery mergeQuery = action == INSERT ? SQLQueryBuilder.buildBulkInsertStmtQuery(dbh, event)
+            : SQLQueryBuilder.buildBulkUpdateStmtQuery(dbh, event);
+
+        //Count the returned rows per id, as the same id may be staged multiple times but each returned row only accounts for one of them
+        final Map<String, Integer> writtenCounts = new HashMap<>();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setQueryTimeout(dbh.calculateTimeout());
+            try (ResultSet rs = stmt.executeQuery(mergeQuery.substitute().text())) {
+                while (rs.next())
+                    writtenCounts.merge(rs.getString(1), 1, Integer::sum);
+            }
+        }
+
+        final int[] result = new int[stagedFeatures.size()];
+        for (int i = 0; i < result.length; i++) {
+            final String id = stagedFeatures.get(i).getId();
+            final int count = writtenCounts.getOrDefault(id, 0);
+            if (count > 0) {
+                result[i] = 1;
+                writtenCounts.put(id, count - 1);
+            }
+        }
+        return result;
+    }
+
     private static String getFailedRowErrorMsg(ModificationType action, ModifyFeaturesEvent event) {
         switch (action) {
             case INSERT:
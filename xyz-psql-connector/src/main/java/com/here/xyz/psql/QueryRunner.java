@@ -39,6 +39,7 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
 
   private final SQLQuery query;
   private boolean useReadReplica;
+  private boolean useCursor;
   protected DatabaseHandler dbHandler;
 
   public QueryRunner(E input, DatabaseHandler dbHandler) throws SQLException, ErrorResponseException {
@@ -47,7 +48,7 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
   }
 
   public R run() throws SQLException, ErrorResponseException {
-    return dbHandler.executeQueryWithRetry(prepareQuery(), this, useReadReplica);
+    return dbHandler.executeQueryWithRetry(prepareQuery(), this, useReadReplica, useCursor);
   }
 
   public int write() throws SQLException, ErrorResponseException {
@@ -71,6 +72,18 @@ public abstract class QueryRunner<E extends Object, R extends Object> implements
     this.useReadReplica = useReadReplica;
   }
 
+  public boolean isUseCursor() {
+    return useCursor;
+  }
+
+  /**
+   * @param useCursor Whether the result should be fetched in chunks using a cursor rather than at once. That bounds the memory usage
+   *  for large results, which may get only partially read (e.g. because a size limit was reached).
+   */
+  public void setUseCursor(boolean useCursor) {
+    this.useCursor = useCursor;
+  }
+
   protected String getSchema() {
     return dbHandler.config.getDatabaseSettings().getSchema();
   }
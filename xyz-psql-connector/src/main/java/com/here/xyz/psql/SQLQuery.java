@@ -39,6 +39,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,8 +52,8 @@ public class SQLQuery {
   private Map<String, Object> namedParameters;
   private Map<String, String> variables;
   private Map<String, SQLQuery> queryFragments;
-  private static final String VAR_PREFIX = "\\$\\{";
-  private static final String VAR_SUFFIX = "\\}";
+  private static final String VAR_PREFIX = "${";
+  private static final String VAR_SUFFIX = "}";
   private static final String FRAGMENT_PREFIX = "${{";
   private static final String FRAGMENT_SUFFIX = "}}";
   private static final String VAR_SCHEMA = "schema";
@@ -267,25 +268,70 @@ public class SQLQuery {
    * Replaces #{namedVar} in the queryText with ? and appends the corresponding parameters from the specified map.
    */
   private void replaceNamedParametersInt(boolean usePlaceholders) {
-    Pattern p = Pattern.compile("#\\{\\s*([^\\s\\}]+)\\s*\\}");
-    Matcher m = p.matcher(text());
+    final Template template = Template.of(text());
+    final StringBuilder inlined = usePlaceholders ? null : new StringBuilder(text().length());
 
-    while( m.find() )
-    { String nParam = m.group(1);
+    for (int i = 0; i < template.paramNames.size(); i++) {
+      String nParam = template.paramNames.get(i);
       if (!namedParameters.containsKey(nParam))
         throw new IllegalArgumentException("sql: named Parameter ["+ nParam +"] missing");
       if (!namedParams2Positions.containsKey(nParam))
         namedParams2Positions.put(nParam, new ArrayList<>());
       namedParams2Positions.get(nParam).add(parameters.size());
       addParameter( namedParameters.get(nParam) );
-      if (!usePlaceholders) {
-        setText(m.replaceFirst(paramValueToString(namedParameters.get(nParam))));
-        m = p.matcher(text());
-      }
+      if (!usePlaceholders)
+        inlined.append(template.segments.get(i)).append(paramValueToString(namedParameters.get(nParam)));
     }
 
     if (usePlaceholders)
-      setText(m.replaceAll("?"));
+      setText(template.text);
+    else
+      setText(inlined.append(template.segments.get(template.segments.size() - 1)).toString());
+  }
+
+  /**
+   * A query text in which all named parameters have been replaced by placeholders, together with the names of the parameters in the
+   * order of their occurrence.
+   * As most queries are built from the same static texts, the templates are cached by the query text they were compiled from, so
+   * that the parsing happens only once per query shape.
+   */
+  private static class Template {
+    private static final Pattern NAMED_PARAM_PATTERN = Pattern.compile("#\\{\\s*([^\\s\\}]+)\\s*\\}");
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final Map<String, Template> cache = new ConcurrentHashMap<>();
+
+    private final String text;
+    private final List<String> paramNames = new ArrayList<>();
+    /**
+     * The parts of the original text between the named parameters.
+     */
+    private final List<String> segments = new ArrayList<>();
+
+    private Template(String queryText) {
+      final StringBuilder sb = new StringBuilder(queryText.length());
+      final Matcher m = NAMED_PARAM_PATTERN.matcher(queryText);
+      int end = 0;
+      while (m.find()) {
+        segments.add(queryText.substring(end, m.start()));
+        paramNames.add(m.group(1));
+        sb.append(queryText, end, m.start()).append('?');
+        end = m.end();
+      }
+      segments.add(queryText.substring(end));
+      text = sb.append(queryText, end, queryText.length()).toString();
+    }
+
+    private static Template of(String queryText) {
+      Template template = cache.get(queryText);
+      if (template == null) {
+        template = new Template(queryText);
+        //Queries with inlined values do not have a stable shape, so prevent them from growing the cache unbounded
+        if (cache.size() >= MAX_CACHED_TEMPLATES)
+          cache.clear();
+        cache.put(queryText, template);
+      }
+      return template;
+    }
   }
 
   private String paramValueToString(Object paramValue) {
@@ -297,10 +343,32 @@ public class SQLQuery {
         + paramValue.getClass().getSimpleName());
   }
 
+  /**
+   * Replaces all ${var} occurrences of the given variables in a single pass. Query fragments (${{fragment}}) and unknown variables are
+   * kept as they are.
+   */
   private static String replaceVars(String queryText, Map<String, String> replacements) {
-    for (String key : replacements.keySet())
-      queryText = queryText.replaceAll(VAR_PREFIX + key + VAR_SUFFIX, sqlQuote(replacements.get(key)));
-    return queryText;
+    int start = queryText.indexOf(VAR_PREFIX);
+    if (start < 0)
+      return queryText;
+
+    final StringBuilder sb = new StringBuilder(queryText.length() + 64);
+    int end = 0;
+    while (start >= 0) {
+      final int nameStart = start + VAR_PREFIX.length();
+      final int nameEnd = queryText.indexOf(VAR_SUFFIX, nameStart);
+      if (nameEnd < 0)
+        break;
+      final String key = queryText.substring(nameStart, nameEnd);
+      if (queryText.startsWith(FRAGMENT_PREFIX, start) || !replacements.containsKey(key)) {
+        start = queryText.indexOf(VAR_PREFIX, nameStart);
+        continue;
+      }
+      sb.append(queryText, end, start).append(sqlQuote(replacements.get(key)));
+      end = nameEnd + VAR_SUFFIX.length();
+      start = queryText.indexOf(VAR_PREFIX, end);
+    }
+    return sb.append(queryText, end, queryText.length()).toString();
   }
 
   private void replaceVars() {
@@ -389,12 +457,20 @@ public class SQLQuery {
     List<Object> params = parameters();
     //Clear all un-named parameters
     parameters = new ArrayList<>();
+    final String queryText = text();
+    final StringBuilder sb = new StringBuilder(queryText.length() + params.size() * 10);
+    int end = 0;
     int i = 0;
     for (Object paramValue : params) {
       String paramName = "param" + ++i;
       setNamedParameter(paramName, paramValue);
-      setText(text().replaceFirst(Pattern.quote("?"), "#{" + paramName + "}"));
+      int pos = queryText.indexOf('?', end);
+      if (pos < 0)
+        continue;
+      sb.append(queryText, end, pos).append("#{").append(paramName).append("}");
+      end = pos + 1;
     }
+    setText(sb.append(queryText, end, queryText.length()).toString());
   }
 
   @Deprecated
@@ -34,6 +34,7 @@ import com.here.xyz.psql.query.ModifySpace;
 public class SQLQueryBuilder {
 
   private static final Integer BIG_SPACE_THRESHOLD = 10000;
+  private static final String BULK_STAGING_TABLE = "xyz_bulk_staging";
 
     public static SQLQuery buildGetStatisticsQuery(Event event, PSQLConfig config, boolean historyMode) {
         String function;
@@ -271,6 +272,46 @@ public class SQLQueryBuilder {
           event);
   }
 
+  protected static SQLQuery buildCreateBulkStagingTableQuery() {
+      return new SQLQuery("CREATE TEMP TABLE IF NOT EXISTS ${stagingTable} "
+          + "(pos INT, id TEXT, version BIGINT, operation TEXT, jsondata JSONB, geo BYTEA, puuid TEXT) ON COMMIT DROP; "
+          + "TRUNCATE ${stagingTable}")
+          .withVariable("stagingTable", BULK_STAGING_TABLE);
+  }
+
+  protected static SQLQuery buildBulkCopyQuery() {
+      return new SQLQuery("COPY ${stagingTable} (pos, id, version, operation, jsondata, geo, puuid) FROM STDIN (FORMAT binary)")
+          .withVariable("stagingTable", BULK_STAGING_TABLE);
+  }
+
+  protected static SQLQuery buildBulkInsertStmtQuery(DatabaseHandler dbHandler, ModifyFeaturesEvent event) {
+      return setTableVariables(new SQLQuery("INSERT INTO ${schema}.${table} (id, version, operation, jsondata, geo) "
+          + "SELECT id, version, operation, jsondata, ${{geo}} FROM ${stagingTable} ORDER BY pos "
+          + "RETURNING id"), dbHandler, event)
+          .withQueryFragment("geo", buildBulkGeoFragment("geo"))
+          .withVariable("stagingTable", BULK_STAGING_TABLE);
+  }
+
+  protected static SQLQuery buildBulkUpdateStmtQuery(DatabaseHandler dbHandler, ModifyFeaturesEvent event) {
+      return setTableVariables(new SQLQuery("UPDATE ${schema}.${table} t SET "
+          + "version = s.version, "
+          + "operation = s.operation, "
+          + "jsondata = s.jsondata, "
+          + "geo = ${{geo}} "
+          + "FROM ${stagingTable} s "
+          + "WHERE t.${{idColumn}} = s.id ${{uuidCheck}} "
+          + "RETURNING s.id"), dbHandler, event)
+          .withQueryFragment("geo", buildBulkGeoFragment("s.geo"))
+          .withQueryFragment("idColumn", buildIdFragment(event))
+          .withQueryFragment("uuidCheck", event.getEnableUUID()
+              ? " AND (s.puuid IS NULL OR t.jsondata->'properties'->'@ns:com:here:xyz'->>'uuid' = s.puuid)" : "")
+          .withVariable("stagingTable", BULK_STAGING_TABLE);
+  }
+
+  private static String buildBulkGeoFragment(String wkbColumn) {
+      return "CASE WHEN " + wkbColumn + " IS NULL THEN NULL ELSE ST_Force3D(ST_GeomFromWKB(" + wkbColumn + ", 4326)) END";
+  }
+
   private static String buildUuidCheckFragment(ModifyFeaturesEvent event) {
     //NOTE: The following is a temporary implementation for backwards compatibility for old spaces
     return event.getEnableUUID() ? " AND (#{puuid}::TEXT IS NULL OR jsondata->'properties'->'@ns:com:here:xyz'->>'uuid' = #{puuid})" : "";
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches metadata of the space tables of one connector, so that it has not to be looked up in the database for every request.
+ * Entries expire after a TTL and get invalidated whenever the according space is modified.
+ *
+ * Only the existence of tables is cached, but not their absence, as tables could have been created by other instances in the meantime.
+ */
+public class TableMetadataCache {
+
+  private final Map<String, Entry<Boolean>> existingTables = new ConcurrentHashMap<>();
+  private final Map<String, Entry<String>> relTuples = new ConcurrentHashMap<>();
+
+  /**
+   * @param ttl The time in milliseconds for which a cached value is valid
+   * @return Whether the table is known to exist
+   */
+  public boolean isKnownToExist(String schema, String table, long ttl) {
+    return get(existingTables, key(schema, table), ttl) != null;
+  }
+
+  public void markExisting(String schema, String table) {
+    existingTables.put(key(schema, table), new Entry<>(true));
+  }
+
+  /**
+   * @param ttl The time in milliseconds for which a cached value is valid
+   * @return The estimated row counts of the table and its partitions in the form "reltuples~relname,..." or null if not cached
+   */
+  public String getRelTuples(String schema, String table, long ttl) {
+    return get(relTuples, key(schema, table), ttl);
+  }
+
+  public void putRelTuples(String schema, String table, String value) {
+    if (value != null)
+      relTuples.put(key(schema, table), new Entry<>(value));
+  }
+
+  /**
+   * Removes all cached metadata of the given table including its partitions (e.g. HEAD and history tables).
+   */
+  public void invalidate(String schema, String table) {
+    final String key = key(schema, table);
+    existingTables.keySet().removeIf(k -> k.equals(key) || k.startsWith(key + "_"));
+    relTuples.keySet().removeIf(k -> k.equals(key) || k.startsWith(key + "_"));
+  }
+
+  private static <T> T get(Map<String, Entry<T>> map, String key, long ttl) {
+    final Entry<T> entry = map.get(key);
+    if (entry == null)
+      return null;
+    if (System.currentTimeMillis() - entry.timestamp >= ttl) {
+      map.remove(key, entry);
+      return null;
+    }
+    return entry.value;
+  }
+
+  private static String key(String schema, String table) {
+    return schema + "." + table;
+  }
+
+  private static class Entry<T> {
+    private final T value;
+    private final long timestamp = System.currentTimeMillis();
+
+    private Entry(T value) {
+      this.value = value;
+    }
+  }
+}
@@ -39,6 +39,8 @@ public class ConnectorParameters {
     public final static String ON_DEMAND_IDX_LIMIT = "onDemandIdxLimit";
     public final static String HRN_SHORTENING = "hrnShortening";
     public final static String IGNORE_CREATE_MSE = "ignoreCreateMse";
+    public final static String BULK_WRITE_THRESHOLD = "bulkWriteThreshold";
+    public final static String METADATA_CACHE_TTL = "metadataCacheTtl";
 
     public final static String DB_INITIAL_POOL_SIZE = "dbInitialPoolSize";
     public final static String DB_MIN_POOL_SIZE = "dbMinPoolSize";
@@ -48,6 +50,9 @@ public class ConnectorParameters {
     public final static String DB_CHECKOUT_TIMEOUT = "dbCheckoutTimeout";
     public final static String DB_TEST_CONNECTION_ON_CHECKOUT = "dbTestConnectionOnCheckout";
     public final static String DB_MAX_IDLE_TIME = "dbMaxIdleTime";
+    public final static String DB_FETCH_SIZE = "dbFetchSize";
+    public final static String DB_PREPARE_THRESHOLD = "dbPrepareThreshold";
+    public final static String DB_MAX_REPLICA_LAG = "dbMaxReplicaLag";
 
     /**
      * Connector Settings defaults
@@ -61,6 +66,8 @@ public class ConnectorParameters {
     private int onDemandIdxLimit = 4;
     private boolean hrnShortening = false;
     private boolean ignoreCreateMse = false;
+    private int bulkWriteThreshold = 0;
+    private int metadataCacheTtl = 900;
     private String ecps;
 
     /**
@@ -74,6 +81,9 @@ public class ConnectorParameters {
     private int dbCheckoutTimeout = 7;
     private boolean dbTestConnectionOnCheckout = true;
     private Integer dbMaxIdleTime = null;
+    private int dbFetchSize = 1000;
+    private int dbPrepareThreshold = 5;
+    private int dbMaxReplicaLag = 5000;
 
     private TraceItem TraceItem;
 
@@ -90,6 +100,8 @@ public class ConnectorParameters {
             this.onDemandIdxLimit = parseValue(connectorParams, Integer.class, onDemandIdxLimit, ON_DEMAND_IDX_LIMIT);
             hrnShortening = parseValue(connectorParams, Boolean.class, hrnShortening, HRN_SHORTENING);
             ignoreCreateMse = parseValue(connectorParams, Boolean.class, ignoreCreateMse, IGNORE_CREATE_MSE);
+            bulkWriteThreshold = parseValue(connectorParams, Integer.class, bulkWriteThreshold, BULK_WRITE_THRESHOLD);
+            metadataCacheTtl = parseValue(connectorParams, Integer.class, metadataCacheTtl, METADATA_CACHE_TTL);
 
             this.dbInitialPoolSize = parseValue(connectorParams, Integer.class, dbInitialPoolSize, DB_INITIAL_POOL_SIZE);
             this.dbMinPoolSize = parseValue(connectorParams, Integer.class, dbMinPoolSize, DB_MIN_POOL_SIZE);
@@ -99,6 +111,9 @@ public class ConnectorParameters {
             this.dbCheckoutTimeout = parseValue(connectorParams, Integer.class, dbCheckoutTimeout, DB_CHECKOUT_TIMEOUT);
             this.dbTestConnectionOnCheckout = parseValue(connectorParams, Boolean.class, dbTestConnectionOnCheckout, DB_TEST_CONNECTION_ON_CHECKOUT);
             this.dbMaxIdleTime = parseValue(connectorParams, Integer.class, dbMaxIdleTime, DB_MAX_IDLE_TIME);
+            this.dbFetchSize = parseValue(connectorParams, Integer.class, dbFetchSize, DB_FETCH_SIZE);
+            this.dbPrepareThreshold = parseValue(connectorParams, Integer.class, dbPrepareThreshold, DB_PREPARE_THRESHOLD);
+            this.dbMaxReplicaLag = parseValue(connectorParams, Integer.class, dbMaxReplicaLag, DB_MAX_REPLICA_LAG);
 
             this.ecps = parseValue(connectorParams, String.class, null, "ecps");
         }
@@ -166,6 +181,22 @@ public class ConnectorParameters {
         return ignoreCreateMse;
     }
 
+    /**
+     * The minimum amount of features to be inserted / updated at once, for which the bulk write mode (COPY into a staging table followed
+     * by a set-based merge) is used. A value of 0 deactivates the bulk write mode.
+     */
+    public int getBulkWriteThreshold() {
+        return bulkWriteThreshold;
+    }
+
+    /**
+     * The time in seconds for which metadata of the space tables (e.g. their existence or estimated row counts) is cached.
+     * A value of 0 deactivates the caching.
+     */
+    public int getMetadataCacheTtl() {
+        return metadataCacheTtl;
+    }
+
     public int getDbInitialPoolSize() {
         return dbInitialPoolSize;
     }
@@ -196,6 +227,31 @@ public class ConnectorParameters {
         return dbMaxIdleTime;
     }
 
+    /**
+     * The amount of rows which are fetched at once by large reads, which are executed using a cursor. A value of 0 deactivates the
+     * cursor mode, so that the whole result is fetched at once.
+     */
+    public int getDbFetchSize() {
+        return dbFetchSize;
+    }
+
+    /**
+     * The number of executions of the same query text on a connection after which the JDBC driver switches to a server-side prepared
+     * statement, which is then re-used for further executions. A value of 0 deactivates server-side prepared statements, which is
+     * necessary e.g. behind a connection pooler in transaction mode.
+     */
+    public int getDbPrepareThreshold() {
+        return dbPrepareThreshold;
+    }
+
+    /**
+     * The maximum replication lag in milliseconds up to which a replica is used for reads. Replicas which are lagging behind further
+     * (or whose lag is unknown) are skipped and the read is performed on the primary instead.
+     */
+    public int getDbMaxReplicaLag() {
+        return dbMaxReplicaLag;
+    }
+
     public String getEcps() {
         return ecps;
     }
@@ -213,6 +269,8 @@ public class ConnectorParameters {
                 ", enableHashedSpaceId=" + enableHashedSpaceId +
                 ", compactHistory=" + compactHistory +
                 ", onDemandIdxLimit=" + onDemandIdxLimit +
+                ", bulkWriteThreshold=" + bulkWriteThreshold +
+                ", metadataCacheTtl=" + metadataCacheTtl +
                 ", dbInitialPoolSize=" + dbInitialPoolSize +
                 ", dbMinPoolSize=" + dbMinPoolSize +
                 ", dbMaxPoolSize=" + dbMaxPoolSize +
@@ -221,6 +279,9 @@ public class ConnectorParameters {
                 ", dbCheckoutTimeout=" + dbCheckoutTimeout +
                 ", dbTestConnectionOnCheckout=" + dbTestConnectionOnCheckout +
                 ", dbMaxIdleTime=" + dbMaxIdleTime +
+                ", dbFetchSize=" + dbFetchSize +
+                ", dbPrepareThreshold=" + dbPrepareThreshold +
+                ", dbMaxReplicaLag=" + dbMaxReplicaLag +
                 ", ecps='" + ecps + '\'' +
                 '}';
     }
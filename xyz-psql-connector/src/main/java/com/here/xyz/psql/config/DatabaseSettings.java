@@ -21,6 +21,10 @@ package com.here.xyz.psql.config;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.here.xyz.util.Hasher;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class DatabaseSettings {
 
@@ -173,6 +177,18 @@ public class DatabaseSettings {
         return replicaHost;
     }
 
+    /**
+     * @return The hosts of all replicas, as the replica host may be a comma separated list of hosts
+     */
+    public List<String> getReplicaHosts() {
+        if (replicaHost == null)
+            return Collections.emptyList();
+        return Arrays.stream(replicaHost.split(","))
+            .map(String::trim)
+            .filter(host -> !host.isEmpty())
+            .collect(Collectors.toList());
+    }
+
     public String getDb() {
         return db;
     }
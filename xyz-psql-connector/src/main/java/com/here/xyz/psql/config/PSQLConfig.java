@@ -32,8 +32,11 @@ import com.here.xyz.psql.tools.DhString;
 
 import java.security.GeneralSecurityException;
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -48,7 +51,7 @@ public class PSQLConfig {
   public static final String MAINTENANCE_ENDPOINT = "MAINTENANCE_SERVICE_ENDPOINT";
 
   private DataSource dataSource;
-  private DataSource readDataSource;
+  private final List<DataSource> readDataSources = new ArrayList<>();
   private DatabaseMaintainer databaseMaintainer;
   private String maintenanceServiceEndpoint;
 
@@ -56,7 +59,7 @@ public class PSQLConfig {
     this.dataSource = dataSource;
   }
   public void addReadDataSource(DataSource readDataSource){
-    this.readDataSource = readDataSource;
+    this.readDataSources.add(readDataSource);
   }
 
   public void addDatabaseMaintainer(DatabaseMaintainer databaseMaintainer){
@@ -72,9 +75,16 @@ public class PSQLConfig {
   }
 
   public DataSource getReadDataSource() {
-    if(readDataSource == null)
+    if(readDataSources.isEmpty())
       return this.dataSource;
-    return this.readDataSource;
+    return this.readDataSources.get(0);
+  }
+
+  /**
+   * @return All replica data sources, empty if no replica is configured
+   */
+  public List<DataSource> getReadDataSources() {
+    return Collections.unmodifiableList(readDataSources);
   }
 
   private final ConnectorParameters connectorParams;
@@ -153,13 +163,15 @@ public class PSQLConfig {
             connectorParams.getDbMinPoolSize()+
             connectorParams.getDbMaxPoolSize()+
             connectorParams.getDbMaxIdleTime()+
+            connectorParams.getDbPrepareThreshold()+
             connectorParams.isDbTestConnectionOnCheckout()+
             connectorParams.isEnableHashedSpaceId()+
             connectorParams.getOnDemandIdxLimit()+
             connectorParams.isCompactHistory()+
             connectorParams.isPropertySearch()+
             connectorParams.isMvtSupport()+
-            connectorParams.isAutoIndexing();
+            connectorParams.isAutoIndexing()+
+            connectorParams.getBulkWriteThreshold();
   }
 
   public String applicationName() {
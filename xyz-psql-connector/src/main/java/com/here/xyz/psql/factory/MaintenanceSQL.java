@@ -165,6 +165,11 @@ public class MaintenanceSQL {
                 "    )" +
                 "    WHERE dh_schema=? AND connector_id=?";
 
+    /** Get the replication lag in milliseconds of a replica, 0 if it has replayed everything it received, -1 if unknown */
+    public static String replicaLagSQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+                    + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, -1) END::BIGINT";
+
     /** Get status of running index queries (statistic,analyzing,creation,deletion) */
     public static String checkIDXStatus = "SELECT * FROM xyz_index_status();";
 
@@ -19,11 +19,8 @@
 
 package com.here.xyz.psql.query;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.here.xyz.connectors.ErrorResponseException;
 import com.here.xyz.events.IterateChangesetsEvent;
-import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
 import com.here.xyz.psql.DatabaseHandler;
 import com.here.xyz.psql.SQLQuery;
@@ -34,9 +31,7 @@ import com.here.xyz.responses.changesets.ChangesetCollection;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static com.here.xyz.responses.XyzError.ILLEGAL_ARGUMENT;
@@ -81,14 +76,14 @@ public class IterateChangesets extends XyzQueryRunner<IterateChangesetsEvent, Xy
     return handleChangeset(rs);
   }
 
-  public SQLQuery buildIterateChangesets(IterateChangesetsEvent event){
+  public SQLQuery buildIterateChangesets(IterateChangesetsEvent event) throws ErrorResponseException {
     SQLQuery query =new SQLQuery(
         "SELECT " +
-                " version||'_'||id as vid,"+
                 " id,"+
                 " version,"+
                 " author,"+
                 " operation,"+
+                " (jsondata->'properties'->'@ns:com:here:xyz'->>'updatedAt')::BIGINT as updated_at,"+
                 " jsonb_set(jsondata,'{properties, @ns:com:here:xyz, version}',to_jsonb(version)) || jsonb_strip_nulls(jsonb_build_object('geometry',ST_AsGeoJSON(geo)::jsonb)) As feature "+
                 "   from  ${schema}.${table} "+
                 " WHERE 1=1"+
@@ -100,9 +95,11 @@ public class IterateChangesets extends XyzQueryRunner<IterateChangesetsEvent, Xy
 
     query.setVariable(SCHEMA, getSchema());
     query.setVariable(TABLE, getDefaultTable(event));
+    //The explicit version bound allows the version index to be used, the row comparison skips the rows of the last page within that version
     query.setQueryFragment("page", event.getPageToken() != null ?
-            new SQLQuery("AND version||'_'||id > #{page_token} ")
-                    .withNamedParameter("page_token", event.getPageToken()) : new SQLQuery(""));
+            new SQLQuery("AND version >= #{page_version} AND (version, id) > (#{page_version}, #{page_id}) ")
+                    .withNamedParameter("page_version", parsePageTokenVersion(event.getPageToken()))
+                    .withNamedParameter("page_id", parsePageTokenId(event.getPageToken())) : new SQLQuery(""));
 
     query.setQueryFragment("start_version", event.getStartVersion() != null ?
             new SQLQuery("AND version >=  #{start} ")
@@ -117,53 +114,54 @@ public class IterateChangesets extends XyzQueryRunner<IterateChangesetsEvent, Xy
     return query;
   }
 
+  /**
+   * The page token has the form <code>{version}_{id}</code> and points to the last row of the previous page.
+   */
+  private static String createPageToken(long version, String id) {
+    return version + "_" + id;
+  }
+
+  private static long parsePageTokenVersion(String pageToken) throws ErrorResponseException {
+    try {
+      return Long.parseLong(pageToken.substring(0, pageTokenSeparator(pageToken)));
+    }
+    catch (NumberFormatException e) {
+      throw new ErrorResponseException(ILLEGAL_ARGUMENT, "Invalid page token: " + pageToken);
+    }
+  }
+
+  private static String parsePageTokenId(String pageToken) throws ErrorResponseException {
+    return pageToken.substring(pageTokenSeparator(pageToken) + 1);
+  }
+
+  private static int pageTokenSeparator(String pageToken) throws ErrorResponseException {
+    int separator = pageToken.indexOf('_');
+    if (separator <= 0)
+      throw new ErrorResponseException(ILLEGAL_ARGUMENT, "Invalid page token: " + pageToken);
+    return separator;
+  }
+
   public Changeset handleChangeset(ResultSet rs) throws SQLException {
     String author = null;
     long createdAt = 0;
     long numFeatures = 0;
-    Changeset cc = new Changeset();
-
-    List<Feature> inserts = new ArrayList<>();
-    List<Feature> updates = new ArrayList<>();
-    List<Feature> deletes = new ArrayList<>();
+    ChangesetBuilder changeset = new ChangesetBuilder();
 
     while (rs.next()) {
-      Feature feature;
-      String operation = rs.getString("Operation");
       if(author == null)
         author = rs.getString("author");
+      if(createdAt == 0)
+        createdAt = rs.getLong("updated_at");
 
-      try {
-        feature =  new ObjectMapper().readValue(rs.getString("Feature"), Feature.class);
-        if(createdAt == 0)
-          createdAt = feature.getProperties().getXyzNamespace().getUpdatedAt();
-      }catch (JsonProcessingException e){
-        throw new SQLException("Cant read json from database!");
-      }
-
-      switch (operation){
-        case "I":
-        case "H":
-          inserts.add(feature);
-          break;
-        case "U":
-        case "J":
-          updates.add(feature);
-          break;
-        case "D":
-          deletes.add(feature);
-          break;
-      }
-      pageToken = rs.getString("vid");
+      changeset.add(rs.getString("operation"), rs.getString("feature"));
+      pageToken = createPageToken(rs.getLong("version"), rs.getString("id"));
       numFeatures++;
     }
 
+    Changeset cc = changeset.build();
     cc.setVersion(numFeatures > 0 ? start : -1l);
     cc.setCreatedAt(createdAt);
     cc.setAuthor(author);
-    cc.setInserted(new FeatureCollection().withFeatures(inserts));
-    cc.setUpdated(new FeatureCollection().withFeatures(updates));
-    cc.setDeleted(new FeatureCollection().withFeatures(deletes));
 
     if (numFeatures > 0 && numFeatures == limit) {
       cc.setNextPageToken(pageToken);
@@ -181,13 +179,9 @@ public class IterateChangesets extends XyzQueryRunner<IterateChangesetsEvent, Xy
     Integer startVersion = null;
     boolean wroteStart = false;
 
-    List<Feature> inserts = new ArrayList<>();
-    List<Feature> updates = new ArrayList<>();
-    List<Feature> deletes = new ArrayList<>();
+    ChangesetBuilder changeset = new ChangesetBuilder();
 
     while (rs.next()) {
-      Feature feature;
-      String operation = rs.getString("operation");
       Integer version = rs.getInt("version");
 
       if(!wroteStart){
@@ -196,45 +190,18 @@ public class IterateChangesets extends XyzQueryRunner<IterateChangesetsEvent, Xy
       }
 
       if(lastVersion !=  null && version > lastVersion) {
-        Changeset cs = new Changeset().withInserted(new FeatureCollection().withFeatures(inserts))
-            .withVersion(lastVersion).withUpdated(new FeatureCollection().withFeatures(updates))
-            .withDeleted(new FeatureCollection().withFeatures(deletes));
-        versions.put(lastVersion, cs);
-        inserts = new ArrayList<>();
-        updates = new ArrayList<>();
-        deletes = new ArrayList<>();
-      }
-
-      try {
-        feature =  new ObjectMapper().readValue(rs.getString("feature"), Feature.class);
-      }catch (JsonProcessingException e){
-        throw new SQLException("Cant read json from database!");
-      }
-
-      switch (operation){
-        case "I":
-        case "H":
-          inserts.add(feature);
-          break;
-        case "U":
-        case "J":
-          updates.add(feature);
-          break;
-        case "D":
-          deletes.add(feature);
-          break;
+        versions.put(lastVersion, changeset.build().withVersion(lastVersion));
+        changeset = new ChangesetBuilder();
       }
 
-      pageToken = rs.getString("vid");
+      changeset.add(rs.getString("operation"), rs.getString("feature"));
+      pageToken = createPageToken(version, rs.getString("id"));
       lastVersion = version;
       numFeatures++;
     }
 
     if(wroteStart){
-      Changeset cs = new Changeset().withInserted(new FeatureCollection().withFeatures(inserts))
-              .withUpdated(new FeatureCollection().withFeatures(updates))
-              .withDeleted(new FeatureCollection().withFeatures(deletes));
-      versions.put(lastVersion, cs);
+      versions.put(lastVersion, changeset.build());
       ccol.setStartVersion(startVersion);
       ccol.setEndVersion(lastVersion);
     }else{
@@ -249,4 +216,47 @@ public class IterateChangesets extends XyzQueryRunner<IterateChangesetsEvent, Xy
     }
     return ccol;
   }
+
+  /**
+   * Assembles a {@link Changeset} from the raw JSON of the features as they are read from the database. The features are not
+   * deserialized, but their JSON is concatenated to the feature arrays of the according feature collections.
+   */
+  private static class ChangesetBuilder {
+    private final StringBuilder inserted = new StringBuilder();
+    private final StringBuilder updated = new StringBuilder();
+    private final StringBuilder deleted = new StringBuilder();
+
+    private void add(String operation, String featureJson) {
+      switch (operation){
+        case "I":
+        case "H":
+          append(inserted, featureJson);
+          break;
+        case "U":
+        case "J":
+          append(updated, featureJson);
+          break;
+        case "D":
+          append(deleted, featureJson);
+          break;
+      }
+    }
+
+    private static void append(StringBuilder features, String featureJson) {
+      features.append(features.length() == 0 ? "[" : ",").append(featureJson);
+    }
+
+    private Changeset build() {
+      return new Changeset()
+          .withInserted(toFeatureCollection(inserted))
+          .withUpdated(toFeatureCollection(updated))
+          .withDeleted(toFeatureCollection(deleted));
+    }
+
+    private static FeatureCollection toFeatureCollection(StringBuilder features) {
+      FeatureCollection fc = new FeatureCollection();
+      fc._setFeatures(features.length() == 0 ? "[]" : features + "]");
+      return fc;
+    }
+  }
 }
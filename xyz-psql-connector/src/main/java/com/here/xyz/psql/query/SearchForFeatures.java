@@ -46,6 +46,7 @@ public class SearchForFeatures<E extends SearchForFeaturesEvent, R extends XyzRe
 
   public SearchForFeatures(E event, DatabaseHandler dbHandler) throws SQLException, ErrorResponseException {
     super(event, dbHandler);
+    setUseCursor(true);
   }
 
   public static void checkCanSearchFor(SearchForFeaturesEvent event, DatabaseHandler dbHandler) throws ErrorResponseException {
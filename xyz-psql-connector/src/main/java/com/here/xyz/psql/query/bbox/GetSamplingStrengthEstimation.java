@@ -38,23 +38,11 @@ import com.here.xyz.psql.tools.DhString;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 public class GetSamplingStrengthEstimation<E extends GetFeaturesByBBoxEvent> extends XyzEventBasedQueryRunner<E, SamplingStrengthEstimation> {
 
-  private static TupleTime tTime = new TupleTime();
   private String rTuples;
-  private String spaceId;
-
-  private static class TupleTime {
-    private static Map<String, String> rTuplesMap = new ConcurrentHashMap<>();
-    private long expireTs = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(15);
-    private boolean expired() {
-      return System.currentTimeMillis() > expireTs;
-    }
-  }
+  private String table;
 
   public GetSamplingStrengthEstimation(E event, DatabaseHandler dbHandler)
       throws SQLException, ErrorResponseException {
@@ -62,10 +50,8 @@ public class GetSamplingStrengthEstimation<E extends GetFeaturesByBBoxEvent> ext
   }
   @Override
   protected SQLQuery buildQuery(E event) throws SQLException, ErrorResponseException {
-    if (tTime.expired())
-      tTime = new TupleTime();
-    rTuples = TupleTime.rTuplesMap.get(event.getSpace()); //TODO: Check semantics of that tuples cache
-    spaceId = event.getSpace();
+    table = getDefaultTable(event);
+    rTuples = dbHandler.getTableMetadata().getRelTuples(getSchema(), table, dbHandler.getMetadataCacheTtl());
 
     return buildEstimateSamplingStrengthQuery(event, event.getBbox(), rTuples);
   }
@@ -83,7 +69,7 @@ public class GetSamplingStrengthEstimation<E extends GetFeaturesByBBoxEvent> ext
 
     if (rTuples == null) {
       rTuples = estimateFtr.get("rtuples");
-      TupleTime.rTuplesMap.put(spaceId, rTuples);
+      dbHandler.getTableMetadata().putRelTuples(getSchema(), table, rTuples);
     }
 
     SamplingStrengthEstimation result = new SamplingStrengthEstimation();
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes rows in the binary format of PostgreSQL's <code>COPY ... FROM STDIN (FORMAT binary)</code> command to an output stream.
+ *
+ * Each row has to be started by {@link #startRow(int)} followed by exactly the announced amount of field values.
+ * Closing the writer writes the file trailer and closes the underlying stream.
+ *
+ * @see <a href="https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.4">Binary Format</a>
+ */
+public class PGBinaryCopyWriter implements Closeable {
+
+  private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+  private static final byte JSONB_VERSION = 1;
+  private static final int NULL_LENGTH = -1;
+
+  private final DataOutputStream out;
+
+  public PGBinaryCopyWriter(OutputStream os) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(os, 64 * 1024));
+    out.write(SIGNATURE);
+    //Flags field
+    out.writeInt(0);
+    //Header extension area length
+    out.writeInt(0);
+  }
+
+  public PGBinaryCopyWriter startRow(int fieldCount) throws IOException {
+    out.writeShort(fieldCount);
+    return this;
+  }
+
+  public PGBinaryCopyWriter writeInt(Integer value) throws IOException {
+    if (value == null)
+      return writeNull();
+    out.writeInt(4);
+    out.writeInt(value);
+    return this;
+  }
+
+  public PGBinaryCopyWriter writeLong(Long value) throws IOException {
+    if (value == null)
+      return writeNull();
+    out.writeInt(8);
+    out.writeLong(value);
+    return this;
+  }
+
+  public PGBinaryCopyWriter writeText(String value) throws IOException {
+    return writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public PGBinaryCopyWriter writeJsonb(String value) throws IOException {
+    if (value == null)
+      return writeNull();
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length + 1);
+    out.writeByte(JSONB_VERSION);
+    out.write(bytes);
+    return this;
+  }
+
+  public PGBinaryCopyWriter writeBytes(byte[] value) throws IOException {
+    if (value == null)
+      return writeNull();
+    out.writeInt(value.length);
+    out.write(value);
+    return this;
+  }
+
+  public PGBinaryCopyWriter writeNull() throws IOException {
+    out.writeInt(NULL_LENGTH);
+    return this;
+  }
+
+  @Override
+  public void close() throws IOException {
+    //File trailer
+    out.writeShort(-1);
+    out.close();
+  }
+}
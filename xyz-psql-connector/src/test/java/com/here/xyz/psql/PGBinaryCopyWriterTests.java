@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql;
+
+import com.here.xyz.psql.tools.PGBinaryCopyWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PGBinaryCopyWriterTests {
+
+  @Test
+  public void testRowEncoding() throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (PGBinaryCopyWriter writer = new PGBinaryCopyWriter(os)) {
+      writer.startRow(4)
+          .writeInt(7)
+          .writeLong(42L)
+          .writeJsonb("{}")
+          .writeText(null);
+    }
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(os.toByteArray()));
+    byte[] signature = new byte[11];
+    in.readFully(signature);
+    assertArrayEquals(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0}, signature);
+    assertEquals(0, in.readInt());
+    assertEquals(0, in.readInt());
+
+    assertEquals(4, in.readShort());
+    assertEquals(4, in.readInt());
+    assertEquals(7, in.readInt());
+    assertEquals(8, in.readInt());
+    assertEquals(42L, in.readLong());
+    assertEquals(3, in.readInt());
+    assertEquals(1, in.readByte());
+    byte[] json = new byte[2];
+    in.readFully(json);
+    assertEquals("{}", new String(json, StandardCharsets.UTF_8));
+    assertEquals(-1, in.readInt());
+
+    assertEquals(-1, in.readShort());
+    assertEquals(0, in.available());
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.XyzSerializable;
+import com.here.xyz.events.GetFeaturesByIdEvent;
+import com.here.xyz.events.ModifyFeaturesEvent;
+import com.here.xyz.models.geojson.coordinates.LinearRingCoordinates;
+import com.here.xyz.models.geojson.coordinates.PolygonCoordinates;
+import com.here.xyz.models.geojson.coordinates.Position;
+import com.here.xyz.models.geojson.implementation.Feature;
+import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.models.geojson.implementation.Polygon;
+import com.here.xyz.models.geojson.implementation.XyzNamespace;
+import com.here.xyz.psql.config.ConnectorParameters;
+import com.here.xyz.psql.tools.FeatureGenerator;
+import com.here.xyz.responses.ErrorResponse;
+import com.here.xyz.responses.XyzError;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Compares the throughput (rows/sec) of the bulk write mode (COPY into a staging table & set-based merge) against the batch execution
+ * and checks that the bulk write mode stores the same content and reports the same failures.
+ */
+public class PSQLBulkWriteIT extends PSQLAbstractIT {
+
+  private static final Map<String, Object> batchConnectorParams = new HashMap<String, Object>() {
+    {
+      put(ConnectorParameters.CONNECTOR_ID, "test-connector");
+      put(ConnectorParameters.BULK_WRITE_THRESHOLD, 0);
+    }
+  };
+
+  private static final Map<String, Object> bulkConnectorParams = new HashMap<String, Object>() {
+    {
+      put(ConnectorParameters.CONNECTOR_ID, "test-connector");
+      put(ConnectorParameters.BULK_WRITE_THRESHOLD, 1);
+    }
+  };
+
+  @BeforeClass
+  public static void init() throws Exception { initEnv(null); }
+
+  @After
+  public void shutdown() throws Exception { invokeDeleteTestSpace(null); }
+
+  @Test
+  public void testBatchWriteThroughput() throws Exception {
+    writeAndMeasure("batch", batchConnectorParams, true);
+  }
+
+  @Test
+  public void testBulkWriteThroughput() throws Exception {
+    writeAndMeasure("bulk", bulkConnectorParams, true);
+  }
+
+  @Test
+  public void testBulkWriteNonTransactional() throws Exception {
+    writeAndMeasure("bulk (non-transactional)", bulkConnectorParams, false);
+  }
+
+  @Test
+  public void testBulkWriteStoredContent() throws Exception {
+    invokeCreateTestSpace(bulkConnectorParams, TEST_SPACE_ID);
+    final List<Feature> features = generateFeatures(10, false);
+    features.get(0).setGeometry(new Polygon().withCoordinates(polygonCoordinates(8.0, 50.0)));
+    features.get(1).setGeometry(null);
+
+    FeatureCollection inserted = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withTransaction(true)
+        .withInsertFeatures(features)
+        .serialize()));
+    assertEquals(features.size(), inserted.getFeatures().size());
+    assertStored(features);
+
+    features.forEach(f -> f.getProperties().put("updated", true));
+    features.get(0).setGeometry(new Polygon().withCoordinates(polygonCoordinates(9.0, 51.0)));
+    features.get(1).setGeometry(new Polygon().withCoordinates(polygonCoordinates(-1.0, -1.0)));
+    features.get(2).setGeometry(null);
+
+    FeatureCollection updated = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withTransaction(true)
+        .withUpdateFeatures(features)
+        .serialize()));
+    assertEquals(features.size(), updated.getFeatures().size());
+    assertStored(features);
+  }
+
+  @Test
+  public void testBulkUpdateUUIDConflictNonTransactional() throws Exception {
+    final List<Feature> features = insertFeaturesWithUUID(10);
+    final String conflictingId = prepareConflictingUpdate(features);
+
+    FeatureCollection updated = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withTransaction(false)
+        .withEnableUUID(true)
+        .withUpdateFeatures(features)
+        .serialize()));
+
+    assertEquals(features.size() - 1, updated.getFeatures().size());
+    assertEquals(1, updated.getFailed().size());
+    assertEquals(conflictingId, updated.getFailed().get(0).getId());
+    assertEquals(DatabaseWriter.UPDATE_ERROR_UUID, updated.getFailed().get(0).getMessage());
+
+    for (Feature feature : readFeatures(features))
+      assertEquals(conflictingId.equals(feature.getId()) ? null : true, feature.getProperties().get("updated"));
+  }
+
+  @Test
+  public void testBulkUpdateUUIDConflictTransactional() throws Exception {
+    final List<Feature> features = insertFeaturesWithUUID(10);
+    final String conflictingId = prepareConflictingUpdate(features);
+
+    ErrorResponse errorResponse = XyzSerializable.deserialize(invokeLambda(new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withTransaction(true)
+        .withEnableUUID(true)
+        .withUpdateFeatures(features)
+        .serialize()));
+
+    assertEquals(XyzError.CONFLICT, errorResponse.getError());
+    List<Map<String, String>> failedList = (List<Map<String, String>>) errorResponse.getErrorDetails().get("FailedList");
+    assertEquals(1, failedList.size());
+    assertEquals(conflictingId, failedList.get(0).get("id"));
+    assertEquals(DatabaseWriter.UPDATE_ERROR_UUID, failedList.get(0).get("message"));
+
+    //Nothing must have been written
+    for (Feature feature : readFeatures(features))
+      assertNull(feature.getProperties().get("updated"));
+  }
+
+  @Test
+  public void testBulkInsertFallbackNonTransactional() throws Exception {
+    invokeCreateTestSpace(bulkConnectorParams, TEST_SPACE_ID);
+    final List<Feature> features = generateFeatures(10, false);
+    //The duplicate violates the primary key, so the bulk execution fails and gets rolled back as a whole
+    final Feature duplicate = generateFeatures(1, false).get(0).withId(features.get(3).getId());
+    features.add(duplicate);
+
+    FeatureCollection inserted = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withTransaction(false)
+        .withInsertFeatures(features)
+        .serialize()));
+
+    //The execution per feature writes everything except of the duplicate
+    assertEquals(features.size() - 1, inserted.getFeatures().size());
+    assertEquals(1, inserted.getFailed().size());
+    assertEquals(duplicate.getId(), inserted.getFailed().get(0).getId());
+    assertEquals(DatabaseWriter.INSERT_ERROR_GENERAL, inserted.getFailed().get(0).getMessage());
+    assertStored(features.subList(0, features.size() - 1));
+  }
+
+  private List<Feature> insertFeaturesWithUUID(int count) throws Exception {
+    invokeCreateTestSpace(bulkConnectorParams, TEST_SPACE_ID);
+    final List<Feature> features = generateFeatures(count, true);
+
+    FeatureCollection inserted = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withTransaction(true)
+        .withEnableUUID(true)
+        .withInsertFeatures(features)
+        .serialize()));
+    assertEquals(count, inserted.getFeatures().size());
+    return inserted.getFeatures();
+  }
+
+  /**
+   * Prepares an update of the given features, where the feature in the middle refers to a wrong previous UUID.
+   *
+   * @return The ID of the feature which will fail to be updated
+   */
+  private String prepareConflictingUpdate(List<Feature> features) throws Exception {
+    features.forEach(f -> f.getProperties().put("updated", true));
+    FeatureCollection collection = new FeatureCollection().withFeatures(features);
+    setPUUID(collection);
+    final Feature conflicting = features.get(features.size() / 2);
+    conflicting.getProperties().getXyzNamespace().setPuuid("wrong");
+    return conflicting.getId();
+  }
+
+  private static List<Feature> generateFeatures(int count, boolean withUUID) {
+    final List<Feature> features = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      XyzNamespace xyzNamespace = new XyzNamespace().withSpace(TEST_SPACE_ID).withCreatedAt(1517504700726L);
+      if (withUUID)
+        xyzNamespace.setUuid(UUID.randomUUID().toString());
+      features.add(FeatureGenerator.generateFeature(xyzNamespace, Collections.singletonList("name"))
+          .withId(UUID.randomUUID().toString()));
+    }
+    return features;
+  }
+
+  private static PolygonCoordinates polygonCoordinates(double lon, double lat) {
+    LinearRingCoordinates ring = new LinearRingCoordinates();
+    ring.add(new Position(lon, lat));
+    ring.add(new Position(lon + 1, lat));
+    ring.add(new Position(lon + 1, lat + 1, 10));
+    ring.add(new Position(lon, lat));
+    PolygonCoordinates coordinates = new PolygonCoordinates();
+    coordinates.add(ring);
+    return coordinates;
+  }
+
+  private List<Feature> readFeatures(List<Feature> features) throws Exception {
+    FeatureCollection stored = deserializeResponse(invokeLambda(new GetFeaturesByIdEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(bulkConnectorParams)
+        .withIds(features.stream().map(Feature::getId).collect(Collectors.toList()))
+        .serialize()));
+    assertEquals(features.size(), stored.getFeatures().size());
+    return stored.getFeatures();
+  }
+
+  private void assertStored(List<Feature> expected) throws Exception {
+    Map<String, Feature> stored = readFeatures(expected).stream().collect(Collectors.toMap(Feature::getId, Function.identity()));
+    for (Feature feature : expected) {
+      Feature actual = stored.get(feature.getId());
+      assertEquals(feature.getProperties().get("name"), actual.getProperties().get("name"));
+      assertEquals(feature.getProperties().get("updated"), actual.getProperties().get("updated"));
+      if (feature.getGeometry() == null)
+        assertNull(actual.getGeometry());
+      else
+        //Geometries are stored in 3D, so only compare the horizontal coordinates
+        assertTrue(feature.getId(), feature.getGeometry().getJTSGeometry().equals(actual.getGeometry().getJTSGeometry()));
+    }
+  }
+
+  private void writeAndMeasure(String mode, Map<String, Object> connectorParams, boolean transactional) throws Exception {
+    final List<Feature> features = FeatureGenerator.get11kFeatureCollection().getFeatures();
+
+    //Create the table upfront, so that the table creation does not influence the measurement
+    invokeCreateTestSpace(connectorParams, TEST_SPACE_ID);
+
+    ModifyFeaturesEvent insertEvent = new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(connectorParams)
+        .withTransaction(transactional)
+        .withInsertFeatures(features);
+
+    long start = System.currentTimeMillis();
+    FeatureCollection inserted = deserializeResponse(invokeLambda(insertEvent.serialize()));
+    long insertTime = Math.max(System.currentTimeMillis() - start, 1);
+    assertEquals(features.size(), inserted.getFeatures().size());
+    assertTrue(inserted.getFailed() == null || inserted.getFailed().isEmpty());
+
+    inserted.getFeatures().forEach(f -> f.getProperties().put("updated", true));
+    ModifyFeaturesEvent updateEvent = new ModifyFeaturesEvent()
+        .withSpace(TEST_SPACE_ID)
+        .withConnectorParams(connectorParams)
+        .withTransaction(transactional)
+        .withUpdateFeatures(inserted.getFeatures());
+
+    start = System.currentTimeMillis();
+    FeatureCollection updated = deserializeResponse(invokeLambda(updateEvent.serialize()));
+    long updateTime = Math.max(System.currentTimeMillis() - start, 1);
+    assertEquals(features.size(), updated.getFeatures().size());
+
+    LOGGER.info("[{}] INSERT: {} rows/sec, UPDATE: {} rows/sec", mode, features.size() * 1000L / insertTime,
+        features.size() * 1000L / updateTime);
+  }
+}
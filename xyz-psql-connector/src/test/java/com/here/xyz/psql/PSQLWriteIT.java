@@ -21,19 +21,25 @@ package com.here.xyz.psql;
 import com.amazonaws.util.IOUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.here.xyz.XyzSerializable;
+import com.here.xyz.events.GetFeaturesByIdEvent;
 import com.here.xyz.events.ModifyFeaturesEvent;
 import com.here.xyz.models.geojson.implementation.Feature;
 import com.here.xyz.models.geojson.implementation.FeatureCollection;
+import com.here.xyz.models.geojson.implementation.Properties;
+import com.here.xyz.models.geojson.implementation.XyzNamespace;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import org.junit.After;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -64,6 +70,67 @@ public class PSQLWriteIT extends PSQLAbstractIT {
         LOGGER.info("Upsert feature tested successfully");
     }
 
+    @Test
+    public void testUpsertKeepsCreatedAt() throws Exception {
+        invokeCreateTestSpace(defaultTestConnectorParams, TEST_SPACE_ID);
+        invokeLambda(new ModifyFeaturesEvent()
+                .withSpace(TEST_SPACE_ID)
+                .withConnectorParams(defaultTestConnectorParams)
+                .withTransaction(true)
+                .withInsertFeatures(Collections.singletonList(newFeature("F1", 1000L, null, null)))
+                .serialize());
+
+        //The upsert of F1 turns out to be an update, the upsert of F2 an insert
+        FeatureCollection upserted = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+                .withSpace(TEST_SPACE_ID)
+                .withConnectorParams(defaultTestConnectorParams)
+                .withTransaction(true)
+                .withUpsertFeatures(Arrays.asList(newFeature("F1", 2000L, null, null), newFeature("F2", 2000L, null, null)))
+                .serialize()));
+        assertTrue(upserted.getFailed() == null || upserted.getFailed().isEmpty());
+
+        Map<String, Feature> stored = readFeatures("F1", "F2");
+        assertEquals("F1@2000", stored.get("F1").getProperties().get("name"));
+        assertEquals(1000L, stored.get("F1").getProperties().getXyzNamespace().getCreatedAt());
+        assertEquals(2000L, stored.get("F1").getProperties().getXyzNamespace().getUpdatedAt());
+        assertEquals(2000L, stored.get("F2").getProperties().getXyzNamespace().getCreatedAt());
+    }
+
+    @Test
+    public void testUpsertWithPuuid() throws Exception {
+        invokeCreateTestSpace(defaultTestConnectorParams, TEST_SPACE_ID);
+        invokeLambda(new ModifyFeaturesEvent()
+                .withSpace(TEST_SPACE_ID)
+                .withConnectorParams(defaultTestConnectorParams)
+                .withTransaction(true)
+                .withEnableUUID(true)
+                .withInsertFeatures(Arrays.asList(newFeature("F1", 1000L, "uuid1", null), newFeature("F2", 1000L, "uuid2", null)))
+                .serialize());
+
+        //An upsert which refers to the UUID of its predecessor only succeeds if the stored feature still has that UUID
+        FeatureCollection upserted = deserializeResponse(invokeLambda(new ModifyFeaturesEvent()
+                .withSpace(TEST_SPACE_ID)
+                .withConnectorParams(defaultTestConnectorParams)
+                .withTransaction(false)
+                .withEnableUUID(true)
+                .withUpsertFeatures(Arrays.asList(
+                        newFeature("F1", 2000L, "uuid1b", "uuid1"),
+                        newFeature("F2", 2000L, "uuid2b", "wrong"),
+                        newFeature("F3", 2000L, "uuid3", "uuid3-previous")))
+                .serialize()));
+        assertEquals(2, upserted.getFailed().size());
+        for (FeatureCollection.ModificationFailure failure : upserted.getFailed()) {
+            assertTrue(failure.getId().equals("F2") || failure.getId().equals("F3"));
+            assertEquals(DatabaseWriter.UPDATE_ERROR_UUID, failure.getMessage());
+        }
+
+        Map<String, Feature> stored = readFeatures("F1", "F2", "F3");
+        assertEquals("uuid1b", stored.get("F1").getProperties().getXyzNamespace().getUuid());
+        assertEquals(1000L, stored.get("F1").getProperties().getXyzNamespace().getCreatedAt());
+        assertEquals("uuid2", stored.get("F2").getProperties().getXyzNamespace().getUuid());
+        assertFalse(stored.containsKey("F3"));
+    }
+
     @Test
     public void testCrudFeatureWithHash() throws Exception {
         // =========== INSERT ==========
@@ -315,4 +382,26 @@ public class PSQLWriteIT extends PSQLAbstractIT {
 
         LOGGER.info("Modify features tested successfully");
     }
+
+    private static Feature newFeature(String id, long timestamp, String uuid, String puuid) {
+        return new Feature()
+                .withId(id)
+                .withProperties(new Properties()
+                        .with("name", id + "@" + timestamp)
+                        .withXyzNamespace(new XyzNamespace()
+                                .withSpace(TEST_SPACE_ID)
+                                .withCreatedAt(timestamp)
+                                .withUpdatedAt(timestamp)
+                                .withUuid(uuid)
+                                .withPuuid(puuid)));
+    }
+
+    private Map<String, Feature> readFeatures(String... ids) throws Exception {
+        FeatureCollection stored = deserializeResponse(invokeLambda(new GetFeaturesByIdEvent()
+                .withSpace(TEST_SPACE_ID)
+                .withConnectorParams(defaultTestConnectorParams)
+                .withIds(Arrays.asList(ids))
+                .serialize()));
+        return stored.getFeatures().stream().collect(Collectors.toMap(Feature::getId, Function.identity()));
+    }
 }
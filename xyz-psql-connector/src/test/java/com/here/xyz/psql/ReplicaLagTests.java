@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql;
+
+import static com.here.xyz.psql.DatabaseMaintainer.MIN_REPLICA_LAG_MARGIN;
+import static com.here.xyz.psql.DatabaseMaintainer.REPLICA_LAG_MAX_AGE;
+import static com.here.xyz.psql.DatabaseMaintainer.REPLICA_LAG_REFRESH_TIMEOUT;
+import static com.here.xyz.psql.DatabaseMaintainer.UNKNOWN_LAG;
+import static com.here.xyz.psql.DatabaseMaintainer.isReplicaUsable;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.here.xyz.connectors.AbstractConnectorHandler.TraceItem;
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import java.util.concurrent.CountDownLatch;
+import javax.sql.DataSource;
+import org.junit.Test;
+
+public class ReplicaLagTests {
+
+  private static final long MAX_LAG = 5000;
+
+  @Test
+  public void testUnknownOrTooLargeLag() {
+    assertFalse(isReplicaUsable(UNKNOWN_LAG, MAX_LAG, null));
+    assertFalse(isReplicaUsable(MAX_LAG + 1, MAX_LAG, null));
+    assertTrue(isReplicaUsable(MAX_LAG, MAX_LAG, null));
+    assertTrue(isReplicaUsable(0, MAX_LAG, null));
+  }
+
+  @Test
+  public void testMinimalMargin() {
+    assertFalse(isReplicaUsable(0, MAX_LAG, 0L));
+    assertFalse(isReplicaUsable(0, MAX_LAG, MIN_REPLICA_LAG_MARGIN));
+    assertTrue(isReplicaUsable(0, MAX_LAG, MIN_REPLICA_LAG_MARGIN + 1));
+    assertFalse(isReplicaUsable(50, MAX_LAG, 50 + MIN_REPLICA_LAG_MARGIN));
+    assertTrue(isReplicaUsable(50, MAX_LAG, 50 + MIN_REPLICA_LAG_MARGIN + 1));
+  }
+
+  @Test
+  public void testMarginGrowsWithLag() {
+    assertFalse(isReplicaUsable(1000, MAX_LAG, 1500L));
+    assertFalse(isReplicaUsable(1000, MAX_LAG, 2000L));
+    assertTrue(isReplicaUsable(1000, MAX_LAG, 2001L));
+    assertFalse(isReplicaUsable(MAX_LAG, MAX_LAG, 2 * MAX_LAG));
+    assertTrue(isReplicaUsable(MAX_LAG, MAX_LAG, 2 * MAX_LAG + 1));
+  }
+
+  @Test
+  public void testMeasuredLag() {
+    DatabaseMaintainer maintainer = new DatabaseMaintainer(null, null);
+    DataSource replica = new ComboPooledDataSource();
+    assertEquals(UNKNOWN_LAG, maintainer.getReplicaLag(replica));
+
+    maintainer.setReplicaLag(replica, 200, System.currentTimeMillis());
+    assertEquals(200, maintainer.getReplicaLag(replica));
+
+    maintainer.setReplicaLag(replica, UNKNOWN_LAG, System.currentTimeMillis());
+    assertEquals(UNKNOWN_LAG, maintainer.getReplicaLag(replica));
+
+  }
+
+  @Test
+  public void testRefreshOutdatedLag() {
+    DataSource replica = new ComboPooledDataSource();
+    DatabaseMaintainer maintainer = new DatabaseMaintainer(null, null) {
+      @Override
+      void checkReplicaLags(TraceItem traceItem) {
+        setReplicaLag(replica, 50, System.currentTimeMillis());
+      }
+    };
+
+    //Outdated measurements are refreshed by the request which uses them
+    maintainer.setReplicaLag(replica, 200, System.currentTimeMillis() - REPLICA_LAG_MAX_AGE - 1);
+    assertEquals(50, maintainer.getReplicaLag(replica));
+  }
+
+  @Test
+  public void testOutdatedLagIsUsedIfRefreshFails() {
+    DataSource replica = new ComboPooledDataSource();
+    CountDownLatch release = new CountDownLatch(1);
+    DatabaseMaintainer maintainer = new DatabaseMaintainer(null, null) {
+      @Override
+      void checkReplicaLags(TraceItem traceItem) {
+        try {
+          release.await();
+        }
+        catch (InterruptedException ignored) {}
+        throw new IllegalStateException("The replica is not reachable.");
+      }
+    };
+
+    //The refresh takes too long, so the latest measurement is used
+    maintainer.setReplicaLag(replica, 200, System.currentTimeMillis() - REPLICA_LAG_MAX_AGE - 1);
+    long start = System.currentTimeMillis();
+    assertEquals(200, maintainer.getReplicaLag(replica));
+    assertTrue(System.currentTimeMillis() - start < 10 * REPLICA_LAG_REFRESH_TIMEOUT);
+
+    //The refresh fails
+    release.countDown();
+    assertEquals(200, maintainer.getReplicaLag(replica));
+  }
+}
@@ -55,4 +55,38 @@ public class SQLQueryTests {
     assertEquals("someValue == someValue", q.text());
   }
 
+  @Test
+  public void testVariableReplacement() {
+    SQLQuery q = new SQLQuery("SELECT * FROM ${schema}.${table} WHERE ${unknown} ${{fragment}}");
+    q.setVariable("schema", "public");
+    q.setVariable("table", "$abc\\");
+    q.setQueryFragment("fragment", "AND ${table} IS NOT NULL");
+    q.substitute();
+    assertEquals("SELECT * FROM \"public\".\"$abc\\\" WHERE ${unknown} AND \"$abc\\\" IS NOT NULL", q.text());
+  }
+
+  @Test
+  public void testUnnamedParameters() {
+    SQLQuery q = new SQLQuery("SELECT ? = ?", "a", 1);
+    q.replaceUnnamedParameters();
+    assertEquals("SELECT #{param1} = #{param2}", q.text());
+    q.replaceNamedParameters();
+    assertEquals("SELECT ? = ?", q.text());
+    assertEquals(2, q.parameters().size());
+    assertEquals("a", q.parameters().get(0));
+    assertEquals(1, q.parameters().get(1));
+  }
+
+  @Test
+  public void testRepeatedSubstitution() {
+    for (int i = 0; i < 2; i++) {
+      SQLQuery q = new SQLQuery("SELECT #{a}, #{b}, #{a}");
+      q.setNamedParameter("a", i);
+      q.setNamedParameter("b", "b");
+      q.substitute();
+      assertEquals("SELECT ?, ?, ?", q.text());
+      assertEquals(3, q.parameters().size());
+      assertEquals(i, q.parameters().get(2));
+    }
+  }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2017-2023 HERE Europe B.V.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ * License-Filename: LICENSE
+ */
+
+package com.here.xyz.psql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TableMetadataCacheTests {
+
+  private static final long TTL = 60_000;
+
+  @Test
+  public void testTableExistence() {
+    TableMetadataCache cache = new TableMetadataCache();
+    assertFalse(cache.isKnownToExist("public", "space1", TTL));
+
+    cache.markExisting("public", "space1");
+    assertTrue(cache.isKnownToExist("public", "space1", TTL));
+    assertFalse(cache.isKnownToExist("other", "space1", TTL));
+    assertFalse(cache.isKnownToExist("public", "space1", 0));
+    //The expired entry is removed
+    assertFalse(cache.isKnownToExist("public", "space1", TTL));
+  }
+
+  @Test
+  public void testInvalidation() {
+    TableMetadataCache cache = new TableMetadataCache();
+    cache.markExisting("public", "space1");
+    cache.markExisting("public", "space1_head");
+    cache.markExisting("public", "space10");
+    cache.putRelTuples("public", "space1", "100~space1");
+    assertEquals("100~space1", cache.getRelTuples("public", "space1", TTL));
+
+    cache.invalidate("public", "space1");
+    assertFalse(cache.isKnownToExist("public", "space1", TTL));
+    assertFalse(cache.isKnownToExist("public", "space1_head", TTL));
+    assertNull(cache.getRelTuples("public", "space1", TTL));
+    assertTrue(cache.isKnownToExist("public", "space10", TTL));
+  }
+}